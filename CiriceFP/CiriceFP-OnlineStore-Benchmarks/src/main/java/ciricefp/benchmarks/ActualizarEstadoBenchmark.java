@@ -0,0 +1,32 @@
+package ciricefp.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la actualización del estado de envío de todos los pedidos desde el modelo. Antes de cada invocación
+ * devolvemos los pedidos a pendientes para que todas procesen el mismo volumen. Está separado del resto de
+ * benchmarks del modelo porque el reinicio con Level.Invocation se aplica a todos los métodos de la clase.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ActualizarEstadoBenchmark extends EstadoBaseDatos {
+    // La operación tarda varios milisegundos, así que el coste de Level.Invocation es despreciable.
+    @Setup(Level.Invocation)
+    public void resetEstados() throws Exception {
+        baseDatos.resetEstadoPedidos();
+    }
+
+    @Benchmark
+    public int actualizarEstadoPedidos() {
+        return datos().actualizarEstadoPedidos();
+    }
+}
@@ -0,0 +1,127 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Articulo;
+import ciricefp.modelo.utils.RegistroCodigos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la asignación de códigos únicos de artículo. Cada invocación parte de un registro vacío y asigna un millón de
+ * códigos, en un hilo y repartidos entre varios hilos. Al terminar cada invocación, fuera de la medida, juntamos los
+ * códigos que ha devuelto cada hilo y comprobamos que no se ha repetido ninguno. Como referencia medimos también el
+ * algoritmo anterior (hash con máscara y búsqueda lineal en una lista) con muchos menos códigos, porque con un millón
+ * no terminaría. Los resultados son el tiempo medio por código.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArticuloCodigoBenchmark {
+    // Códigos que asignamos en cada invocación.
+    private static final int CODIGOS = 1_000_000;
+    private static final int CODIGOS_ANTERIOR = 2_000;
+    private static final int HILOS = 4;
+
+    private Articulo articulo;
+    private ExecutorService executor;
+    // Códigos devueltos en la invocación, una lista por hilo.
+    private List<List<String>> asignados;
+
+    @Setup
+    public void crearHilos() {
+        articulo = new Articulo();
+        executor = Executors.newFixedThreadPool(HILOS);
+    }
+
+    @TearDown
+    public void cerrarHilos() {
+        executor.shutdown();
+    }
+
+    // Empezamos cada invocación con el registro vacío.
+    @Setup(Level.Invocation)
+    public void vaciarRegistro() {
+        RegistroCodigos.ARTICULOS.cargar(List.of());
+        asignados = new ArrayList<>();
+    }
+
+    // Si algún código se hubiera repetido, la unión de los códigos devueltos tendría menos elementos que códigos
+    // asignados. No comprobamos el registro porque solo guarda cada código una vez.
+    @TearDown(Level.Invocation)
+    public void comprobarCodigos() {
+        // El algoritmo anterior no usa el registro.
+        if (asignados.isEmpty()) return;
+
+        int total = asignados.stream().mapToInt(List::size).sum();
+        Set<String> union = new HashSet<>(total);
+        asignados.forEach(union::addAll);
+
+        if (total != CODIGOS) throw new IllegalStateException("Se han asignado " + total + " códigos de " + CODIGOS);
+        if (union.size() != total) throw new IllegalStateException((total - union.size()) + " códigos repetidos");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODIGOS)
+    public int registro() {
+        asignados.add(asignar(0, CODIGOS));
+
+        return asignados.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODIGOS)
+    public int registroConcurrente() throws Exception {
+        // Cada hilo asigna los códigos de un tramo de claves.
+        List<Future<List<String>>> tareas = new ArrayList<>();
+        int tramo = CODIGOS / HILOS;
+        for (int i = 0; i < HILOS; i++) {
+            int desde = i * tramo;
+            tareas.add(executor.submit(() -> asignar(desde, desde + tramo)));
+        }
+        for (Future<List<String>> tarea : tareas) asignados.add(tarea.get());
+
+        return asignados.size();
+    }
+
+    // Algoritmo anterior: el hash solo puede tomar 8 valores y cada colisión recorre toda la lista.
+    @Benchmark
+    @OperationsPerInvocation(CODIGOS_ANTERIOR)
+    public int listaAnterior() {
+        ArrayList<String> codigos = new ArrayList<>();
+        for (int i = 0; i < CODIGOS_ANTERIOR; i++) {
+            String key = Integer.toString((("Artículo " + i).hashCode() & 0x70000000) % 10000);
+            codigos.add("A" + manageCollisions(key, codigos));
+        }
+
+        return codigos.size();
+    }
+
+    // Asignamos los códigos de un tramo de claves y devolvemos los códigos obtenidos.
+    private List<String> asignar(int desde, int hasta) {
+        List<String> codigos = new ArrayList<>(hasta - desde);
+        for (int i = desde; i < hasta; i++) codigos.add(articulo.generateCodigo("Artículo " + i));
+
+        return codigos;
+    }
+
+    private static String manageCollisions(String key, ArrayList<String> set) {
+        String codigo = "A" + key;
+        if (set.stream().noneMatch(codigo::equals)) return key;
+
+        return manageCollisions(Integer.toString(Integer.parseInt(key) + 1), set);
+    }
+}
@@ -0,0 +1,252 @@
+package ciricefp.benchmarks;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import ciricefp.modelo.Articulo;
+import ciricefp.modelo.Cliente;
+import ciricefp.modelo.ClienteEstandard;
+import ciricefp.modelo.ClientePremium;
+import ciricefp.modelo.Direccion;
+import ciricefp.modelo.Pedido;
+import ciricefp.modelo.repositorio.testdataloader.ConfiguracionDatos;
+import ciricefp.modelo.repositorio.testdataloader.LoadDataServiceImpl;
+import ciricefp.modelo.utils.Migraciones;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Esta clase levanta una base de datos MariaDB embebida para los benchmarks, crea el esquema con el mismo
+ * script que usa la aplicación (tablas y procedimientos almacenados), le aplica las migraciones y la puebla con un
+ * volumen de datos configurable.
+ * Construye un EntityManagerFactory equivalente al de ConexionJpa pero apuntando a la base de datos embebida.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public class BaseDatosEmbebida {
+    // Nombre de la base de datos, debe coincidir con el del script.
+    private static final String DB_NAME = "onlinestore_db";
+    // Ruta al script de la aplicación, se puede cambiar con -Dbenchmark.script=...
+    private static final String SCRIPT = System.getProperty("benchmark.script",
+            "../CiriceFP-OnlineStore/src/main/resources/script_olinestore_db.sql");
+    // Usamos una semilla fija para que los datos generados sean siempre los mismos y las medidas reproducibles.
+    private static final long SEED = 42L;
+
+    private DB db;
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+
+    // Arrancamos la base de datos en un puerto libre y creamos el esquema.
+    public void start() throws ManagedProcessException, IOException, SQLException {
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder();
+        // El puerto 0 indica que se use cualquier puerto libre.
+        builder.setPort(0);
+        // MariaDB no arranca como root salvo que se indique de forma explícita (contenedores, CI...).
+        if ("root".equals(System.getProperty("user.name"))) builder.addArg("--user=root");
+        DBConfiguration config = builder.build();
+
+        db = DB.newEmbeddedDB(config);
+        db.start();
+
+        // Creamos la base de datos, las tablas y los procedimientos almacenados con el script de la aplicación.
+        // Lo ejecutamos por JDBC con el mismo intérprete de scripts que las migraciones, para no depender del
+        // cliente de línea de comandos de MariaDB.
+        try (Connection conn = DriverManager.getConnection(url(config, "mysql"), "root", null)) {
+            Migraciones.ejecutarScript(conn, sinPermisos(Files.readString(Path.of(SCRIPT))));
+        }
+
+        // Aplicamos las migraciones con el mismo proceso que usa la aplicación al arrancar.
+        try (Connection conn = DriverManager.getConnection(url(config, DB_NAME), "root", null)) {
+            Migraciones.aplicar(conn);
+        }
+
+        // Configuramos el pool de conexiones igual que en ConexionJpa.
+        HikariConfig hikari = new HikariConfig();
+        hikari.setJdbcUrl(url(config, DB_NAME) + "?rewriteBatchedStatements=true");
+        hikari.setUsername("root");
+        hikari.setAutoCommit(false);
+        hikari.addDataSourceProperty("useCursorFetch", "true");
+        hikari.setMaximumPoolSize(Integer.getInteger("benchmark.pool", 10));
+        dataSource = new HikariDataSource(hikari);
+    }
+
+    // Usamos el mismo driver de MySQL que la aplicación, MariaDB es compatible con su protocolo.
+    private static String url(DBConfiguration config, String dbName) {
+        return "jdbc:mysql://localhost:" + config.getPort() + "/" + dbName;
+    }
+
+    // La BD embebida arranca sin tabla de permisos, así que quitamos del script la creación de roles y usuarios y
+    // los permisos. En el script son sentencias de una sola línea.
+    private static String sinPermisos(String script) {
+        return script.lines()
+                .filter(linea -> {
+                    String tipo = linea.trim().toLowerCase();
+                    return !(tipo.startsWith("create role") || tipo.startsWith("create user") || tipo.startsWith("grant"));
+                })
+                .collect(Collectors.joining("\n"));
+    }
+
+    // Poblamos la base de datos con el volumen indicado. Insertamos por lotes con JDBC para que la preparación
+    // no se coma el tiempo del benchmark.
+    public void seed(int numClientes, int numArticulos, int numPedidos) throws SQLException {
+        Random random = new Random(SEED);
+
+        try (Connection conn = dataSource.getConnection()) {
+            // Direcciones, una por cliente.
+            try (PreparedStatement ps = conn.prepareStatement("insert into direcciones (direccion, ciudad, provincia, codigo_postal, pais) values (?, ?, ?, ?, ?)")) {
+                for (int i = 1; i <= numClientes; i++) {
+                    ps.setString(1, "Calle " + i);
+                    ps.setString(2, "Ciudad " + (i % 50));
+                    ps.setString(3, "Provincia " + (i % 10));
+                    ps.setString(4, String.format("%05d", i % 100000));
+                    ps.setString(5, "España");
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            // Clientes, uno de cada cuatro es premium.
+            try (PreparedStatement ps = conn.prepareStatement("insert into clientes (nombre, direccion_id, nif, email) values (?, ?, ?, ?)");
+                 PreparedStatement estandard = conn.prepareStatement("insert into clientes_estandard (cliente_id) values (?)");
+                 PreparedStatement premium = conn.prepareStatement("insert into clientes_premium (cliente_id, cuota_anual, descuento, cod_socio) values (?, ?, ?, ?)")) {
+                for (int i = 1; i <= numClientes; i++) {
+                    ps.setString(1, "Cliente " + i);
+                    ps.setInt(2, i);
+                    ps.setString(3, String.format("%08dB", i));
+                    ps.setString(4, "cliente" + i + "@cirice.com");
+                    ps.addBatch();
+
+                    if (i % 4 == 0) {
+                        premium.setInt(1, i);
+                        premium.setDouble(2, 30);
+                        premium.setDouble(3, 0.2);
+                        premium.setString(4, "P" + i);
+                        premium.addBatch();
+                    } else {
+                        estandard.setInt(1, i);
+                        estandard.addBatch();
+                    }
+                }
+                ps.executeBatch();
+                estandard.executeBatch();
+                premium.executeBatch();
+            }
+
+            // Artículos.
+            try (PreparedStatement ps = conn.prepareStatement("insert into articulos (cod_articulo, descripcion, pvp, gastos_envio, tiempo_preparacion) values (?, ?, ?, ?, ?)")) {
+                for (int i = 1; i <= numArticulos; i++) {
+                    ps.setString(1, "A" + i);
+                    ps.setString(2, "Artículo " + i);
+                    ps.setDouble(3, 1 + random.nextInt(500));
+                    ps.setDouble(4, random.nextInt(20));
+                    ps.setInt(5, random.nextInt(10));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            // Pedidos repartidos en los últimos 30 días, todos pendientes de envío.
+            try (PreparedStatement ps = conn.prepareStatement("insert into pedidos (numero_pedido, cliente_id, articulo_id, unidades, fecha_pedido, es_enviado) values (?, ?, ?, ?, ?, false)")) {
+                LocalDate hoy = LocalDate.now();
+                for (int i = 1; i <= numPedidos; i++) {
+                    ps.setInt(1, i);
+                    ps.setInt(2, 1 + random.nextInt(numClientes));
+                    ps.setInt(3, 1 + random.nextInt(numArticulos));
+                    ps.setInt(4, 1 + random.nextInt(5));
+                    ps.setObject(5, hoy.minusDays(random.nextInt(30)));
+                    ps.addBatch();
+                    // Enviamos el lote cada 10000 filas para no acumular demasiada memoria.
+                    if (i % 10000 == 0) ps.executeBatch();
+                }
+                ps.executeBatch();
+            }
+
+            conn.commit();
+        }
+    }
+
+    // Poblamos la base de datos con el generador de datos de prueba de la aplicación.
+    public void generar(ConfiguracionDatos config) {
+        EntityManager em = getEntityManagerFactory().createEntityManager();
+        try {
+            if (new LoadDataServiceImpl(em).generateData(config) < 0) {
+                throw new IllegalStateException("No se han podido generar los datos de prueba.");
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    // Volvemos a marcar todos los pedidos como pendientes para repetir la actualización de estados.
+    public void resetEstadoPedidos() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.executeUpdate("update pedidos set es_enviado = false");
+            conn.commit();
+        }
+    }
+
+    // Conexión JDBC directa para las comprobaciones sobre el esquema. Hay que cerrarla al terminar.
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    // Creamos el EntityManagerFactory con la misma configuración que ConexionJpa, incluida la caché de segundo nivel.
+    public EntityManagerFactory getEntityManagerFactory() {
+        if (entityManagerFactory == null) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("jakarta.persistence.provider", "org.hibernate.jpa.HibernatePersistenceProvider");
+            properties.put("jakarta.persistence.transactionType", "RESOURCE_LOCAL");
+            properties.put("hibernate.connection.datasource", dataSource);
+            properties.put("hibernate.connection.provider_disables_autocommit", "true");
+            properties.put("hibernate.dialect", "org.hibernate.dialect.MariaDB103Dialect");
+            properties.put("hibernate.show_sql", System.getProperty("hibernate.show_sql", "false"));
+            // Validamos el esquema migrado igual que la aplicación.
+            properties.put("hibernate.hbm2ddl.auto", "validate");
+            properties.put("hibernate.jdbc.batch_size", "50");
+            properties.put("hibernate.order_inserts", "true");
+            properties.put("hibernate.order_updates", "true");
+            properties.put("hibernate.cache.use_second_level_cache", "true");
+            properties.put("hibernate.cache.use_query_cache", "true");
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+            properties.put("hibernate.javax.cache.uri", "ehcache.xml");
+            properties.put("jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+            // Registramos las entidades de forma explícita.
+            properties.put("hibernate.loaded_classes", List.of(Articulo.class, Cliente.class, ClienteEstandard.class,
+                    ClientePremium.class, Direccion.class, Pedido.class));
+            // Al registrarlas no hace falta escanear el jar, que incluye los binarios de MariaDB y ocupa cientos de MB.
+            properties.put("hibernate.archive.scanner", "org.hibernate.boot.archive.scan.internal.DisabledScanner");
+
+            entityManagerFactory = Persistence.createEntityManagerFactory("onlinestoreJPA", properties);
+        }
+        return entityManagerFactory;
+    }
+
+    // Cerramos todos los recursos.
+    public void stop() throws ManagedProcessException {
+        if (entityManagerFactory != null) entityManagerFactory.close();
+        if (dataSource != null) dataSource.close();
+        if (db != null) db.stop();
+    }
+}
@@ -0,0 +1,68 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Articulo;
+import ciricefp.modelo.Cliente;
+import ciricefp.modelo.services.ArticuloServiceImpl;
+import ciricefp.modelo.services.CacheBusqueda;
+import ciricefp.modelo.services.ClienteServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las búsquedas que hace la creación de un pedido: el cliente por NIF y el artículo por código, con la caché de
+ * búsquedas o vaciándola antes de cada operación. Al terminar mostramos la tasa de aciertos de la caché.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BusquedaCacheBenchmark extends EstadoBaseDatos {
+    private List<String> nifs;
+    private List<String> codigos;
+    private final Random random = new Random(42);
+
+    // Lo hacemos al empezar la primera iteración, cuando la base de datos ya está poblada.
+    @Setup(Level.Iteration)
+    public void cargarClaves() {
+        if (nifs != null) return;
+
+        nifs = em.createQuery("select c.nif from Cliente c", String.class).getResultList();
+        codigos = em.createQuery("select a.codArticulo from Articulo a", String.class).getResultList();
+        CacheBusqueda.ARTICULOS.invalidarTodo();
+        CacheBusqueda.CLIENTES.invalidarTodo();
+    }
+
+    @TearDown(Level.Trial)
+    public void mostrarEstadisticas() {
+        System.out.println();
+        System.out.println(CacheBusqueda.ARTICULOS.getEstadisticas());
+        System.out.println(CacheBusqueda.CLIENTES.getEstadisticas());
+    }
+
+    @Benchmark
+    public Object conCache() {
+        return buscar();
+    }
+
+    @Benchmark
+    public Object sinCache() {
+        CacheBusqueda.ARTICULOS.invalidarTodo();
+        CacheBusqueda.CLIENTES.invalidarTodo();
+        return buscar();
+    }
+
+    private Object buscar() {
+        Cliente cliente = new ClienteServiceImpl(em).findOne(nifs.get(random.nextInt(nifs.size()))).orElseThrow();
+        Articulo articulo = new ArticuloServiceImpl(em).findOne(codigos.get(random.nextInt(codigos.size()))).orElseThrow();
+
+        return cliente.getId() + articulo.getId();
+    }
+}
@@ -0,0 +1,65 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.repositorio.ClienteRepositorioImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Comprueba que el listado de clientes no cae en el problema N+1: leer N clientes o 10·N debe costar el mismo
+ * número de sentencias, porque la dirección y el subtipo de cada cliente llegan en la misma consulta.
+ * Levanta la base de datos embebida dos veces, la puebla con N y con 10·N clientes y cuenta con las estadísticas de
+ * Hibernate las sentencias que prepara ClienteRepositorioImpl.findAll. Termina con código 1 si el número cambia.
+ * Se ejecuta con: java -cp target/benchmarks.jar ciricefp.benchmarks.ComprobarConsultasClientes [N]
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public class ComprobarConsultasClientes {
+
+    public static void main(String[] args) throws Exception {
+        int clientes = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+        long sentenciasN = contarSentencias(clientes);
+        long sentencias10N = contarSentencias(10 * clientes);
+
+        System.out.printf("%-30s %d sentencias%n", clientes + " clientes", sentenciasN);
+        System.out.printf("%-30s %d sentencias%n", 10 * clientes + " clientes", sentencias10N);
+
+        if (sentenciasN != sentencias10N) {
+            System.err.println("El listado de clientes prepara " + sentenciasN + " sentencias con " + clientes
+                    + " clientes y " + sentencias10N + " con " + 10 * clientes + ": hay una consulta por cliente.");
+            System.exit(1);
+        }
+    }
+
+    // Poblamos una base de datos nueva con el número de clientes indicado y contamos las sentencias preparadas
+    // para leerlos todos. Cada recuento usa su propio EntityManagerFactory, así la caché de segundo nivel está vacía.
+    private static long contarSentencias(int clientes) throws Exception {
+        BaseDatosEmbebida baseDatos = new BaseDatosEmbebida();
+        baseDatos.start();
+
+        try {
+            baseDatos.seed(clientes, 10, 0);
+
+            Statistics estadisticas = baseDatos.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            estadisticas.setStatisticsEnabled(true);
+
+            EntityManager em = baseDatos.getEntityManagerFactory().createEntityManager();
+            try {
+                estadisticas.clear();
+                int leidos = new ClienteRepositorioImpl(em).findAll().sizeOf();
+                if (leidos != clientes) {
+                    throw new IllegalStateException("Se han leído " + leidos + " clientes de " + clientes);
+                }
+
+                return estadisticas.getPrepareStatementCount();
+            } finally {
+                em.close();
+            }
+        } finally {
+            baseDatos.stop();
+        }
+    }
+}
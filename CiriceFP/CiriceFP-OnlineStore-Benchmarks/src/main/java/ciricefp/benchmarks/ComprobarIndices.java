@@ -0,0 +1,95 @@
+package ciricefp.benchmarks;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Comprueba con EXPLAIN que las consultas habituales usan los índices de las migraciones.
+ * Levanta la base de datos embebida con el esquema y las migraciones de la aplicación, la puebla y muestra el plan
+ * de cada consulta. Termina con código 1 si alguna no usa el índice esperado.
+ * Se ejecuta con: java -cp target/benchmarks.jar ciricefp.benchmarks.ComprobarIndices
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public class ComprobarIndices {
+
+    // Consulta a comprobar, tabla del plan (o su alias) e índice que debe usar.
+    private record Comprobacion(String descripcion, String sql, String tabla, String indice) { }
+
+    private static final List<Comprobacion> COMPROBACIONES = List.of(
+            new Comprobacion("Pedido por número",
+                    "select * from pedidos where numero_pedido = 5000",
+                    "pedidos", "unique_numero_pedido"),
+            new Comprobacion("Pedidos pendientes hasta hoy",
+                    "select _id from pedidos where es_enviado = false and fecha_pedido <= current_date",
+                    "pedidos", "idx_pedidos_envio"),
+            new Comprobacion("Actualización del estado de envío",
+                    "update pedidos p join articulos a on p.articulo_id = a._id set p.es_enviado = true "
+                            + "where p.es_enviado = false and p.fecha_pedido <= current_date "
+                            + "and date_add(p.fecha_pedido, interval a.tiempo_preparacion day) <= current_date",
+                    "p", "idx_pedidos_envio"),
+            new Comprobacion("Ventas de los últimos días",
+                    "select count(*), sum(unidades) from pedidos "
+                            + "where fecha_pedido between current_date - interval 2 day and current_date",
+                    "pedidos", "idx_pedidos_fecha"),
+            new Comprobacion("Artículo por código",
+                    "select * from articulos where cod_articulo = 'A100'",
+                    "articulos", "idx_articulos_cod_articulo"),
+            new Comprobacion("Existe un artículo con la descripción",
+                    "select 1 from articulos where descripcion = 'Artículo 100' limit 1",
+                    "articulos", "idx_articulos_descripcion"),
+            new Comprobacion("Existe un cliente con el NIF",
+                    "select 1 from clientes where nif = '00000100B' limit 1",
+                    "clientes", "unique_nif"),
+            new Comprobacion("Cliente premium por código de socio",
+                    "select * from clientes_premium where cod_socio = 'P10'",
+                    "clientes_premium", "idx_clientes_premium_cod_socio"));
+
+    public static void main(String[] args) throws Exception {
+        BaseDatosEmbebida baseDatos = new BaseDatosEmbebida();
+        baseDatos.start();
+
+        List<String> fallos = new ArrayList<>();
+        try {
+            baseDatos.seed(1000, 200, 10000);
+
+            try (Connection conn = baseDatos.getConnection(); Statement st = conn.createStatement()) {
+                // Dejamos los pedidos como estarían en uso: los que ya se han preparado, enviados.
+                st.executeUpdate(COMPROBACIONES.get(2).sql());
+                conn.commit();
+                // Actualizamos las estadísticas después de la carga para que el optimizador decida con datos reales.
+                st.execute("analyze table pedidos, articulos, clientes_premium");
+
+                for (Comprobacion comprobacion : COMPROBACIONES) {
+                    String indice = indiceUsado(st, comprobacion);
+                    boolean correcto = comprobacion.indice().equals(indice);
+                    System.out.printf("%-40s %-32s %s%n", comprobacion.descripcion(), indice, correcto ? "OK" : "FALLO");
+                    if (!correcto) fallos.add(comprobacion.descripcion() + ": usa " + indice + " en lugar de " + comprobacion.indice());
+                }
+            }
+        } finally {
+            baseDatos.stop();
+        }
+
+        if (!fallos.isEmpty()) {
+            fallos.forEach(System.err::println);
+            System.exit(1);
+        }
+    }
+
+    // Obtenemos el índice que usa el plan para la tabla de la comprobación, o null si la recorre entera.
+    private static String indiceUsado(Statement st, Comprobacion comprobacion) throws SQLException {
+        try (ResultSet plan = st.executeQuery("explain " + comprobacion.sql())) {
+            while (plan.next()) {
+                if (comprobacion.tabla().equals(plan.getString("table"))) return plan.getString("key");
+            }
+        }
+        return null;
+    }
+}
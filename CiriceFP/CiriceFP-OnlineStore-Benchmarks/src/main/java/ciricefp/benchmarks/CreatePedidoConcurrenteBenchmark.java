@@ -0,0 +1,61 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Articulo;
+import ciricefp.modelo.Cliente;
+import ciricefp.modelo.Datos;
+import ciricefp.modelo.Pedido;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la creación de pedidos desde varios hilos a la vez, cada uno con su propio EntityManager como si fueran
+ * varias instancias de la aplicación trabajando sobre la misma BD.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(4)
+public class CreatePedidoConcurrenteBenchmark extends EstadoBaseDatos {
+
+    // Estado propio de cada hilo.
+    @State(Scope.Thread)
+    public static class Hilo {
+        EntityManager em;
+        Datos datos;
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void iniciar(CreatePedidoConcurrenteBenchmark estado) {
+            em = estado.baseDatos.getEntityManagerFactory().createEntityManager();
+            datos = new Datos(null, em);
+            random = new SplittableRandom(Thread.currentThread().getId());
+        }
+
+        @TearDown(Level.Iteration)
+        public void limpiarContexto() {
+            em.clear();
+        }
+
+        @TearDown(Level.Trial)
+        public void cerrar() {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public Pedido createPedido(Hilo hilo) {
+        Cliente cliente = hilo.em.find(Cliente.class, (long) (1 + hilo.random.nextInt(clientes)));
+        Articulo articulo = hilo.em.find(Articulo.class, (long) (1 + hilo.random.nextInt(articulos)));
+
+        return hilo.datos.createPedido(cliente, articulo, 1 + hilo.random.nextInt(5));
+    }
+}
@@ -0,0 +1,58 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Articulo;
+import ciricefp.modelo.Cliente;
+import ciricefp.modelo.Pedido;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la creación de un pedido desde el modelo y el filtro de pedidos pendientes tal como lo lanza el menú
+ * (comprobar la tabla, actualizar el estado y filtrar), con y sin la instantánea de la petición.
+ * La actualización del estado de envío se mide aparte en ActualizarEstadoBenchmark, porque necesita devolver los
+ * pedidos a pendientes antes de cada invocación.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DatosBenchmark extends EstadoBaseDatos {
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Benchmark
+    public Pedido createPedido() {
+        // Elegimos un cliente y un artículo existentes al azar.
+        Cliente cliente = em.find(Cliente.class, (long) (1 + random.nextInt(clientes)));
+        Articulo articulo = em.find(Articulo.class, (long) (1 + random.nextInt(articulos)));
+
+        return datos().createPedido(cliente, articulo, 1 + random.nextInt(5));
+    }
+
+    // Los pasos que daba el menú antes: cargar la lista para saber si está vacía, actualizar el estado y filtrar,
+    // que vuelve a comprobar la tabla y a actualizar el estado.
+    @Benchmark
+    public int filtrarPendientesSinPeticion() {
+        if (datos().listPedidos().isEmpty()) return 0;
+        datos().actualizarEstadoPedidos();
+
+        return datos().filterPedidosByEstado("pendiente").size();
+    }
+
+    // Los mismos pasos dentro de una petición: cada consulta sobre los pedidos se hace una sola vez.
+    @Benchmark
+    public int filtrarPendientesEnPeticion() {
+        return datos().enPeticion(() -> {
+            if (!datos().existenPedidos()) return 0;
+            datos().actualizarEstadoPedidos();
+
+            return datos().filterPedidosByEstado("pendiente").size();
+        });
+    }
+}
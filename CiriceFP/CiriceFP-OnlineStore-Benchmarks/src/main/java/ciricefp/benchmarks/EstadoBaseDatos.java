@@ -0,0 +1,70 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Datos;
+import ciricefp.modelo.repositorio.testdataloader.ConfiguracionDatos;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Estado compartido por los benchmarks que necesitan base de datos. Arranca la base de datos embebida una vez por
+ * ejecución y la puebla con el volumen indicado en los parámetros, que se pueden cambiar desde la línea de comandos
+ * (por ejemplo -p pedidos=1000000).
+ * Con -p reparto=realista los datos salen del generador de la aplicación, con repartos de fechas, unidades y
+ * popularidad de artículos parecidos a los reales, en lugar del reparto uniforme de pedidos pendientes.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@State(Scope.Benchmark)
+public abstract class EstadoBaseDatos {
+    // Volumen de datos con el que se puebla la base de datos.
+    @Param({"1000"})
+    public int clientes;
+
+    @Param({"200"})
+    public int articulos;
+
+    @Param({"10000"})
+    public int pedidos;
+
+    // Reparto de los datos: uniforme o realista.
+    @Param({"uniforme"})
+    public String reparto;
+
+    protected BaseDatosEmbebida baseDatos;
+    protected EntityManager em;
+    private Datos datos;
+
+    // Modelo sobre el EntityManager del estado, para los benchmarks que miden las operaciones de Datos.
+    // Lo creamos la primera vez que se pide, cuando la base de datos ya está iniciada: JMH no garantiza el orden de
+    // los @Setup entre la clase padre y la hija. El controlador no interviene en estas operaciones.
+    protected Datos datos() {
+        if (datos == null) datos = new Datos(null, em);
+        return datos;
+    }
+
+    @Setup(Level.Trial)
+    public void iniciarBaseDatos() throws Exception {
+        baseDatos = new BaseDatosEmbebida();
+        baseDatos.start();
+        if ("realista".equals(reparto)) {
+            baseDatos.generar(ConfiguracionDatos.de(clientes, articulos, pedidos));
+        } else {
+            baseDatos.seed(clientes, articulos, pedidos);
+        }
+        em = baseDatos.getEntityManagerFactory().createEntityManager();
+    }
+
+    // Vaciamos el contexto de persistencia entre iteraciones para que no crezca con cada invocación.
+    @TearDown(Level.Iteration)
+    public void limpiarContexto() {
+        em.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrarBaseDatos() throws Exception {
+        em.close();
+        baseDatos.stop();
+    }
+}
@@ -0,0 +1,74 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.repositorio.ClienteRepositorioImpl;
+import ciricefp.modelo.services.ClienteServiceImpl;
+import ciricefp.modelo.services.FiltroBloom;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la comprobación que se hace al crear un cliente: si ya existe otro con el mismo NIF. Casi siempre el NIF es
+ * nuevo, así que comprobamos NIF que no existen con el filtro en memoria delante de la consulta, solo con la
+ * consulta indexada y cargando todos los clientes como se hacía antes. Al terminar mostramos las métricas del filtro.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExistenciaBenchmark extends EstadoBaseDatos {
+    private final Random random = new Random(42);
+
+    // Lo hacemos al empezar la primera iteración, cuando la base de datos ya está poblada.
+    @Setup(Level.Iteration)
+    public void comprobarResultados() {
+        if (FiltroBloom.NIFS.getPosibles() + FiltroBloom.NIFS.getDescartadas() > 0) return;
+
+        // Los NIF existentes se confirman en la BD y los nuevos se descartan.
+        List<String> nifs = em.createQuery("select c.nif from Cliente c", String.class).setMaxResults(100).getResultList();
+        ClienteServiceImpl service = new ClienteServiceImpl(em);
+        for (String nif : nifs) {
+            if (!service.existsByNif(nif)) throw new IllegalStateException("No se encuentra el NIF " + nif);
+            if (service.existsByNif(nuevoNif())) throw new IllegalStateException("Se encuentra un NIF que no existe");
+        }
+        FiltroBloom.NIFS.resetEstadisticas();
+    }
+
+    @TearDown(Level.Trial)
+    public void mostrarEstadisticas() {
+        System.out.println();
+        System.out.println(FiltroBloom.NIFS.getEstadisticas());
+    }
+
+    @Benchmark
+    public boolean conFiltro() {
+        return new ClienteServiceImpl(em).existsByNif(nuevoNif());
+    }
+
+    @Benchmark
+    public boolean consultaIndexada() {
+        return new ClienteRepositorioImpl(em).existsByNif(nuevoNif());
+    }
+
+    // Comprobación anterior: todos los clientes con sus direcciones.
+    @Benchmark
+    public boolean cargandoClientes() {
+        String nif = nuevoNif();
+        em.clear();
+
+        return new ClienteServiceImpl(em).findAll().getLista().stream()
+                .anyMatch(cliente -> cliente.getNif().equals(nif));
+    }
+
+    // NIF que no sigue el formato de los datos generados, así nunca existe.
+    private String nuevoNif() {
+        return String.format("X%07dZ", random.nextInt(10_000_000));
+    }
+}
@@ -0,0 +1,48 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.services.PedidoServiceImpl;
+import ciricefp.modelo.utils.FormatoExportacion;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la exportación de todos los pedidos a un archivo. El fork se lanza con un heap pequeño para comprobar que
+ * la exportación no depende del número de pedidos en memoria: con 200000 pedidos cargados en una lista no cabría.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class ExportarPedidosBenchmark extends EstadoBaseDatos {
+    @Param({"CSV", "JSON"})
+    public FormatoExportacion formato;
+
+    private Path destino;
+
+    @Setup(Level.Trial)
+    public void crearArchivo() throws IOException {
+        destino = Files.createTempFile("pedidos", ".export");
+    }
+
+    @TearDown(Level.Trial)
+    public void borrarArchivo() throws IOException {
+        Files.deleteIfExists(destino);
+    }
+
+    @Benchmark
+    public long exportar() {
+        long exportados = new PedidoServiceImpl(em).exportar(destino, formato);
+        if (exportados != pedidos) throw new IllegalStateException("Se han exportado " + exportados + " de " + pedidos + " pedidos");
+
+        return exportados;
+    }
+}
@@ -0,0 +1,81 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Pedido;
+import ciricefp.modelo.services.PedidoServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el filtro de pedidos por cliente: la consulta indexada por NIF del repositorio, el mismo filtro a través del
+ * modelo, como lo lanza el menú, y el filtro anterior, que cargaba toda la tabla de pedidos y filtraba en memoria.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FiltroPedidosClienteBenchmark extends EstadoBaseDatos {
+    private final Random random = new Random(42);
+    // NIF de los clientes de la BD, los elegimos al azar en cada invocación.
+    private List<String> nifs;
+
+    // Lo hacemos al empezar la primera iteración, cuando la base de datos ya está poblada.
+    @Setup(Level.Iteration)
+    public void comprobarResultados() {
+        if (nifs != null) return;
+
+        nifs = em.createQuery("select c.nif from Cliente c", String.class).getResultList();
+        // Los tres caminos devuelven los mismos pedidos para los mismos clientes.
+        for (String nif : nifs.subList(0, Math.min(20, nifs.size()))) {
+            List<Long> indexada = ids(new PedidoServiceImpl(em).findByClienteNif(nif).getLista());
+            List<Long> modelo = ids(datos().filterPedidosByCliente(nif));
+            List<Long> enMemoria = ids(filtrarEnMemoria(nif));
+            if (!indexada.equals(modelo) || !indexada.equals(enMemoria)) {
+                throw new IllegalStateException("Los pedidos del cliente " + nif + " no coinciden");
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Pedido> consultaIndexada() {
+        // Vaciamos el contexto para medir la carga desde la BD y no desde la caché de primer nivel.
+        em.clear();
+        return new PedidoServiceImpl(em).findByClienteNif(nif()).getLista();
+    }
+
+    @Benchmark
+    public List<Pedido> filterPedidosByCliente() {
+        em.clear();
+        return datos().filterPedidosByCliente(nif());
+    }
+
+    // Filtro anterior: todos los pedidos de la tabla y el filtro en memoria.
+    @Benchmark
+    public List<Pedido> findAllFiltrando() {
+        em.clear();
+        return filtrarEnMemoria(nif());
+    }
+
+    private List<Pedido> filtrarEnMemoria(String nif) {
+        return new PedidoServiceImpl(em).findAll().getLista().stream()
+                .filter(pedido -> pedido.getCliente().getNif().equals(nif))
+                .toList();
+    }
+
+    // Ordenamos los ids para comparar los resultados sin depender del orden de cada consulta.
+    private static List<Long> ids(List<Pedido> pedidos) {
+        return pedidos.stream().map(Pedido::getId).sorted().toList();
+    }
+
+    // NIF de un cliente existente al azar.
+    private String nif() {
+        return nifs.get(random.nextInt(nifs.size()));
+    }
+}
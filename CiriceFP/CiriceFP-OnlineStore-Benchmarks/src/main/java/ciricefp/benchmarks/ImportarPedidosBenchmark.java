@@ -0,0 +1,64 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Articulo;
+import ciricefp.modelo.Cliente;
+import ciricefp.modelo.Pedido;
+import ciricefp.modelo.services.PedidoServiceImpl;
+import ciricefp.modelo.services.interfaces.PedidoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la importación de un bloque de pedidos nuevos: guardándolos uno a uno como hasta ahora y con la carga
+ * por lotes de saveAll().
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportarPedidosBenchmark extends EstadoBaseDatos {
+    // Número de pedidos que se importan en cada invocación.
+    @Param({"2000"})
+    public int importar;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    // Los números de pedido importados empiezan por encima de los que genera la carga inicial.
+    private int siguienteNumero = 1_000_000;
+    private List<Pedido> lote;
+
+    // Preparamos fuera de la medida los pedidos que se van a importar.
+    @Setup(Level.Invocation)
+    public void prepararLote() {
+        lote = new ArrayList<>(importar);
+        for (int i = 0; i < importar; i++) {
+            Pedido pedido = new Pedido(em.getReference(Cliente.class, (long) (1 + random.nextInt(clientes))),
+                    em.getReference(Articulo.class, (long) (1 + random.nextInt(articulos))),
+                    1 + random.nextInt(5));
+            pedido.setNumeroPedido(siguienteNumero++);
+            lote.add(pedido);
+        }
+    }
+
+    @Benchmark
+    public boolean saveUnoAUno() {
+        PedidoService service = new PedidoServiceImpl(em);
+        boolean res = true;
+
+        for (Pedido pedido : lote) res &= service.save(pedido);
+        return res;
+    }
+
+    @Benchmark
+    public boolean saveAll() {
+        return new PedidoServiceImpl(em).saveAll(lote);
+    }
+}
@@ -0,0 +1,69 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Pedido;
+import ciricefp.modelo.repositorio.informes.ReportServiceImpl;
+import ciricefp.modelo.repositorio.informes.VentasPeriodo;
+import ciricefp.modelo.services.PedidoServiceImpl;
+import ciricefp.modelo.utils.PerfilPedido;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el informe de ventas por día: cargando todos los pedidos y sumando en memoria, o agrupando en la BD.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InformesBenchmark extends EstadoBaseDatos {
+    // Los pedidos de prueba están repartidos en los últimos 30 días.
+    private final LocalDate hasta = LocalDate.now();
+    private final LocalDate desde = hasta.minusYears(1);
+
+    // Comprobamos que los totales calculados en la BD coinciden con los del modelo.
+    @Setup(Level.Trial)
+    public void comprobarInforme() {
+        Map<String, Double> esperado = entidades();
+        List<VentasPeriodo> obtenido = informe();
+
+        if (esperado.size() != obtenido.size()) {
+            throw new IllegalStateException("El informe tiene " + obtenido.size() + " días y se esperaban " + esperado.size());
+        }
+        for (VentasPeriodo dia : obtenido) {
+            Double total = esperado.get(dia.periodo());
+            if (total == null || Math.abs(total - dia.total()) > 1e-3) {
+                throw new IllegalStateException("El total del día no coincide: " + dia + " / " + total);
+            }
+        }
+        em.clear();
+    }
+
+    @Benchmark
+    public Map<String, Double> entidades() {
+        em.clear();
+        Map<String, Double> totales = new TreeMap<>();
+
+        for (Pedido pedido : new PedidoServiceImpl(em).findAll(PerfilPedido.LISTA).getLista()) {
+            totales.merge(pedido.getFechaPedido().toString(), pedido.precioTotal(), Double::sum);
+        }
+
+        return totales;
+    }
+
+    @Benchmark
+    public List<VentasPeriodo> informe() {
+        em.clear();
+
+        return new ReportServiceImpl(em).ventasPorDia(desde, hasta);
+    }
+}
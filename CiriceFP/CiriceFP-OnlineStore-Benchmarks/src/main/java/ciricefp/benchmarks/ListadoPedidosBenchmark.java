@@ -0,0 +1,79 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Pedido;
+import ciricefp.modelo.PedidoResumen;
+import ciricefp.modelo.listas.Listas;
+import ciricefp.modelo.services.PedidoServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el recorrido del listado de pedidos por páginas, cargando entidades completas o los resúmenes que construye
+ * la consulta. No vaciamos el contexto entre páginas, como en la vista, para que se note lo que crece.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ListadoPedidosBenchmark extends EstadoBaseDatos {
+    private static final int PAGINA = 100;
+
+    // Comprobamos que los importes calculados en la consulta coinciden con los del modelo.
+    @Setup(Level.Trial)
+    public void comprobarResumenes() {
+        ArrayList<Pedido> entidades = new PedidoServiceImpl(em).findPageAfter(null, PAGINA).getLista();
+        ArrayList<PedidoResumen> resumenes = new PedidoServiceImpl(em).findResumenPageAfter(null, PAGINA).getLista();
+
+        for (int i = 0; i < entidades.size(); i++) {
+            PedidoResumen esperado = PedidoResumen.de(entidades.get(i));
+            PedidoResumen obtenido = resumenes.get(i);
+            if (!esperado.id().equals(obtenido.id()) || esperado.esPremium() != obtenido.esPremium()
+                    || Math.abs(esperado.gastosEnvio() - obtenido.gastosEnvio()) > 1e-6
+                    || Math.abs(esperado.total() - obtenido.total()) > 1e-6) {
+                throw new IllegalStateException("El resumen no coincide con el pedido: " + esperado + " / " + obtenido);
+            }
+        }
+        em.clear();
+    }
+
+    @Benchmark
+    public int entidades() {
+        em.clear();
+        PedidoServiceImpl service = new PedidoServiceImpl(em);
+
+        int leidos = 0;
+        Long ultimo = null;
+        Listas<Pedido> pagina;
+        do {
+            pagina = service.findPageAfter(ultimo, PAGINA);
+            leidos += pagina.sizeOf();
+            if (!pagina.isEmpty()) ultimo = pagina.get(pagina.sizeOf() - 1).getId();
+        } while (pagina.sizeOf() == PAGINA);
+
+        return leidos;
+    }
+
+    @Benchmark
+    public int resumenes() {
+        em.clear();
+        PedidoServiceImpl service = new PedidoServiceImpl(em);
+
+        int leidos = 0;
+        Long ultimo = null;
+        Listas<PedidoResumen> pagina;
+        do {
+            pagina = service.findResumenPageAfter(ultimo, PAGINA);
+            leidos += pagina.sizeOf();
+            if (!pagina.isEmpty()) ultimo = pagina.get(pagina.sizeOf() - 1).id();
+        } while (pagina.sizeOf() == PAGINA);
+
+        return leidos;
+    }
+}
@@ -0,0 +1,47 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Articulo;
+import ciricefp.modelo.ClienteEstandard;
+import ciricefp.modelo.ClientePremium;
+import ciricefp.modelo.Direccion;
+import ciricefp.modelo.Pedido;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el cálculo del precio total de un pedido para clientes estándar y premium, no necesita base de datos.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PedidoPrecioBenchmark {
+    private Pedido pedidoEstandard;
+    private Pedido pedidoPremium;
+
+    @Setup
+    public void crearPedidos() {
+        Direccion direccion = new Direccion("Calle 1", "Barcelona", "Barcelona", "08001", "España");
+        Articulo articulo = new Articulo();
+        articulo.setPvp(25.5);
+        articulo.setGastosEnvio(4.95);
+        articulo.setTiempoPreparacion(2);
+
+        pedidoEstandard = new Pedido(new ClienteEstandard("Estandard", direccion, "00000001B", "e@cirice.com"), articulo, 3);
+        pedidoPremium = new Pedido(new ClientePremium("Premium", direccion, "00000002B", "p@cirice.com"), articulo, 3);
+    }
+
+    @Benchmark
+    public void precioTotal(Blackhole bh) {
+        bh.consume(pedidoEstandard.precioTotal());
+        bh.consume(pedidoPremium.precioTotal());
+    }
+}
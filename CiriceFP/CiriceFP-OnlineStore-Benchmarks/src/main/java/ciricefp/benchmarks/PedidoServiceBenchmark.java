@@ -0,0 +1,37 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.Pedido;
+import ciricefp.modelo.listas.Listas;
+import ciricefp.modelo.services.PedidoServiceImpl;
+import ciricefp.modelo.utils.PerfilPedido;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la lectura completa de la tabla de pedidos a través del servicio con cada perfil de carga.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PedidoServiceBenchmark extends EstadoBaseDatos {
+
+    @Benchmark
+    public Listas<Pedido> findAll() {
+        // Vaciamos el contexto para medir la carga desde la BD y no desde la caché de primer nivel.
+        em.clear();
+        return new PedidoServiceImpl(em).findAll();
+    }
+
+    @Benchmark
+    public Listas<Pedido> findAllLista() {
+        em.clear();
+        return new PedidoServiceImpl(em).findAll(PerfilPedido.LISTA);
+    }
+}
@@ -0,0 +1,61 @@
+package ciricefp.benchmarks;
+
+import ciricefp.modelo.repositorio.PedidoRepositorioImpl;
+import ciricefp.modelo.repositorio.Referencia;
+import ciricefp.modelo.services.ArticuloServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la comprobación que hace el servicio antes de eliminar un artículo: si aparece en algún pedido no se elimina.
+ * Comparamos la consulta EXISTS de la referencia con la comprobación anterior, que cargaba todos los pedidos y
+ * buscaba el id en Java. Usamos artículos con pedidos, así el servicio nunca llega a eliminar ninguno.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReferenciasBenchmark extends EstadoBaseDatos {
+    private List<Long> articulosConPedidos;
+    private final Random random = new Random(42);
+
+    // Lo hacemos al empezar la primera iteración, cuando la base de datos ya está poblada.
+    @Setup(Level.Iteration)
+    public void cargarArticulos() {
+        if (articulosConPedidos != null) return;
+
+        articulosConPedidos = em.createQuery("select distinct p.articulo.id from Pedido p", Long.class).getResultList();
+
+        // Comprobamos que el servicio se niega a eliminar un artículo con pedidos.
+        if (new ArticuloServiceImpl(em).delete(articulosConPedidos.get(0))) {
+            throw new IllegalStateException("Se ha eliminado un artículo con pedidos.");
+        }
+    }
+
+    @Benchmark
+    public boolean existsReferencia() {
+        return Referencia.PEDIDO_ARTICULO.existe(em, articulo());
+    }
+
+    // Comprobación anterior: todos los pedidos con sus relaciones.
+    @Benchmark
+    public boolean cargandoPedidos() {
+        Long id = articulo();
+        em.clear();
+
+        return new PedidoRepositorioImpl(em).findAll().getLista().stream()
+                .anyMatch(p -> p.getArticulo().getId().equals(id));
+    }
+
+    private Long articulo() {
+        return articulosConPedidos.get(random.nextInt(articulosConPedidos.size()));
+    }
+}
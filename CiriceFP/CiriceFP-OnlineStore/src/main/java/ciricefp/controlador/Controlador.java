@@ -1,11 +1,15 @@
 package ciricefp.controlador;
 
 import ciricefp.modelo.*;
+import ciricefp.modelo.repositorio.testdataloader.ConfiguracionDatos;
+import ciricefp.modelo.utils.FormatoExportacion;
 import ciricefp.vista.controladores.MenuPrincipalController;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.function.Supplier;
 
 /**
  * Esta clase implementa el controlador principal del modelo MVC.
@@ -85,6 +89,11 @@ public class Controlador {
         return datos.listArticulos().getLista();
     }
 
+    // Obtenemos la página de artículos siguiente al último id mostrado
+    public ArrayList<Articulo> listArticulosPageAfter(Long lastId, int limit) {
+        return datos.listArticulosPageAfter(lastId, limit).getLista();
+    }
+
     // Producto 3 -> Obtenemos un artículo por su id.
     public Articulo getArticuloById(@NotNull Long id) { return datos.getArticuloById(id).orElse(null); }
 
@@ -96,7 +105,7 @@ public class Controlador {
     // TODO -> Como extra podemos crear métodos para eliminar y modificar artículos
 
     // Eliminamos un artículo de la lista de artículos.
-    public ArrayList<Articulo> clearArticulos() {
+    public int clearArticulos() {
         return datos.clearArticulos();
     }
 
@@ -129,6 +138,16 @@ public class Controlador {
         return datos.listClientes().getLista();
     }
 
+    // Obtenemos una página de clientes mediante offset
+    public ArrayList<Cliente> listClientesPage(int offset, int limit) {
+        return datos.listClientesPage(offset, limit).getLista();
+    }
+
+    // Obtenemos la página de clientes siguiente al último id mostrado
+    public ArrayList<Cliente> listClientesPageAfter(Long lastId, int limit) {
+        return datos.listClientesPageAfter(lastId, limit).getLista();
+    }
+
     // Producto 3 --> Obtenemos un cliente por su id.
     public Cliente getClienteById(@NotNull Long id) { return datos.getClienteById(id).orElse(null); }
 
@@ -141,7 +160,7 @@ public class Controlador {
     public Cliente searchCliente(@NotNull String nif) { return datos.searchCliente(nif).orElse(null); }
 
     // Limpiamos la lista de clientes
-    public ArrayList<Cliente> clearClientes() {
+    public int clearClientes() {
         return datos.clearClientes();
     }
 
@@ -161,6 +180,26 @@ public class Controlador {
         return datos.listPedidos().getLista();
     }
 
+    // Obtenemos una página de pedidos mediante offset
+    public ArrayList<Pedido> listPedidosPage(int offset, int limit) {
+        return datos.listPedidosPage(offset, limit).getLista();
+    }
+
+    // Obtenemos la página de pedidos siguiente al último id mostrado
+    public ArrayList<Pedido> listPedidosPageAfter(Long lastId, int limit) {
+        return datos.listPedidosPageAfter(lastId, limit).getLista();
+    }
+
+    // Obtenemos la página siguiente de resúmenes de pedido para los listados
+    public ArrayList<PedidoResumen> listPedidosResumenPageAfter(Long lastId, int limit) {
+        return datos.listPedidosResumenPageAfter(lastId, limit).getLista();
+    }
+
+    // Obtenemos los resúmenes de los pedidos pendientes de envío
+    public ArrayList<PedidoResumen> listPedidosPendientes() {
+        return datos.listPedidosPendientes();
+    }
+
     // Producto 3 --> Obtenemos un pedido por su id.
     public Pedido getPedidoById(@NotNull Long id) { return datos.getPedidoById(id).orElse(null); }
 
@@ -195,7 +234,7 @@ public class Controlador {
     }
 
     // Limpiamos la lista de pedidos -> Cuidado, este método ahora mismo eliminaría pedidos enviados.
-    public ArrayList<Pedido> clearPedidos() {
+    public int clearPedidos() {
         /* En caso de implementar este método, manejaremos el siguiente aviso en el controlador de vistas:
         *  System.out.println("PRECAUCIÓN: Se eliminarán todos los pedidos de la lista, incluidos los enviados.");
         *  System.out.println("¿Estás seguro de que quieres continuar? (S/N)");
@@ -212,6 +251,21 @@ public class Controlador {
         return datos.actualizarEstadoPedidos();
     }
 
+    // Comprobamos si hay pedidos sin cargar la lista
+    public boolean existenPedidos() {
+        return datos.existenPedidos();
+    }
+
+    // Ejecutamos una acción del usuario como una única petición sobre los pedidos
+    public <T> T enPeticion(@NotNull Supplier<T> accion) {
+        return datos.enPeticion(accion);
+    }
+
+    // Exportamos todos los pedidos a un archivo CSV o JSON
+    public long exportarPedidos(Path destino, FormatoExportacion formato) {
+        return datos.exportarPedidos(destino, formato);
+    }
+
     // Actualizamos el estado de un pedido --> automatización de cambio de estado a ENVIADO cuando sea necesario
     public int actualizarEstadoPedido(@NotNull Pedido pedido) {
         return datos.actualizarEstadoPedido(pedido);
@@ -235,6 +289,9 @@ public class Controlador {
     // Método para ejecutar una carga de datos de test en la BD.
     public int loadTestData() { return datos.loadTestData(); }
 
+    // Método para generar un volumen grande de datos de prueba en la BD.
+    public long generarDatosPrueba(ConfiguracionDatos config) { return datos.generarDatosPrueba(config); }
+
     // Método para comprobar si existen datos en la BD.
     public boolean checkData() { return datos.checkData(); }
 }
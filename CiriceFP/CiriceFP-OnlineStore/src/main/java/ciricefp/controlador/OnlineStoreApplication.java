@@ -3,9 +3,12 @@ package ciricefp.controlador;
 import ciricefp.modelo.Datos;
 import ciricefp.modelo.utils.ConexionJpa;
 import ciricefp.vista.MenuPrincipalView;
+import ciricefp.vista.SplashView;
 import ciricefp.vista.controladores.MenuPrincipalController;
-import jakarta.persistence.EntityManager;
+import ciricefp.vista.controladores.TareasBD;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
@@ -24,8 +27,29 @@ public class OnlineStoreApplication extends Application {
     private MenuPrincipalController menuController;
     private Controlador controlador;
     private static int exitValue = 0;
+    // Tiempos de cada fase del arranque
+    private final TiemposArranque tiempos = new TiemposArranque();
+    // Marcamos el arranque fallido para no seguir con las fases que aún estén en marcha
+    private boolean arranqueFallido = false;
+
+    /* El arranque se hace por fases para que la primera ventana aparezca enseguida sea cual sea el volumen de datos:
+    * 1. Mostramos la pantalla de inicio, que no necesita la BD.
+    * 2. Arrancamos Hibernate (pool, migraciones, validación del esquema) en el hilo de la BD.
+    * 3. Mientras tanto construimos el menú principal en el hilo de JavaFX.
+    * 4. Cuando la conexión está lista mostramos el menú y, en segundo plano, cargamos los códigos únicos y los
+    *    contadores con consultas que solo leen esas columnas. Como todas las operaciones de la BD pasan por el mismo
+    *    hilo, cualquier acción del usuario se ejecuta después de esta carga.
+    * La pantalla de inicio muestra la fase en curso y se cierra cuando termina la carga. */
     @Override
     public void start(Stage primaryStage) {
+        // Mostramos la pantalla de inicio
+        SplashView splash = tiempos.medir("Pantalla de inicio", () -> {
+            SplashView view = new SplashView();
+            view.getStage().show();
+            return view;
+        });
+        tiempos.marcar("Primera ventana visible");
+
         // Instanciamos el modelo MVC
         datos = new Datos();
         menuController = new MenuPrincipalController();
@@ -35,40 +59,46 @@ public class OnlineStoreApplication extends Application {
 
         // Instanciamos la conexión a la base de datos
         // Producto 4 -> Instanciamos el Entity Manager para poder conectarnos a la BD.
-        EntityManager em = ConexionJpa.getEntityManagerFactory();
-        datos.setEm(em);
+        // Lo hacemos en el hilo de la BD, la respuesta llega al hilo de JavaFX cuando termina start().
+        TareasBD.ejecutar(() -> tiempos.medir("Conexión con la BD (Hibernate)", ConexionJpa::getEntityManagerFactory),
+                em -> {
+                    datos.setEm(em);
+                    mostrarMenu(primaryStage, splash);
+                },
+                error -> {
+                    System.out.println("Error al conectar con la base de datos");
+                    exitValue = 1;
+                    errorArranque(splash, "Error al conectar con la base de datos", error);
+                });
 
-        // Cargamos los datos inciales
-        // Actualizamos los datos que necesitan las funciones automatizadas de la app
-        // desde la BD.
+        // Mientras se conecta la BD, construimos la vista principal
+        splash.setEstado("Construyendo el menú principal...");
         try {
-            controlador.actualizarCodigosUnicos();
-            controlador.actualizarContadores();
-        } catch (Exception e) {
-            System.out.println("Error al actualizar las listas de datos.");
-            e.printStackTrace();
-            exitValue = 2;
-        }
+            tiempos.medir("Construcción del menú principal", () -> {
+                // Obtenemos la vista principal
+                MenuPrincipalView menu = new MenuPrincipalView(menuController);
 
-        try {
-            // Obtenemos la vista principal
-            MenuPrincipalView menu = new MenuPrincipalView(menuController);
-
-            // Configuramos la ventana
-            primaryStage.setTitle(DEFAULT_TITLE);
-            primaryStage.setWidth(DEFAULT_WIDTH);
-            primaryStage.setHeight(DEFAULT_HEIGHT);
-            // Añadimos la vista principal a la ventana
-            primaryStage.setScene(menu.getScene());
-            // Cargamos la hoja de estilos
-            primaryStage.getScene().getStylesheets().add(Objects.requireNonNull(getClass().getClassLoader().getResource("styles.css")).toExternalForm());
-            primaryStage.show();
+                // Configuramos la ventana
+                primaryStage.setTitle(DEFAULT_TITLE);
+                primaryStage.setWidth(DEFAULT_WIDTH);
+                primaryStage.setHeight(DEFAULT_HEIGHT);
+                // Añadimos la vista principal a la ventana
+                primaryStage.setScene(menu.getScene());
+                // Cargamos la hoja de estilos
+                primaryStage.getScene().getStylesheets().add(Objects.requireNonNull(getClass().getClassLoader().getResource("styles.css")).toExternalForm());
+                return menu;
+            });
 
         } catch (Exception e) {
             System.out.println("Error al cargar la vista principal");
             e.printStackTrace();
             exitValue = exitValue * 10 + 3;
+            // Sin menú principal no hay nada que mostrar, avisamos y cerramos la aplicación
+            errorArranque(splash, "Error al cargar la vista principal", e);
+            return;
         }
+        // El menú ya está listo, solo falta la conexión con la BD
+        splash.setEstado("Conectando con la base de datos...");
 
         // Cerramos la conexión a la BD cuando se cierra la app.
         primaryStage.setOnCloseRequest(event -> {
@@ -82,6 +112,64 @@ public class OnlineStoreApplication extends Application {
         });
     }
 
+    // Mostramos el menú principal y lanzamos la carga de los datos iniciales. La pantalla de inicio queda delante
+    // con el estado de la carga hasta que termina.
+    private void mostrarMenu(Stage primaryStage, SplashView splash) {
+        // Si el menú no se ha podido construir la aplicación ya se está cerrando
+        if (arranqueFallido) return;
+
+        primaryStage.show();
+        tiempos.marcar("Menú principal visible");
+        splash.setEstado("Cargando los códigos y los contadores...");
+        splash.getStage().toFront();
+
+        // Cargamos los datos inciales
+        // Actualizamos los datos que necesitan las funciones automatizadas de la app
+        // desde la BD.
+        // Los métodos del controlador devuelven 1 si la carga ha ido bien y 0 si ha fallado.
+        TareasBD.ejecutar(() -> {
+                    int codigos = tiempos.medir("Carga de los códigos únicos", controlador::actualizarCodigosUnicos);
+                    int contadores = tiempos.medir("Carga de los contadores", controlador::actualizarContadores);
+                    return codigos == 1 && contadores == 1;
+                },
+                ok -> {
+                    if (!ok) {
+                        errorCarga(primaryStage, splash,
+                                new IllegalStateException("No se han podido cargar los códigos únicos y los contadores."));
+                        return;
+                    }
+                    splash.getStage().close();
+                    System.out.println(tiempos.resumen());
+
+                    // Si la BD está vacía ofrecemos cargar los datos iniciales.
+                    MenuPrincipalView.comprobarDatosIniciales();
+                },
+                error -> errorCarga(primaryStage, splash, error));
+    }
+
+    // Sin los códigos y los contadores el menú no puede crear datos, así que no lo dejamos a medio cargar.
+    private void errorCarga(Stage primaryStage, SplashView splash, Throwable error) {
+        System.out.println("Error al actualizar las listas de datos.");
+        exitValue = 2;
+        primaryStage.hide();
+        errorArranque(splash, "Error al cargar los datos iniciales", error);
+    }
+
+    // Si falla alguna fase del arranque cerramos la pantalla de inicio, avisamos al usuario y salimos.
+    private void errorArranque(SplashView splash, String cabecera, Throwable error) {
+        // Solo avisamos del primer error, el resto de fases ya no importan
+        if (arranqueFallido) return;
+        arranqueFallido = true;
+        splash.getStage().close();
+
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(DEFAULT_TITLE);
+        alert.setHeaderText(cabecera);
+        alert.setContentText(error.getMessage());
+        alert.showAndWait();
+        Platform.exit();
+    }
+
     // Método main para lanzar la aplicación.
     public static void main(String[] args) {
         try {
@@ -98,7 +186,10 @@ public class OnlineStoreApplication extends Application {
     public void stop() throws Exception {
         // Cerramos la conexión a la BD
         MenuPrincipalView.exitMessage();
-        if (datos.getEm().isOpen()) datos.getEm().close();
+        // Dejamos de lanzar tareas contra la BD antes de cerrar el EntityManager
+        TareasBD.cerrar();
+        // Si la conexión no ha llegado a arrancar no hay nada que cerrar
+        if (datos.getEm() != null && datos.getEm().isOpen()) datos.getEm().close();
         super.stop();
         System.exit(exitValue);
     }
@@ -0,0 +1,67 @@
+package ciricefp.controlador;
+
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Registro de los tiempos del arranque de la aplicación. Las fases se ejecutan en paralelo en el hilo de JavaFX y en
+ * el hilo de la BD, así que para cada fase guardamos cuándo empieza y termina, medido desde que se lanzó el proceso,
+ * y en qué hilo se ha ejecutado. Los hitos (por ejemplo la primera ventana visible) son fases sin duración.
+ * Con el resumen podemos comprobar que el tiempo hasta la primera ventana no depende del volumen de datos.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+final class TiemposArranque {
+    // Momento en que arrancó el proceso, si el sistema no lo informa usamos el momento en que se carga la clase.
+    private static final long INICIO = ProcessHandle.current().info().startInstant()
+            .orElseGet(Instant::now).toEpochMilli();
+
+    // Fases registradas en el orden en que terminan.
+    private final List<Fase> fases = new ArrayList<>();
+
+    private record Fase(String nombre, long desde, long hasta, String hilo) { }
+
+    // Ejecutamos la operación y registramos cuánto ha tardado.
+    <T> T medir(String fase, Supplier<T> operacion) {
+        long desde = ahora();
+        try {
+            return operacion.get();
+        } finally {
+            registrar(new Fase(fase, desde, ahora(), Thread.currentThread().getName()));
+        }
+    }
+
+    // Registramos un hito del arranque.
+    void marcar(String hito) {
+        long ahora = ahora();
+        registrar(new Fase(hito, ahora, ahora, Thread.currentThread().getName()));
+    }
+
+    // Resumimos las fases con su inicio, su fin y su duración en milisegundos.
+    synchronized String resumen() {
+        StringBuilder sb = new StringBuilder("Tiempos de arranque (ms desde el inicio del proceso):\n");
+        for (Fase fase : fases) {
+            if (fase.desde() == fase.hasta()) {
+                sb.append(MessageFormat.format("  {0,number,#} {1} [{2}]\n", fase.hasta(), fase.nombre(), fase.hilo()));
+            } else {
+                sb.append(MessageFormat.format("  {0,number,#} - {1,number,#} {2}: {3,number,#} ms [{4}]\n",
+                        fase.desde(), fase.hasta(), fase.nombre(), fase.hasta() - fase.desde(), fase.hilo()));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private synchronized void registrar(Fase fase) {
+        fases.add(fase);
+    }
+
+    private static long ahora() {
+        return System.currentTimeMillis() - INICIO;
+    }
+}
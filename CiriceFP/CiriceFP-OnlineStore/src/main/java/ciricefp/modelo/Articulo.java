@@ -2,9 +2,10 @@ package ciricefp.modelo;
 
 import ciricefp.modelo.interfaces.HashCode;
 import ciricefp.modelo.interfaces.IArticulo;
+import ciricefp.modelo.utils.RegistroCodigos;
 import jakarta.persistence.*;
-
-import java.util.ArrayList;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Esta clase implementa la lógica de negocio de un artículo que se puede comprar en la tienda.
@@ -12,6 +13,9 @@ import java.util.ArrayList;
  * @author Cirice
  */
 @Entity
+// Guardamos la entidad en la caché de segundo nivel, se lee mucho más de lo que se modifica.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "articulos")
 public class Articulo implements Comparable<Articulo>, IArticulo, HashCode {
 
@@ -20,22 +24,21 @@ public class Articulo implements Comparable<Articulo>, IArticulo, HashCode {
     // Producto 3 -> Añadimos el id de nuestro modelo relacional
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "_id")
+    // Indicamos el tipo de la columna para que Hibernate pueda validar el esquema al arrancar.
+    @Column(name = "_id", columnDefinition = "int unsigned")
     private Long id;
     @Column(name = "cod_articulo", unique = true)
     private String codArticulo;
     private String descripcion;
+    @Column(columnDefinition = "decimal(10,2)")
     private double pvp;
-    @Column(name = "gastos_envio")
+    @Column(name = "gastos_envio", columnDefinition = "decimal(10,2)")
     private double gastosEnvio;
     @Column(name = "tiempo_preparacion")
     private int tiempoPreparacion; // En días
     // Informamos de que el atributo no debe persistir en el modelo relacional.
     @Transient
     private static int totalArticulos = 0;
-    // Informamos de que el atributo no debe persistir en el modelo relacional.
-    @Transient
-    private static ArrayList<String> codigos;
 
     // Constructor implementando la creación automática del código único de artículo.
     public Articulo(String descripcion,
@@ -47,8 +50,6 @@ public class Articulo implements Comparable<Articulo>, IArticulo, HashCode {
         this.gastosEnvio = gastosEnvio;
         this.tiempoPreparacion = tiempoPreparacion;
         this.codArticulo = generateCodigo(this.descripcion);
-
-        codigos =  new ArrayList<>();
     }
 
     // Sobrecarga de constructor para adaptarlo a nuestro modelo relacional. Este constructor debe de pasar
@@ -65,12 +66,10 @@ public class Articulo implements Comparable<Articulo>, IArticulo, HashCode {
         this.pvp = pvp;
         this.gastosEnvio = gastosEnvio;
         this.tiempoPreparacion = tiempoPreparacion;
-
-        codigos =  new ArrayList<>();
     }
 
     // Creamos también un constructor sin parámetros
-    public Articulo() { codigos =  new ArrayList<>(); }
+    public Articulo() { }
 
     /* Getters & Setters */
     public String getCodArticulo() {
@@ -130,14 +129,6 @@ public class Articulo implements Comparable<Articulo>, IArticulo, HashCode {
         Articulo.totalArticulos = totalArticulos;
     }
 
-    public static ArrayList<String> getCodigos() {
-        return codigos;
-    }
-
-    public static void setCodigos(ArrayList<String> codigos) {
-        Articulo.codigos = codigos;
-    }
-
     // StringBuilder nos permite implementar un patrón de diseño de string para el método toString() de una forma visual muy clara.
     @Override
     public String toString() {
@@ -162,35 +153,8 @@ public class Articulo implements Comparable<Articulo>, IArticulo, HashCode {
     // Generamos el código único del artículo mediante la implementación del interfaz HashCode.
     @Override
     public String generateCodigo(String key) {
-
-        // Obtenemos el código generado.
-        String codigo = HashCode.generateHash(key);
-
-        // Comprobamos que el código no exista
-        codigo = manageCollisions(codigo, codigos);
-
-        return "A" + codigo;
-    }
-
-    // Creamos una función recursiva para comprobar si el código generado ya existe.
-    @Override
-    public String manageCollisions(String key, ArrayList<String> set) {
-        if (set.isEmpty()) {
-            return key;
-        }
-        // Primero definimos el caso base.
-        // Normalizamos el código
-        String codigo = "A" + key;
-        // Recorremos la lista buscando coincidencias.
-        if (set.stream().noneMatch(codigo::equals)) {
-
-            // Si no hay coincidencias, devolvemos el código generado.
-            return key;
-        }
-
-        // Si hay coincidencias, generamos un nuevo código.
-        key = Integer.toString(Integer.parseInt(key) + 1);
-        return manageCollisions(key, set);
+        // El registro calcula el hash, resuelve las colisiones y deja el código reservado.
+        return RegistroCodigos.ARTICULOS.asignar(key);
     }
 
     // Método para incrementar el contador de artículos.
@@ -3,6 +3,8 @@ package ciricefp.modelo;
 import ciricefp.modelo.interfaces.ICliente;
 import ciricefp.modelo.interfaces.factory.IClienteFactory;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Esta clase implementa la lógica de negocio de un cliente que puede comprar en la tienda.
@@ -16,6 +18,10 @@ import jakarta.persistence.*;
  * @since 03-2021
  */
 @Entity
+// Guardamos la entidad en la caché de segundo nivel, se lee mucho más de lo que se modifica.
+// La región se declara en la clase raíz y la comparten ClienteEstandard y ClientePremium.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "clientes")
 // Indicamos que esta clase es una superclase de otras clases y que las clases hijas se representan
 // en una tabla independiente solo con sus campos específicos.
@@ -28,17 +34,18 @@ public abstract class Cliente implements Comparable<Cliente>, ICliente, ICliente
     // Producto 3 ≥ Añadimos el id de nuestro modelo relacional
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "_id")
+    // Indicamos el tipo de la columna para que Hibernate pueda validar el esquema al arrancar.
+    @Column(name = "_id", columnDefinition = "int unsigned")
     private Long id;
     private String nombre;
     // Un cliente tiene una dirección, una dirección está asociada a un cliente.
     // Especificamos qué acciones se llevan a cabo en caso de borrar un cliente o una dirección.
-    // También especificamos que se cargue la dirección cuando se cargue el cliente.
+    // La dirección se carga solo cuando se necesita, las consultas de clientes la traen con join fetch.
     // Por último, nos aseguramos de que se borre la dirección si se borra el cliente.
-    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     // Nos aseguramos de que la columna que hace referencia a la clave foránea se llame "direccion_id"
     // Si se borra la dirección, el cliente no se borra.
-    @JoinColumn(name = "direccion_id", nullable = true)
+    @JoinColumn(name = "direccion_id", nullable = true, columnDefinition = "int unsigned")
     private Direccion domicilio;
     private String nif;
     private String email;
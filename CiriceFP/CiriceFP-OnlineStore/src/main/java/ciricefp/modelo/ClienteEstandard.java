@@ -11,7 +11,7 @@ import jakarta.persistence.*;
 @Entity
 @Table(name = "clientes_estandard")
 // Indicamos que se trata de una clase hija de Cliente.
-@PrimaryKeyJoinColumn(name = "cliente_id")
+@PrimaryKeyJoinColumn(name = "cliente_id", columnDefinition = "int unsigned")
 public class ClienteEstandard extends Cliente {
     // Producto 4 ≥ Añadimos los atributos Entity necesarios
     @Id
@@ -1,10 +1,9 @@
 package ciricefp.modelo;
 
 import ciricefp.modelo.interfaces.HashCode;
+import ciricefp.modelo.utils.RegistroCodigos;
 import jakarta.persistence.*;
 
-import java.util.ArrayList;
-
 /**
  * Esta clase implementa la lógica de negocio para el subtipo de Cliente Premium.
  * Esta clase es una subclase de la superclase Cliente e implementa los métodos abstractos.
@@ -14,26 +13,24 @@ import java.util.ArrayList;
 @Entity
 @Table(name = "clientes_premium")
 // Indicamos que se trata de una clase hija de Cliente.
-@PrimaryKeyJoinColumn(name = "cliente_id")
+@PrimaryKeyJoinColumn(name = "cliente_id", columnDefinition = "int unsigned")
 public class ClientePremium extends Cliente implements HashCode {
 
     // Atributos de la clase.
     // Producto 4 ≥ Añadimos los atributos Entity necesarios
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "_id")
+    @Column(name = "_id", columnDefinition = "int unsigned")
     private Long id;
     /*@OneToOne
     @JoinColumn(name = "cliente_id")
     private Long clienteId;*/
-    @Column(name = "cuota_anual")
+    @Column(name = "cuota_anual", columnDefinition = "decimal(10,2)")
     private double cuota;
+    @Column(columnDefinition = "decimal(10,2)")
     private double descuento;
     @Column(name = "cod_socio")
     private String codSocio;
-    // Indicamos de que este atributo no debe persistir en nuestro modelo relacional.
-    @Transient
-    private static ArrayList<String> codigos;
 
     // Constructor por defecto, recibe todos los elementos necesarios por parámetro. Llama al constructor de la superclase.
     public ClientePremium (String nombre,
@@ -46,8 +43,6 @@ public class ClientePremium extends Cliente implements HashCode {
         this.cuota = 30;
         this.descuento = 0.2;
 
-        codigos =  new ArrayList<>();
-
         // Generamos el código de socio.
         this.codSocio = this.generateCodigo(nif);
     }
@@ -63,16 +58,12 @@ public class ClientePremium extends Cliente implements HashCode {
         this.cuota = cuota;
         this.descuento = descuento;
 
-        codigos =  new ArrayList<>();
-
         // Generamos el código de socio.
         this.codSocio = this.generateCodigo(nif);
     }
 
     // Producto 3 --> COnstructor vacío
-    public ClientePremium() {
-        codigos = new ArrayList<>();
-    }
+    public ClientePremium() { }
 
     /* Getters & Setters */
     public double getCuota() {
@@ -99,14 +90,6 @@ public class ClientePremium extends Cliente implements HashCode {
         this.codSocio = codSocio;
     }
 
-    public static ArrayList<String> getCodigos() {
-        return codigos;
-    }
-
-    public static void setCodigos(ArrayList<String> codigos) {
-        ClientePremium.codigos = codigos;
-    }
-
     // StringBuilder nos permite implementar un patrón de diseño de string para el método toString() de una forma visual muy clara.
     @Override
     public String toString() {
@@ -147,34 +130,7 @@ public class ClientePremium extends Cliente implements HashCode {
     @Override
     // Implementación del método para generar un código único usando el NIF del cliente y la interfaz HashCode.
     public String generateCodigo(String key) {
-        // Obtenemos el código generado.
-        String codigo = HashCode.generateHash(key);
-
-        // Comprobamos que el código no exista
-        codigo = manageCollisions(codigo, codigos);
-
-        return "PREMIUM" + HashCode.generateHash(key);
-    }
-
-
-    // Método para gestionar las colisiones mediante una función recursiva.
-    @Override
-    public String manageCollisions(String key, ArrayList<String> set) {
-        if (set.isEmpty()) {
-            return key;
-        }
-        // Primero definimos el caso base.
-        // Normalizamos el código
-        String codigo = "PREMIUM" + key;
-        // Recorremos la lista buscando coincidencias.
-        if (set.stream().noneMatch(codigo::equals)) {
-
-            // Si no hay coincidencias, devolvemos el código generado.
-            return key;
-        }
-
-        key = Integer.toString(Integer.parseInt(key) + 1);
-        // Si hay coincidencias, generamos un nuevo código.
-        return manageCollisions(key + "1", set);
+        // El registro calcula el hash, resuelve las colisiones y deja el código reservado.
+        return RegistroCodigos.SOCIOS.asignar(key);
     }
 }
@@ -3,6 +3,13 @@ package ciricefp.modelo;
 import ciricefp.controlador.Controlador;
 import ciricefp.modelo.interfaces.factory.IClienteFactory;
 import ciricefp.modelo.listas.Listas;
+import ciricefp.modelo.repositorio.informes.DescuentosPremium;
+import ciricefp.modelo.repositorio.informes.ReportService;
+import ciricefp.modelo.repositorio.informes.ReportServiceImpl;
+import ciricefp.modelo.repositorio.informes.VentasArticulo;
+import ciricefp.modelo.repositorio.informes.VentasPeriodo;
+import ciricefp.modelo.repositorio.informes.VentasTipoCliente;
+import ciricefp.modelo.repositorio.testdataloader.ConfiguracionDatos;
 import ciricefp.modelo.repositorio.testdataloader.LoadDataService;
 import ciricefp.modelo.repositorio.testdataloader.LoadDataServiceImpl;
 import ciricefp.modelo.services.ArticuloServiceImpl;
@@ -13,17 +20,21 @@ import ciricefp.modelo.services.interfaces.ArticuloService;
 import ciricefp.modelo.services.interfaces.ClienteService;
 import ciricefp.modelo.services.interfaces.DireccionService;
 import ciricefp.modelo.services.interfaces.PedidoService;
+import ciricefp.modelo.utils.FormatoExportacion;
+import ciricefp.modelo.utils.PerfilPedido;
+import ciricefp.modelo.utils.RegistroCodigos;
 import jakarta.persistence.EntityManager;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Esta clase funciona como un controlador interno para el módulo Modelo siguiendo el patrón MVC.
@@ -76,6 +87,31 @@ public class Datos {
         this.em = em;
     }
 
+    /* Peticiones */
+    // Instantánea de los pedidos de la petición en curso. Cada hilo tiene la suya, aunque las vistas acceden a la BD
+    // siempre desde el mismo hilo.
+    private final ThreadLocal<InstantaneaPedidos> peticion = new ThreadLocal<>();
+
+    // Ejecutamos una acción del usuario como una única petición: las comprobaciones, la actualización del estado y
+    // la carga de los pedidos que hagan los métodos llamados durante la acción se consultan una sola vez.
+    // Si ya estamos dentro de una petición, la acción forma parte de ella.
+    public <T> T enPeticion(@NotNull Supplier<T> accion) {
+        if (peticion.get() != null) return accion.get();
+
+        peticion.set(new InstantaneaPedidos(new PedidoServiceImpl(this.em)));
+        try {
+            return accion.get();
+        } finally {
+            peticion.remove();
+        }
+    }
+
+    // Obtenemos la instantánea de la petición en curso. Fuera de una petición creamos una que solo dura la llamada.
+    private InstantaneaPedidos pedidosPeticion() {
+        InstantaneaPedidos actual = peticion.get();
+        return actual != null ? actual : new InstantaneaPedidos(new PedidoServiceImpl(this.em));
+    }
+
     // StringBuilder nos permite implementar un patrón de diseño de string para el método toString() de una forma visual muy clara.
     @Override
     public String toString() {
@@ -154,6 +190,14 @@ public class Datos {
         return !service.isEmpty()? service.findAll().cloneOf() : new Listas<>();
     }
 
+    // Devolvemos la página de artículos siguiente al último id mostrado usando paginación por keyset.
+    public Listas<Articulo> listArticulosPageAfter(Long lastId, int limit) {
+        // Producto 4 ≥ Usamos los servicios
+        ArticuloService service = new ArticuloServiceImpl(this.em);
+
+        return service.findPageAfter(lastId, limit);
+    }
+
     // Producto 3 --> Método para obtener un artículo de la BD a través de su id.
     public Optional<Articulo> getArticuloById(Long id) {
         // Producto 4 ≥ Usamos los servicios
@@ -169,41 +213,31 @@ public class Datos {
         // Producto 4 ≥ Usamos los servicios
         ArticuloService service = new ArticuloServiceImpl(this.em);
 
-        // Comprobamos que haya artículos en la BD y lo devolvemos.
-        return !service.isEmpty() ? service.findOne(codigo) : Optional.empty();
+        // Buscamos el artículo, si no existe o no hay artículos en la BD obtenemos un Optional vacío.
+        // No contamos antes los artículos para que las búsquedas repetidas se resuelvan desde la caché.
+        return service.findOne(codigo);
     }
 
     // TODO -> Como extra podemos crear métodos para eliminar y modificar artículos
 
     // Eliminamos todos los elementos de la lista de artículos y devolvemos una lista con los elementos eliminados
-    public ArrayList<Articulo> clearArticulos() {
+    public int clearArticulos() {
         // Producto 4 ≥ Usamos los servicios
         ArticuloService service = new ArticuloServiceImpl(this.em);
 
-        // Creamos una lista temporal quer devolveremos en caso de éxito
-        ArrayList<Articulo> articulosTemp = listArticulos().getLista();
-
-        // Flag de control
-        AtomicBoolean flag = new AtomicBoolean(false);
+        // Eliminamos en bloque los artículos que no aparecen en ningún pedido, sin cargarlos.
+        // Devolvemos el número de artículos eliminados o -1 si no se ha podido ejecutar la limpieza.
+        int eliminados = service.clear();
 
-        // Ejecutamos el método para eliminar todos los elementos de la entidad.
-        // Vamos a usar una función lambda para simplificar el código.
-        try {
-            listArticulos().forEach(articulo -> flag.set(service.delete(articulo.getId())));
-            if (flag.get()) {
-                // Reseteamos el contador de artículos
-                Articulo.resetContador();
+        if (eliminados > 0) {
+            // Actualizamos el contador de artículos con los que quedan
+            Articulo.setTotalArticulos(service.count());
 
-                // Reseteamos el contador id en la DB.
-                service.resetId();
-            }
-        } catch (IndexOutOfBoundsException e) {
-            System.out.println("Error al limpiar la lista de artículos.");
-            e.printStackTrace();
+            // Reseteamos el contador id en la DB.
+            service.resetId();
         }
 
-        // En caso de producirse un error o no haber podido ejecutar la limpieza devolvemos una lista vacía
-        return flag.get() ? articulosTemp : new ArrayList<>();
+        return eliminados;
     }
 
     /* Clientes */
@@ -313,6 +347,22 @@ public class Datos {
         return new Listas<>();*/
     }
 
+    // Devolvemos una página de clientes usando paginación por offset, así solo cargamos en memoria lo que mostramos.
+    public Listas<Cliente> listClientesPage(int offset, int limit) {
+        // Producto 4 ≥ Usamos los servicios
+        ClienteService service = new ClienteServiceImpl(this.em);
+
+        return service.findPage(offset, limit);
+    }
+
+    // Devolvemos la página de clientes siguiente al último id mostrado usando paginación por keyset.
+    public Listas<Cliente> listClientesPageAfter(Long lastId, int limit) {
+        // Producto 4 ≥ Usamos los servicios
+        ClienteService service = new ClienteServiceImpl(this.em);
+
+        return service.findPageAfter(lastId, limit);
+    }
+
     // Producto 3 --> Método para obtener un cliente de la BD a través de su id.
     public Optional<Cliente> getClienteById(Long id) {
         // Producto 4 ≥ Usamos los servicios
@@ -407,8 +457,9 @@ public class Datos {
         // Producto 4 ≥ Usamos los servicios
         ClienteService service = new ClienteServiceImpl(this.em);
 
-        // Comprobamos que la lista contenga elementos y ejecutamos el método para buscar el cliente por NIF.
-        return !service.isEmpty() ? service.findOne(nif) : Optional.empty();
+        // Buscamos el cliente por NIF, si no existe o no hay clientes en la BD obtenemos un Optional vacío.
+        // No contamos antes los clientes para que las búsquedas repetidas se resuelvan desde la caché.
+        return service.findOne(nif);
 
         /*// Creamos un objeto Repositorio para la entidad Cliente.
         Repositorio<Cliente> repositorio = new ClienteRepositorioImpl();
@@ -430,40 +481,25 @@ public class Datos {
     }
 
     // Limpiamos la lista de clientes
-    public ArrayList<Cliente> clearClientes() {
+    public int clearClientes() {
         // Producto 4 ≥ Usamos los servicios
         ClienteService service = new ClienteServiceImpl(this.em);
         DireccionService direccionService = new DireccionServiceImpl(this.em);
 
-        // Creamos una lista temporal que devolveremos en caso de éxito.
-        ArrayList<Cliente> clientesTemp = listClientes().getLista();
+        // Eliminamos en bloque los clientes que no aparecen en ningún pedido junto con sus direcciones, sin cargarlos.
+        // Devolvemos el número de clientes eliminados o -1 si no se ha podido ejecutar la limpieza.
+        int eliminados = service.clear();
 
-        // Creamos un flag de control.
-        AtomicBoolean flag = new AtomicBoolean(false);
+        if (eliminados > 0) {
+            // Actualizamos el contador de clientes con los que quedan
+            Cliente.setTotalClientes(service.count());
 
-        // Ejecutamos el método para eliminar todos los elementos de la tabla.
-        if (!service.isEmpty()) {
-            try {
-                // Obtenemos y recorremos la lista de clientes eliminando cada uno de ellos, Hibernate se
-                // encargará de eliminar también la dirección.
-                listClientes().forEach(cliente -> flag.set(service.delete(cliente.getId())));
-                // Comprobamos que se haya ejecutado la limpieza
-                if (flag.get()) {
-                    // Reseteamos el contador de clientes
-                    Cliente.resetTotalClientes();
-
-                    // Reseteamos el contador de la clave primaria en la BD.
-                    service.resetId();
-                    direccionService.resetId();
-                }
-            } catch (NullPointerException e) {
-                System.out.println("Error al limpiar la lista de clientes.");
-                e.printStackTrace();
-            }
+            // Reseteamos el contador de la clave primaria en la BD.
+            service.resetId();
+            direccionService.resetId();
         }
 
-        // En caso de producirse un error o no haber podido ejecutar la limpieza devolvemos una lista vacía
-        return flag.get() ? clientesTemp : new ArrayList<>();
+        return eliminados;
 
         /*// Creamos una lista temporal que devolveremos en caso de éxito.
         // Producto 3 --> Obtenemos los clientes directamente de la BD y la limpiamos en la BD.
@@ -608,39 +644,8 @@ public class Datos {
     // Creamos un pedido recibiendo los parámetros necesarios
     // Producto 3 -> Refactorizando para actuar sobre la BD.
     public Pedido createPedido(@NotNull Cliente cliente, @NotNull Articulo articulo, int cantidad) {
-        // Producto 4 ≥ Usamos los servicios
-        PedidoService service = new PedidoServiceImpl(this.em);
-        ClienteService clienteService = new ClienteServiceImpl(this.em);
-
-        // Creamos el pedido
-        Pedido pedido = new Pedido(cliente, articulo, cantidad);
-
-        // Asignamos un número de pedido a través del último número de pedido + 1.
-        // Obtenemos el último pedido de la BD que es un Optional, con lo que podemos usar el método ifPresentOrElse.
-        service.getLast().ifPresentOrElse(p -> pedido.setNumeroPedido(p.getNumeroPedido() + 1),
-                // Tenemos que crear una expresión lambda vacía para que funcione el método ifPresentOrElse.
-                () -> pedido.setNumeroPedido(1));
-
-        // Nos aseguramos de que enviado sea false:
-        pedido.setEsEnviado(false);
-
-        // Ejecutamos el método para crear el pedido en la BD, si se añade correctamente devolvemos el pedido.
-        // Comprobamos que el pedido no exista en la BD, si no existe lo añadimos.
-        if (service.findOne(String.valueOf(pedido.getNumeroPedido())).isEmpty()) {
-            System.out.println("El pedido no existe, se va a crear." + pedido.getCliente());
-            if (service.save(pedido)) {
-                // Avalamos el contador de pedidos
-                Pedido.avanzarTotalPedidos();
-
-                // Devolvemos el pedido con Id y número de pedido
-                return service.getLast().orElse(null);
-            }
-        }
-
-        // Si ha habido un error, devolvemos un mensaje de error y null
-        System.out.println(MessageFormat.format("El pedido con número {0} ya existe o ha habido un error al crearlo.",
-                pedido.getNumeroPedido()));
-        return null;
+        // Creamos el pedido y lo añadimos a la BD.
+        return createPedido(new Pedido(cliente, articulo, cantidad));
 
         /*// Producto 3 -> Creamos un objeto Repositorio para la entidad Pedido.
         Repositorio<Pedido> repositorio = new PedidoRepositorioImpl();
@@ -685,29 +690,34 @@ public class Datos {
         // Producto 4 ≥ Usamos los servicios
         PedidoService service = new PedidoServiceImpl(this.em);
 
-        // Asignamos un número de pedido a través del último número de pedido + 1.
-        // Obtenemos el último pedido de la BD que es un Optional, con lo que podemos usar el método ifPresentOrElse.
-        service.getLast().ifPresentOrElse(p -> pedido.setNumeroPedido(p.getNumeroPedido() + 1),
-                // Tenemos que crear una expresión lambda vacía para que funcione el método ifPresentOrElse.
-                () -> pedido.setNumeroPedido(1));
+        // Asignamos el número de pedido desde el generador por bloques. Los números reservados son únicos aunque
+        // haya varias instancias creando pedidos a la vez, así que no necesitamos consultar el último pedido
+        // ni comprobar si el número ya existe.
+        Optional<Integer> numeroPedido = service.nextNumeroPedido();
+        if (numeroPedido.isEmpty()) {
+            System.out.println("No se ha podido obtener un número de pedido.");
+            return null;
+        }
+        pedido.setNumeroPedido(numeroPedido.get());
 
         // Nos aseguramos de que enviado sea false:
         pedido.setEsEnviado(false);
 
         // Ejecutamos el método para crear el pedido en la BD, si se añade correctamente devolvemos el pedido.
-        // Comprobamos que el pedido no exista en la BD, si no existe lo añadimos.
-        if (service.findOne(String.valueOf(pedido.getNumeroPedido())).isEmpty()) {
-            if (service.save(pedido)) {
-                // Avalamos el contador de pedidos
-                Pedido.avanzarTotalPedidos();
+        // Al persistir el pedido la BD le asigna el id, así que lo podemos devolver directamente.
+        if (service.save(pedido)) {
+            // Avalamos el contador de pedidos
+            Pedido.avanzarTotalPedidos();
 
-                // Devolvemos el pedido con Id y número de pedido
-                return service.getLast().orElse(null);
-            }
+            // Lo que la petición haya consultado de los pedidos ya no está al día.
+            pedidosPeticion().invalidar();
+
+            // Devolvemos el pedido con Id y número de pedido
+            return pedido;
         }
 
         // Si ha habido un error, devolvemos un mensaje de error y null
-        System.out.println(MessageFormat.format("El pedido con número {0} ya existe o ha habido un error al crearlo.",
+        System.out.println(MessageFormat.format("Ha habido un error al crear el pedido con número {0}.",
                 pedido.getNumeroPedido()));
         return null;
 
@@ -748,14 +758,22 @@ public class Datos {
 
     // Devolvemos una lista con todos los elementos de la lista de pedidos, usamos una copia para mantener las funciones lo más puras posibles
     public Listas<Pedido> listPedidos() {
+        return listPedidos(PerfilPedido.TICKET);
+    }
+
+    // Devolvemos la lista de pedidos cargando solo la parte del pedido que indica el perfil.
+    public Listas<Pedido> listPedidos(PerfilPedido perfil) {
 
         // Producto 3 -> Obtenemos la lista de pedidos a través de la BD.
         // Producto 4 ≥ Usamos los servicios
         PedidoService service = new PedidoServiceImpl(this.em);
 
+        // Los pedidos completos los compartimos con el resto de la petición.
+        if (perfil == PerfilPedido.TICKET) return pedidosPeticion().pedidos().cloneOf();
+
         // Comprobamos que la lista no esté vacía, si hay elementos devolvemos la lista de pedidos, si no, devolvemos
         // una lista vacía.
-        return !service.isEmpty() ? service.findAll().cloneOf() : new Listas<>();
+        return !service.isEmpty() ? service.findAll(perfil).cloneOf() : new Listas<>();
 
 
         /*// Creamos un objeto Repositorio para la entidad Pedido.
@@ -776,6 +794,43 @@ public class Datos {
         return new Listas<>();*/
     }
 
+    // Devolvemos una página de pedidos usando paginación por offset, así solo cargamos en memoria lo que mostramos.
+    public Listas<Pedido> listPedidosPage(int offset, int limit) {
+        // Producto 4 ≥ Usamos los servicios
+        PedidoService service = new PedidoServiceImpl(this.em);
+
+        return service.findPage(offset, limit);
+    }
+
+    // Devolvemos la página de pedidos siguiente al último id mostrado usando paginación por keyset.
+    public Listas<Pedido> listPedidosPageAfter(Long lastId, int limit) {
+        // Producto 4 ≥ Usamos los servicios
+        PedidoService service = new PedidoServiceImpl(this.em);
+
+        return service.findPageAfter(lastId, limit);
+    }
+
+    // Devolvemos la página siguiente de resúmenes de pedido para los listados. Solo traemos los campos que se
+    // muestran y no cargamos ninguna entidad.
+    public Listas<PedidoResumen> listPedidosResumenPageAfter(Long lastId, int limit) {
+        PedidoService service = new PedidoServiceImpl(this.em);
+
+        return service.findResumenPageAfter(lastId, limit);
+    }
+
+    // Devolvemos los resúmenes de los pedidos pendientes de envío ordenados por fecha de envío.
+    public ArrayList<PedidoResumen> listPedidosPendientes() {
+        PedidoService service = new PedidoServiceImpl(this.em);
+
+        // Actualizamos antes el estado de los pedidos
+        actualizarEstadoPedidos();
+
+        ArrayList<PedidoResumen> pendientes = service.findResumenByEstado(false).getLista();
+        pendientes.sort(Comparator.comparing(PedidoResumen::fechaEnvio));
+
+        return pendientes;
+    }
+
     // Producto 3 --> Creamos un método para buscar un pedido por su ID.
     public Optional<Pedido> getPedidoById(Long id) {
         // Producto 3 --> Obtenemos el pedido a través de la BD.
@@ -784,7 +839,7 @@ public class Datos {
 
         // Ejecutamos el método para obtener un objeto de la entidad desde la BD.
         // El método nos devuelve un objeto Optional, con lo que podemos asignarlo directamente a un cliente.
-        return !service.isEmpty() ? service.findById(id) : Optional.empty();
+        return pedidosPeticion().existen() ? service.findById(id) : Optional.empty();
 
 
 //        // Creamos un objeto Repositorio para la entidad Pedido.
@@ -817,13 +872,16 @@ public class Datos {
         service.save(pedido);
 
         // Comprobamos si el pedido está enviado
-        if (!pedido.pedidoEnviado() && !service.isEmpty()) {
+        if (!pedido.pedidoEnviado() && pedidosPeticion().existen()) {
                 // Ejecutamos el método para eliminar el pedido de la BD.
                 if (service.delete(pedido.getId())) {
 
                     // Decrementamos el contador de pedidos
                     Pedido.decrementarTotalPedidos();
 
+                    // Lo que la petición haya consultado de los pedidos ya no está al día.
+                    pedidosPeticion().invalidar();
+
                     // Devolvemos el pedido eliminado.
                     return pedido;
                 }
@@ -880,7 +938,7 @@ public class Datos {
         PedidoService service = new PedidoServiceImpl(this.em);
 
         // Ejecutamos el método para obtener un objeto de la entidad desde la BD.
-        return !service.isEmpty() ? service.findOne(String.valueOf(numeroPedido)) : Optional.empty();
+        return pedidosPeticion().existen() ? service.findOne(String.valueOf(numeroPedido)) : Optional.empty();
 
 
        /* // Creamos un objeto Repositorio para la entidad Pedido.
@@ -910,22 +968,13 @@ public class Datos {
         // Creamos una lista temporal donde almacenar los pedidos filtrados.
         ArrayList<Pedido> pedidosTemp = new ArrayList<>();
 
-        // Comprobamos que la lista contenga elementos
-        if (!service.isEmpty()) {
-            try {
-                // Obtenemos la lista de pedidos de la BD y la iteramos, usamos programación funcional
-                // así que explicaremos el método paso a paso.
-                // Primero obtenemos la lista de la base de datos y la convertimos en un stream.
-                service.findAll().getLista().stream()
-                        // Filtramos los pedidos que coincidan con el nif recibido, mapeando cada uno de los
-                        // pedidos a su cliente.
-                        .filter(pedido -> pedido.getCliente().getNif().equals(nif))
-                        // Finalizamos iterando sobre la lista y añadiendo los pedidos a la lista temporal.
-                        .forEach(pedidosTemp::add);
-            } catch (NullPointerException e) {
-                System.out.println("Error al filtrar los pedidos por cliente.");
-                e.printStackTrace();
-            }
+        // Delegamos el filtrado en la BD: la consulta solo devuelve los pedidos del cliente, así que
+        // no necesitamos cargar toda la tabla de pedidos ni comprobar antes si está vacía.
+        try {
+            pedidosTemp.addAll(service.findByClienteNif(nif).getLista());
+        } catch (NullPointerException e) {
+            System.out.println("Error al filtrar los pedidos por cliente.");
+            e.printStackTrace();
         }
 
         /*// Producto 3 --> Filtramos los pedidos de la BD.
@@ -970,14 +1019,15 @@ public class Datos {
         ArrayList<Pedido> pedidosTemp = new ArrayList<>();
 
         // Producto 3 --> Filtramos los pedidos de la BD.
-        // Producto 4 ≥ Usamos los servicios
-        PedidoService service = new PedidoServiceImpl(this.em);
+        // Usamos la instantánea de la petición: si el controlador ya ha comprobado la tabla o actualizado el estado,
+        // no lo repetimos, y los pedidos se cargan una sola vez.
+        InstantaneaPedidos instantanea = pedidosPeticion();
 
         // Comprobamos que haya elementos en la lista
-        if (!service.isEmpty()) {
+        if (instantanea.existen()) {
             try {
                 // Actualizamos el estado de los pedidos
-                actualizarEstadoPedidos();
+                instantanea.actualizarEstado();
 
                 /*
                  * Usamos un switch para filtrar los pedidos según el estado recibido.
@@ -990,18 +1040,18 @@ public class Datos {
                     // Obtenemos la lista de pedidos de la BD y la iteramos, usamos programación funcional
                     // así que explicaremos el método paso a paso.
                     // Primero obtenemos la lista de la base de datos y la convertimos en un stream.
-                    case "enviado" -> service.findAll().getLista().stream()
+                    case "enviado" -> instantanea.pedidos().getLista().stream()
                             // Filtramos los pedidos que estén enviados
                             .filter(Pedido::getEsEnviado)
                             // Ordenamos los pedidos por fecha de envío
                             .sorted(Comparator.comparing(Pedido::getFechaEnvio))
                             // Finalizamos iterando sobre la lista y añadiendo los pedidos a la lista temporal.
                             .forEach(pedidosTemp::add);
-                    case "pendiente" -> service.findAll().getLista().stream()
+                    case "pendiente" -> instantanea.pedidos().getLista().stream()
                             .filter(pedido -> !pedido.getEsEnviado())
                             .sorted(Comparator.comparing(Pedido::getFechaEnvio))
                             .forEach(pedidosTemp::add);
-                    default -> pedidosTemp.addAll(service.findAll().getLista());
+                    default -> pedidosTemp.addAll(instantanea.pedidos().getLista());
                 }
             } catch (IndexOutOfBoundsException e) {
                 System.out.println("Error al filtrar los pedidos.");
@@ -1020,19 +1070,19 @@ public class Datos {
         ArrayList<Pedido> pedidosTemp = new ArrayList<>();
 
         // Producto 3 --> Filtramos los pedidos de la BD.
-        // Producto 4 ≥ Usamos los servicios
-        PedidoService service = new PedidoServiceImpl(this.em);
+        // Usamos la instantánea de la petición, igual que al filtrar por estado.
+        InstantaneaPedidos instantanea = pedidosPeticion();
 
         // Comprobamos que haya elementos en la lista
-        if (!service.isEmpty()) {
+        if (instantanea.existen()) {
             try {
                 // Actualizamos el estado de los pedidos
-                actualizarEstadoPedidos();
+                instantanea.actualizarEstado();
 
                 // Obtenemos la lista de pedidos de la BD y la iteramos, usamos programación funcional
                 // así que explicaremos el método paso a paso.
                 // Primero obtenemos la lista de la base de datos y la convertimos en un stream.
-                service.findAll().getLista().stream()
+                instantanea.pedidos().getLista().stream()
                     // Filtramos los pedidos que estén enviados y que su fecha de pedido
                     // coincida con la fecha recibida
                     .filter(pedido -> pedido.getEsEnviado() && pedido.getFechaPedido().equals(fecha))
@@ -1049,82 +1099,51 @@ public class Datos {
     }
 
     // Limpiamos la lista de pedidos
-    public ArrayList<Pedido> clearPedidos() {
+    public int clearPedidos() {
 
         // Producto3 -> Implementamos el método para ejecutarse en la BD.
         // Producto4 ≥ Usamos los servicios
         PedidoService service = new PedidoServiceImpl(this.em);
 
-        // Creamos una lista temporal
-        ArrayList<Pedido> pedidosTemp = listPedidos().getLista();
+        // Eliminamos todos los pedidos en bloque, sin cargarlos.
+        // Devolvemos el número de pedidos eliminados o -1 si no se ha podido ejecutar la limpieza.
+        int eliminados = service.clear();
 
-        // Creamos un flag de control
-        AtomicBoolean flag = new AtomicBoolean(false);
+        if (eliminados > 0) {
+            // Actualizamos el contador
+            Pedido.resetTotalPedidos();
 
-        // Iteramos por toda la tabla de la BD eliminando los pedidos.
-        if (!service.isEmpty()) {
-            try {
-                listPedidos().forEach(pedido -> flag.set(service.delete(pedido.getId())));
-                if (flag.get()) {
-                    // Actualizamos el contador
-                    Pedido.resetTotalPedidos();
+            // Actualizamos el contador de la BD
+            service.resetId();
 
-                    // Actualizamos el contador de la BD
-                    service.resetId();
-                }
-            } catch (IndexOutOfBoundsException e) {
-                System.out.println("Error al eliminar los pedidos de la BD");
-                e.printStackTrace();
-            }
+            // Lo que la petición haya consultado de los pedidos ya no está al día.
+            pedidosPeticion().invalidar();
         }
 
-        // Comprobamos el flag, si se ha eliminado la lista de forma correcta devolvemos la lista temporal,
-        // si no devolvemos una lista vacía.
-        return flag.get() ? pedidosTemp : new ArrayList<>();
+        return eliminados;
     }
 
     // Actualizamos el estado de los pedidos de la lista
     public int actualizarEstadoPedidos() {
         // Producto3 --> Implementamos el método para ejecutarse en la BD.
-        // Producto4 ≥ Usamos los servicios
-        PedidoService service = new PedidoServiceImpl(this.em);
-
-        // Declaramos un contador que podamos usar en la función lambda
-        AtomicInteger contPedidos = new AtomicInteger();
-        // Inicializamos el contador
-        contPedidos.set(0);
-
-        // Obtendremos la lista de pedidos de forma asíncrona en la BD. Por cada pedido
-        // obtenido comprobaremos si está enviado y, de ser así, lo actualizaremos en la BD.
-
-        // Comprobamos que existan elementos en la lista.
-        if (!service.isEmpty()) {
-            try {
-                // Obtenemos la lista de pedidos de la BD y usamos progración funcional
-                // para filtrarla e iterarla.
-                listPedidos().getLista().stream()
-                            // Descartamos los pedidos que ya estén marcados como enviados
-                            .filter(pedido -> !pedido.getEsEnviado())
-                            // Filtramos los pedidos que estén enviados
-                            .filter(Pedido::pedidoEnviado)
-                            .forEach(pedido -> {
-                                // Actualizamos el estado del pedido
-                                pedido.setEsEnviado(true);
+        // En lugar de cargar todos los pedidos y guardarlos uno a uno, dejamos que la BD marque como enviados
+        // todos los pedidos que cumplan la regla fecha de pedido + tiempo de preparación <= fecha actual
+        // en una única sentencia. Devolvemos el número de pedidos actualizados.
+        // Dentro de una petición la sentencia solo se ejecuta la primera vez.
+        return pedidosPeticion().actualizarEstado();
+    }
 
-                                // Actualizamos el pedido en la BD.
-                                service.save(pedido);
+    // Comprobamos si hay pedidos en la BD sin cargarlos.
+    public boolean existenPedidos() {
+        return pedidosPeticion().existen();
+    }
 
-                                // Incrementamos el contador
-                                contPedidos.getAndIncrement();
-                            });
-            } catch (IndexOutOfBoundsException e) {
-                System.out.println("Error al actualizar el estado de los pedidos");
-                e.printStackTrace();
-            }
-        }
+    // Exportamos todos los pedidos a un archivo. Los pedidos se escriben según se leen de la BD, así que no
+    // pasamos por listPedidos() ni guardamos la lista completa en memoria.
+    public long exportarPedidos(Path destino, FormatoExportacion formato) {
+        PedidoService service = new PedidoServiceImpl(this.em);
 
-        // Devolvemos el número de pedidos actualizados
-        return contPedidos.get();
+        return service.exportar(destino, formato);
     }
 
     // Actualizamos el estado de un pedido
@@ -1148,6 +1167,11 @@ public class Datos {
 
     // Prototipo de ticket de pedido para el test por consola
     public void printTicket(Pedido pedido) {
+        // Cargamos en una sola consulta el cliente, su dirección y el artículo que muestra el ticket.
+        if (pedido.getId() != null) {
+            pedido = new PedidoServiceImpl(this.em).findById(pedido.getId(), PerfilPedido.TICKET).orElse(pedido);
+        }
+
         System.out.println("Ticket de pedido");
         System.out.println("========================================");
         System.out.println(MessageFormat.format("Cliente tipo: {0}\tNombre: {1} Nif: {2}\nEmail: {3}\n",
@@ -1202,41 +1226,16 @@ public class Datos {
         ArticuloService articuloService = new ArticuloServiceImpl(this.em);
         ClienteService clienteService = new ClienteServiceImpl(this.em);
 
-        // Usaremos una única variable temporal para almacenar los códigos.
-        ArrayList<String> codigosTemp = new ArrayList<>();
-
-        // Obtenemos los codigos de articulos.
+        // Cargamos en los registros los códigos que ya están en uso. Solo consultamos la columna del código,
+        // no hace falta cargar los artículos ni los clientes.
         try {
-            // Primero obtenemos la lista de todos los artículos de la BD.
-            articuloService.findAll()
-                    // Iteramos por la lista y añadimos los códigos a la lista temporal.
-                    .forEach(articulo -> codigosTemp.add(articulo.getCodArticulo()));
-
-            // Seteamos la nueva lista de códigos en la clase Articulo.
-            Articulo.setCodigos(codigosTemp);
-
-            // Limpiamos la lista temporal.
-            codigosTemp.clear();
-
-            // Repetimos el proceso para los clientes, pero en este caso hemos de filtrar
-            // los clientes del tipo Premium.
-            // Obtenemos la lista de clientes y la convertimos y la mapeamos.
-            clienteService.findAll().getLista().stream()
-                    // Filtramos los clientes del tipo Premium mediante el método instanceof.
-                    .filter(cliente -> cliente instanceof ClientePremium)
-                    // Iteramos por la lista y añadimos los códigos a la lista temporal.
-                    .forEach(cliente -> codigosTemp.add(((ClientePremium) cliente).getCodSocio()));
-
-            // Seteamos la nueva lista de códigos en la clase ClientePremium.
-            ClientePremium.setCodigos(codigosTemp);
-
-            // Limpiamos la lista temporal.
-            codigosTemp.clear();
+            RegistroCodigos.ARTICULOS.cargar(articuloService.findAllCodigos());
+            RegistroCodigos.SOCIOS.cargar(clienteService.findAllCodigosSocio());
 
             // Devolvemos una sálida de éxito.
             return 1;
 
-        } catch (IndexOutOfBoundsException e) {
+        } catch (Exception e) {
             System.out.println("Error al actualizar los códigos de los artículos y clientes.");
             e.printStackTrace();
 
@@ -1252,15 +1251,8 @@ public class Datos {
         ArticuloService service = new ArticuloServiceImpl(this.em);
 
         assert Objects.requireNonNull(src).getDescripcion() != null;
-        // Comprobamos si existe el artículo en la BD.
-        try {
-            return service.findAll().getLista().stream()
-                    .anyMatch(articulo -> articulo.getDescripcion().equals(src.getDescripcion()));
-        } catch (IndexOutOfBoundsException e) {
-            System.out.println("Error al comprobar el artículo en la BD.");
-            e.printStackTrace();
-            return false;
-        }
+        // Comprobamos si existe el artículo en la BD sin cargar la tabla, el manejo de errores se realiza en el servicio.
+        return service.existsByDescripcion(src.getDescripcion());
     }
 
     // Comprobamos si ya existe un cliente en la BD.
@@ -1269,15 +1261,40 @@ public class Datos {
         ClienteService service = new ClienteServiceImpl(this.em);
 
         assert Objects.requireNonNull(src).getNif() != null;
-        // Comprobamos si existe el cliente en la BD.
-        try {
-            return service.findAll().getLista().stream()
-                    .anyMatch(cliente -> cliente.getNif().equals(src.getNif()));
-        } catch (IndexOutOfBoundsException e) {
-            System.out.println("Error al comprobar el cliente en la BD.");
-            e.printStackTrace();
-            return false;
-        }
+        // Comprobamos si existe el cliente en la BD sin cargar la tabla, el manejo de errores se realiza en el servicio.
+        return service.existsByNif(src.getNif());
+    }
+
+    /* Informes de ventas */
+    // Los totales se agrupan y suman en la BD, no cargamos los pedidos del intervalo.
+    public List<VentasPeriodo> informeVentasPorDia(@NotNull LocalDate desde, @NotNull LocalDate hasta) {
+        ReportService service = new ReportServiceImpl(this.em);
+
+        return service.ventasPorDia(desde, hasta);
+    }
+
+    public List<VentasPeriodo> informeVentasPorMes(@NotNull LocalDate desde, @NotNull LocalDate hasta) {
+        ReportService service = new ReportServiceImpl(this.em);
+
+        return service.ventasPorMes(desde, hasta);
+    }
+
+    public List<VentasArticulo> informeVentasPorArticulo(@NotNull LocalDate desde, @NotNull LocalDate hasta) {
+        ReportService service = new ReportServiceImpl(this.em);
+
+        return service.ventasPorArticulo(desde, hasta);
+    }
+
+    public List<VentasTipoCliente> informeVentasPorTipoCliente(@NotNull LocalDate desde, @NotNull LocalDate hasta) {
+        ReportService service = new ReportServiceImpl(this.em);
+
+        return service.ventasPorTipoCliente(desde, hasta);
+    }
+
+    public Optional<DescuentosPremium> informeDescuentosPremium(@NotNull LocalDate desde, @NotNull LocalDate hasta) {
+        ReportService service = new ReportServiceImpl(this.em);
+
+        return service.descuentosPremium(desde, hasta);
     }
 
     // Creamos un proceso para cargar los datos de test en la BD.
@@ -1291,7 +1308,27 @@ public class Datos {
         }
 
         // Ejecutamos el método para cargar los datos de test.
-        return service.loadData();
+        int resultado = service.loadData();
+        // Los códigos de los datos cargados no han pasado por el registro.
+        if (resultado > 0) actualizarCodigos();
+
+        return resultado;
+    }
+
+    // Generamos un volumen grande de datos sintéticos para pruebas de rendimiento. Devolvemos las filas insertadas
+    // o -1 si ha fallado la carga.
+    public long generarDatosPrueba(@NotNull ConfiguracionDatos config) {
+        LoadDataService service = new LoadDataServiceImpl(this.em);
+
+        long filas = service.generateData(config);
+        if (filas > 0) {
+            // Los contadores y lo que haya consultado la petición ya no están al día.
+            actualizarContadores();
+            actualizarCodigos();
+            pedidosPeticion().invalidar();
+        }
+
+        return filas;
     }
 
     // Comprobamos de forma independiente si la BD está vacía.
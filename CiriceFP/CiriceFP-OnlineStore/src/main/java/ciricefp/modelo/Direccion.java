@@ -1,6 +1,8 @@
 package ciricefp.modelo;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Esta clase funciona como un prototipo para añadir elementos dirección en las clases que lo necesiten implementar.
@@ -9,6 +11,9 @@ import jakarta.persistence.*;
  * @author Cirice
  */
 @Entity
+// Guardamos la entidad en la caché de segundo nivel, se lee mucho más de lo que se modifica.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "direcciones")
 public class Direccion {
 
@@ -16,7 +21,8 @@ public class Direccion {
     // Producto 3 -> Añadimos el id de nuestro modelo relacional
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "_id")
+    // Indicamos el tipo de la columna para que Hibernate pueda validar el esquema al arrancar.
+    @Column(name = "_id", columnDefinition = "int unsigned")
     private Long id;
     String direccion;
     String ciudad;
@@ -0,0 +1,58 @@
+package ciricefp.modelo;
+
+import ciricefp.modelo.listas.Listas;
+import ciricefp.modelo.services.interfaces.PedidoService;
+
+/**
+ * Instantánea de la tabla de pedidos durante una acción del usuario (una petición).
+ * Una misma acción comprobaba si había pedidos, actualizaba su estado y volvía a cargarlos en varios pasos, cada
+ * uno con su propia consulta. La instantánea guarda lo que ya se ha consultado para que la acción compruebe la tabla,
+ * actualice el estado de envío y cargue los pedidos como mucho una vez.
+ * Solo vive mientras dura la petición (ver Datos.enPeticion), así que nunca devuelve datos de una acción anterior.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+final class InstantaneaPedidos {
+    private final PedidoService service;
+
+    // Resultados ya consultados, null mientras no se hayan pedido.
+    private Boolean existen;
+    private Listas<Pedido> pedidos;
+    private boolean estadoActualizado = false;
+
+    InstantaneaPedidos(PedidoService service) {
+        this.service = service;
+    }
+
+    // Comprobamos si hay pedidos con una consulta de existencia en lugar de cargar la tabla.
+    boolean existen() {
+        if (existen == null) existen = service.exists();
+        return existen;
+    }
+
+    // Actualizamos el estado de envío una sola vez por petición. Si ya sabemos que no hay pedidos no hace falta.
+    int actualizarEstado() {
+        if (estadoActualizado || Boolean.FALSE.equals(existen)) return 0;
+        estadoActualizado = true;
+
+        int actualizados = service.updateEstadoEnviados();
+        // El servicio vacía el contexto si ha cambiado algún pedido, la lista cargada antes ya no sirve.
+        if (actualizados > 0) pedidos = null;
+
+        return actualizados;
+    }
+
+    // Cargamos los pedidos completos una sola vez por petición.
+    Listas<Pedido> pedidos() {
+        if (pedidos == null) pedidos = existen() ? service.findAll() : new Listas<>();
+        return pedidos;
+    }
+
+    // Olvidamos lo consultado después de crear o eliminar pedidos durante la petición.
+    void invalidar() {
+        existen = null;
+        pedidos = null;
+    }
+}
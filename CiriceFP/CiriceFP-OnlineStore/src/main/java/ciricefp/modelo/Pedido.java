@@ -3,6 +3,8 @@ package ciricefp.modelo;
 import ciricefp.modelo.interfaces.IPedido;
 import ciricefp.modelo.interfaces.factory.IClienteFactory;
 import jakarta.persistence.*;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
 
 import java.time.LocalDate;
 
@@ -13,25 +15,39 @@ import java.time.LocalDate;
  */
 @Entity
 @Table(name = "pedidos")
+// Grafos de carga para cada caso de uso, las asociaciones son LAZY y cada consulta indica qué necesita.
+@NamedEntityGraph(name = Pedido.GRAFO_LISTA)
+@NamedEntityGraph(name = Pedido.GRAFO_TICKET,
+        attributeNodes = {
+                @NamedAttributeNode(value = "cliente", subgraph = "cliente"),
+                @NamedAttributeNode("articulo")
+        },
+        subgraphs = @NamedSubgraph(name = "cliente", attributeNodes = @NamedAttributeNode("domicilio")))
 public class Pedido implements Comparable<Pedido>, IPedido {
 
     // Atributos de la clase.
     // Producto 3 -> Añadimos el id de nuestro modelo relacional
+    // Nombres de los grafos de carga.
+    public static final String GRAFO_LISTA = "Pedido.lista";
+    public static final String GRAFO_TICKET = "Pedido.ticket";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "_id")
+    // Indicamos el tipo de la columna para que Hibernate pueda validar el esquema al arrancar.
+    @Column(name = "_id", columnDefinition = "int unsigned")
     private Long id;
     @Column(name = "numero_pedido", unique = true)
     private int numeroPedido;
     // Un pedido solo puede tener un cliente, pero un cliente puede tener varios pedidos.
-    @ManyToOne
+    // Cargamos el cliente solo cuando se necesita, las consultas que lo usan lo traen con el grafo TICKET.
+    @ManyToOne(fetch = FetchType.LAZY)
     // Nos aseguramos de la correcta ref de columna
-    @JoinColumn(name = "cliente_id")
+    @JoinColumn(name = "cliente_id", columnDefinition = "int unsigned")
     private Cliente cliente;
     // Un pedido solo puede tener un artículo, pero un artículo puede estar en muchos pedidos.
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     // Nos aseguramos de la correcta ref de columna
-    @JoinColumn(name = "articulo_id")
+    @JoinColumn(name = "articulo_id", columnDefinition = "int unsigned")
     private Articulo articulo;
     private int unidades;
     @Column(name = "fecha_pedido")
@@ -96,7 +112,15 @@ public class Pedido implements Comparable<Pedido>, IPedido {
         this.numeroPedido = numeroPedido;
     }
 
+    // Si el cliente aún es un proxy de Hibernate lo sustituimos por la instancia real: el proxy es de la clase
+    // Cliente y los métodos que distinguen el tipo de cliente por su clase no reconocerían a los premium.
     public Cliente getCliente() {
+        if (cliente instanceof HibernateProxy proxy) {
+            LazyInitializer inicializador = proxy.getHibernateLazyInitializer();
+            cliente = (Cliente) inicializador.getImplementation();
+            // Solucionamos el problema con los ids de las subclases.
+            cliente.setId((Long) inicializador.getIdentifier());
+        }
         return cliente;
     }
 
@@ -159,9 +183,9 @@ public class Pedido implements Comparable<Pedido>, IPedido {
 
         StringBuilder sb = new StringBuilder("Pedido Número: " + this.numeroPedido + "\n");
         sb.append("Fecha: " + this.fechaPedido + "\n")
-                .append("Nif: ").append(this.cliente.getNif()).append(" ")
-                        .append("Nombre: ").append(this.cliente.getNombre()).append("\n")
-                        .append("Dirección de envio: ").append(this.cliente.getDomicilio()).append("\n")
+                .append("Nif: ").append(this.getCliente().getNif()).append(" ")
+                        .append("Nombre: ").append(this.getCliente().getNombre()).append("\n")
+                        .append("Dirección de envio: ").append(this.getCliente().getDomicilio()).append("\n")
                         .append("Artículo: ").append(this.articulo.getDescripcion()).append("\t")
                         .append("Código: ").append(this.articulo.getCodArticulo()).append("\n")
                         .append("Unidades").append("\t").append("Precio").append("\t").append("Total").append("\n")
@@ -324,8 +348,8 @@ public class Pedido implements Comparable<Pedido>, IPedido {
     @Override
     public double precioEnvio() {
 
-        return IClienteFactory.tipoCliente(this.cliente).equals("ClientePremium")?
-                this.articulo.getGastosEnvio() - IClienteFactory.descuentoEnv(this.cliente, this.articulo.getGastosEnvio()) :
+        return IClienteFactory.tipoCliente(this.getCliente()).equals("ClientePremium")?
+                this.articulo.getGastosEnvio() - IClienteFactory.descuentoEnv(this.getCliente(), this.articulo.getGastosEnvio()) :
                 this.articulo.getGastosEnvio();
     }
 
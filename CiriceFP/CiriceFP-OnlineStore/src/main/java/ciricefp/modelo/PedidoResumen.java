@@ -0,0 +1,61 @@
+package ciricefp.modelo;
+
+import ciricefp.modelo.interfaces.factory.IClienteFactory;
+
+import java.time.LocalDate;
+
+/**
+ * Resumen de solo lectura de un pedido con los datos que muestran los listados.
+ * Se construye directamente en la consulta JPQL (constructor expression), así que no es una entidad: no entra en el
+ * contexto de persistencia ni Hibernate comprueba si ha cambiado. Los importes se calculan en la propia consulta.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public record PedidoResumen(Long id,
+                            int numeroPedido,
+                            LocalDate fechaPedido,
+                            String nif,
+                            String nombreCliente,
+                            // Código de socio, solo lo tienen los clientes premium.
+                            String codSocio,
+                            String codArticulo,
+                            String descripcion,
+                            int unidades,
+                            double pvp,
+                            int tiempoPreparacion,
+                            double subtotal,
+                            double gastosEnvio,
+                            double total,
+                            boolean enviado) {
+
+    // Construimos el resumen a partir de un pedido que ya tenemos cargado.
+    public static PedidoResumen de(Pedido pedido) {
+        return new PedidoResumen(pedido.getId(),
+                pedido.getNumeroPedido(),
+                pedido.getFechaPedido(),
+                pedido.getCliente().getNif(),
+                pedido.getCliente().getNombre(),
+                pedido.getCliente() instanceof ClientePremium ? IClienteFactory.getCodSocio(pedido.getCliente()) : null,
+                pedido.getArticulo().getCodArticulo(),
+                pedido.getArticulo().getDescripcion(),
+                pedido.getUnidades(),
+                pedido.getArticulo().getPvp(),
+                pedido.getArticulo().getTiempoPreparacion(),
+                pedido.calcularSubtotal(),
+                pedido.precioEnvio(),
+                pedido.precioTotal(),
+                pedido.getEsEnviado());
+    }
+
+    // Los clientes premium son los que tienen código de socio.
+    public boolean esPremium() {
+        return codSocio != null;
+    }
+
+    // Fecha de envío: fecha del pedido más el tiempo de preparación del artículo en días.
+    public LocalDate fechaEnvio() {
+        return fechaPedido.plusDays(tiempoPreparacion);
+    }
+}
@@ -1,28 +1,36 @@
 package ciricefp.modelo.interfaces;
 
-import java.util.ArrayList;
-
 /**
  * Interfaz para la generación de códigos hash. Lo usarán las clases ClientePremium y Artículo.
+ * Las colisiones se resuelven en RegistroCodigos, que guarda los códigos en uso.
  *
  * @author Cirice
  */
 public interface HashCode {
     // Tamaño máximo de códigos hash, lo usaremos como valor de compresión.
-    int CODE_SIZE = 10000;
+    // Lo hacemos mucho mayor que el número de códigos que esperamos para que casi no haya colisiones.
+    long CODE_SIZE = 1_000_000_000L;
     // Método a implementar por las clases que implementen esta interfaz.
     String generateCodigo(String key);
 
-    String manageCollisions(String key, ArrayList<String> set);
-
-    // Generamos el Hash mediante el método hashCode() de la clase String.
-    static String generateHash(String key) {
-        // Obtener código hash.
-        int hash = key.hashCode();
+    // Comprimimos el hash de 64 bits al rango [0, CODE_SIZE).
+    // Antes usábamos hashCode() & 0x70000000, que solo dejaba 8 valores posibles.
+    static long hash(String key) {
+        return Long.remainderUnsigned(hash64(key), CODE_SIZE);
+    }
 
-        // Normalizar y retornar el código hash comprimido.
-        hash = hash & 0x70000000;
+    // Calculamos un hash FNV-1a de 64 bits con una mezcla final, para que todos los bits dependan de toda la clave.
+    // También lo usa el filtro de Bloom, que necesita los 64 bits sin comprimir.
+    static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
 
-        return Integer.toString(hash % CODE_SIZE);
+        return hash;
     }
 }
@@ -3,6 +3,12 @@ package ciricefp.modelo.repositorio;
 import ciricefp.modelo.Articulo;
 import ciricefp.modelo.listas.Listas;
 import jakarta.persistence.EntityManager;
+import org.hibernate.annotations.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 
 
@@ -51,18 +57,71 @@ public class ArticuloRepositorioImpl implements Repositorio<Articulo> {
         return articulos;
     }
 
+    @Override
+    public Listas<Articulo> findPage(int offset, int limit) {
+        // Creamos la lista de Articulos que recibiremos de la BD.
+        Listas<Articulo> articulos = new Listas<>();
+
+        // Creamos la query limitando el resultado a la página solicitada.
+        em.createQuery("select a from Articulo a order by a.id", Articulo.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultStream().forEach(articulos::add);
+
+        // Retornamos la página de Articulos.
+        return articulos;
+    }
+
+    @Override
+    public Listas<Articulo> findPageAfter(Long lastId, int limit) {
+        // Creamos la lista de Articulos que recibiremos de la BD.
+        Listas<Articulo> articulos = new Listas<>();
+
+        // Creamos la query partiendo del último id visto.
+        em.createQuery("select a from Articulo a where a.id > :lastId order by a.id", Articulo.class)
+                .setParameter("lastId", lastId == null ? 0L : lastId)
+                .setMaxResults(limit)
+                .getResultStream().forEach(articulos::add);
+
+        // Retornamos la página de Articulos.
+        return articulos;
+    }
+
     @Override
     public Articulo findById(Long id) {
         // Creamos la consulta con los métodos de Hibernate JPA.
         return em.find(Articulo.class, id);
     }
 
+    // Comprobamos si existe un artículo con la descripción usando el índice idx_articulos_descripcion (V003).
+    public boolean existsByDescripcion(String descripcion) {
+        return !em.createQuery("select a.id from Articulo a where a.descripcion = :descripcion", Long.class)
+                .setParameter("descripcion", descripcion)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    // Recuperamos solo las descripciones de todos los artículos, para cargar el filtro de comprobación de existencia.
+    public List<String> findAllDescripciones() {
+        return em.createQuery("select a.descripcion from Articulo a where a.descripcion is not null", String.class)
+                .getResultList();
+    }
+
+    // Recuperamos solo los códigos de todos los artículos, para cargar el registro de códigos únicos.
+    public List<String> findAllCodigos() {
+        return em.createQuery("select a.codArticulo from Articulo a where a.codArticulo is not null", String.class)
+                .getResultList();
+    }
+
     @Override
     public Articulo findOne(String key) {
         // Creamos la consulta con los métodos de Hibernate JPA.
         return em.createQuery("select a from Articulo a where a.codArticulo = :codigo", Articulo.class)
                 // Asignamos el parámetro a la consulta.
                 .setParameter("codigo", key)
+                // Guardamos el resultado en la caché de consultas.
+                .setHint(QueryHints.CACHEABLE, true)
                 // Limitamos el resultado a un solo objeto.
                 .setMaxResults(1)
                 // Ejecutamos la consulta.
@@ -84,6 +143,34 @@ public class ArticuloRepositorioImpl implements Repositorio<Articulo> {
         }
     }
 
+    // Guardamos una colección de artículos por lotes. Las altas se insertan por JDBC en lotes del tamaño configurado
+    // y las modificaciones se sincronizan con Hibernate cada lote.
+    public void saveAll(Collection<Articulo> articulos) {
+        // Separamos las altas de las modificaciones con el mismo criterio que save().
+        Map<Boolean, List<Articulo>> existentes = articulos.stream()
+                .collect(Collectors.partitioningBy(a -> a.getId() != null && a.getId() > 0));
+
+        InsercionPorLotes.insertar(em,
+                "insert into articulos (cod_articulo, descripcion, pvp, gastos_envio, tiempo_preparacion) values (?, ?, ?, ?, ?)",
+                existentes.get(false),
+                (ps, articulo) -> {
+                    ps.setString(1, articulo.getCodArticulo());
+                    ps.setString(2, articulo.getDescripcion());
+                    ps.setDouble(3, articulo.getPvp());
+                    ps.setDouble(4, articulo.getGastosEnvio());
+                    ps.setInt(5, articulo.getTiempoPreparacion());
+                },
+                Articulo::setId);
+
+        InsercionPorLotes.actualizar(em, existentes.get(true), em::merge);
+    }
+
+    // Eliminamos en bloque todos los artículos que no aparecen en ningún pedido y devolvemos cuántos se han eliminado.
+    public int deleteSinPedidos() {
+        return BorradoPorLotes.borrar(em, "articulos",
+                "not exists (select 1 from pedidos p where p.articulo_id = articulos._id)", Articulo.class);
+    }
+
     @Override
     public void delete(Long id) {
         // Creamos la consulta usando métodos de Hibernate JPA.
@@ -0,0 +1,44 @@
+package ciricefp.modelo.repositorio;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Esta clase reúne la lógica común de los repositorios para vaciar tablas grandes.
+ * Eliminar fila a fila con Hibernate obliga a cargar cada entidad y a lanzar una sentencia por fila. Aquí lanzamos
+ * sentencias DELETE sobre conjuntos de filas, en bloques con LIMIT para que cada sentencia bloquee y registre en
+ * el log de deshacer una cantidad acotada de filas aunque la tabla tenga millones.
+ * No usamos TRUNCATE porque MySQL no lo permite en tablas a las que apuntan claves foráneas y porque confirma
+ * la transacción por su cuenta.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+final class BorradoPorLotes {
+    // Filas que eliminamos en cada sentencia.
+    static final int TAMANO_BLOQUE = 5000;
+
+    private BorradoPorLotes() {}
+
+    /* Eliminamos de la tabla las filas que cumplen la condición, bloque a bloque, y devolvemos cuántas se han eliminado.
+    * Debe ejecutarse dentro de una transacción. Indicamos las entidades que se guardan en la tabla para que
+    * Hibernate invalide solo sus regiones de la caché de segundo nivel. */
+    static int borrar(EntityManager em, String tabla, String condicion, Class<?>... entidades) {
+        String sql = "delete from " + tabla + " where " + condicion + " limit " + TAMANO_BLOQUE;
+        int total = 0;
+        int borradas;
+
+        do {
+            NativeQuery<?> query = em.createNativeQuery(sql).unwrap(NativeQuery.class);
+            // Sin entidades, indicamos la tabla para que Hibernate no vacíe toda la caché.
+            if (entidades.length == 0) query.addSynchronizedQuerySpace(tabla);
+            for (Class<?> entidad : entidades) query.addSynchronizedEntityClass(entidad);
+
+            borradas = query.executeUpdate();
+            total += borradas;
+        } while (borradas == TAMANO_BLOQUE);
+
+        return total;
+    }
+}
@@ -1,10 +1,18 @@
 package ciricefp.modelo.repositorio;
 
 import ciricefp.modelo.Cliente;
+import ciricefp.modelo.ClienteEstandard;
+import ciricefp.modelo.ClientePremium;
+import ciricefp.modelo.Direccion;
 import ciricefp.modelo.listas.Listas;
 import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Esta clase implementa la interfaz Repositorio para nuestra entidad Cliente.
@@ -25,6 +33,11 @@ public class ClienteRepositorioImpl implements Repositorio<Cliente> {
         this.em = em;
     }
 
+    // Consulta base para leer clientes en un único viaje a la BD: seleccionamos el id junto al cliente para
+    // solucionar el problema con los ids y traemos la dirección en la misma sentencia. Al ser una herencia JOINED,
+    // Hibernate une las tablas hijas en la misma consulta y devuelve cada cliente con su subtipo.
+    private static final String SELECT_CLIENTES = "select c.id, c from Cliente c left join fetch c.domicilio ";
+
     /* Producto 4 ≥ Refactoriazamos la clase para trabajar con Hibernate */
 
     /* Simplificamos al máximo la implementación de nuestro contrato con la interfaz ya que trasladaremos
@@ -39,22 +52,12 @@ public class ClienteRepositorioImpl implements Repositorio<Cliente> {
         Cliente.resetTotalClientes();
 
         // Producto 4 -> Refactorizamos el método para usar Entity Manager.
-        // Creamos la sentencia para la consulta.
-        // Solucionamos el problema con los ids.
-        // Añadimos el id al array.
-        List<Long> ids = em.createQuery("select c.id from Cliente c", Long.class).getResultList();
-
-        // Creamos un índice de posición que podamos usar dentro de la lambda.
-        int[] index = {0};
+        // Obtenemos los clientes, sus ids y sus direcciones en una única consulta.
         // Como usamos listas personalizadas, no podemos usar getResultList() y debemos usar getResultStream().
-        em.createQuery("select c from Cliente c", Cliente.class).getResultStream().forEach(
-                cliente -> {
-                    // Seteamos el id correcto.
-                    cliente.setId(ids.get(index[0]));
-                    // Avanzamos el contador de id.
-                    index[0]++;
-                    // Añadimos el cliente a la lista.
-                    clientes.add(cliente);
+        em.createQuery(SELECT_CLIENTES + "order by c.id", Object[].class).getResultStream().forEach(
+                fila -> {
+                    // Añadimos el cliente a la lista con el id correcto.
+                    clientes.add(mapCliente(fila));
 
                     // Avanzamos el contador de clientes.
                     Cliente.advanceTotalClientes();
@@ -65,34 +68,82 @@ public class ClienteRepositorioImpl implements Repositorio<Cliente> {
         return clientes;
     }
 
+    @Override
+    public Listas<Cliente> findPage(int offset, int limit) {
+        // Creamos la lista de Clientes que recibiremos de la BD.
+        Listas<Cliente> clientes = new Listas<>();
+
+        // Solucionamos el problema con los ids seleccionando el id junto al cliente en la misma consulta.
+        em.createQuery(SELECT_CLIENTES + "order by c.id", Object[].class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultStream().forEach(fila -> clientes.add(mapCliente(fila)));
+
+        // Devolvemos la página de clientes.
+        return clientes;
+    }
+
+    @Override
+    public Listas<Cliente> findPageAfter(Long lastId, int limit) {
+        // Creamos la lista de Clientes que recibiremos de la BD.
+        Listas<Cliente> clientes = new Listas<>();
+
+        // Solucionamos el problema con los ids seleccionando el id junto al cliente en la misma consulta.
+        em.createQuery(SELECT_CLIENTES + "where c.id > :lastId order by c.id", Object[].class)
+                .setParameter("lastId", lastId == null ? 0L : lastId)
+                .setMaxResults(limit)
+                .getResultStream().forEach(fila -> clientes.add(mapCliente(fila)));
+
+        // Devolvemos la página de clientes.
+        return clientes;
+    }
+
     @Override
     public Cliente findById(Long id) {
         // Producto 4 -> Refactorizamos el método para usar Entity Manager.
-        // Tenemos que solucioanr el problema de los ID
-        // Creamos las consultas usando lenguaje HQL/JPQL.
-        Long srcId = em.createQuery("select c.id from Cliente c where c.id = :id", Long.class)
-                .setParameter("id", id)
-                .getSingleResult();
+        // Ya conocemos el id, así que no necesitamos consultarlo: find carga el cliente en una sola sentencia
+        // o directamente desde la caché de segundo nivel.
         Cliente src = em.find(Cliente.class, id);
-         // Solucionamos el problema con los ids.
-        src.setId(srcId);
+        // Solucionamos el problema con los ids.
+        src.setId(id);
+        // La dirección es LAZY, la cargamos aquí para que las vistas no la pidan después a la BD.
+        Hibernate.initialize(src.getDomicilio());
 
         return src;
     }
 
+    // Comprobamos si existe un cliente con el NIF. La restricción única del NIF le da un índice, así que la BD
+    // responde sin recorrer la tabla ni cargar el cliente.
+    public boolean existsByNif(String nif) {
+        return !em.createQuery("select c.id from Cliente c where c.nif = :nif", Long.class)
+                .setParameter("nif", nif)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    // Recuperamos solo los NIF de todos los clientes, para cargar el filtro de comprobación de existencia.
+    public List<String> findAllNifs() {
+        return em.createQuery("select c.nif from Cliente c where c.nif is not null", String.class)
+                .getResultList();
+    }
+
+    // Recuperamos solo los códigos de socio de los clientes premium, para cargar el registro de códigos únicos.
+    public List<String> findAllCodigosSocio() {
+        return em.createQuery("select c.codSocio from ClientePremium c where c.codSocio is not null", String.class)
+                .getResultList();
+    }
+
     @Override
     public Cliente findOne(String key) {
         // Producto 4 -> Refactorizamos el método para usar Entity Manager.
         // Como find solo busca por Id, debemos crear una consulta HQL/JPQL.
-        // Solucionamos el problema con los ids.
-        Long id = em.createQuery("select c.id from Cliente c where c.nif = :key", Long.class)
+        // Obtenemos el cliente y su id en la misma consulta.
+        return mapCliente(em.createQuery(SELECT_CLIENTES + "where c.nif = :key", Object[].class)
                 .setParameter("key", key)
-                .getSingleResult();
-        Cliente src = em.find(Cliente.class, id);
-        // Solucionamos el problema con los ids.
-        src.setId(id);
-
-        return src;
+                // Guardamos el resultado en la caché de consultas, el cliente lo obtenemos de la caché de segundo nivel.
+                .setHint(QueryHints.CACHEABLE, true)
+                .getSingleResult());
     }
 
     /* Al estar guardando un modelo de objeto complejo, realizaremos una inserción por pasos.
@@ -118,9 +169,85 @@ public class ClienteRepositorioImpl implements Repositorio<Cliente> {
         }
     }
 
+    // Guardamos una colección de clientes por lotes. Las altas siguen los mismos pasos que haría Hibernate:
+    // primero las direcciones, después la tabla padre y por último la tabla hija de cada tipo de cliente.
+    public void saveAll(Collection<Cliente> clientes) {
+        // Separamos las altas de las modificaciones con el mismo criterio que save().
+        Map<Boolean, List<Cliente>> existentes = clientes.stream()
+                .collect(Collectors.partitioningBy(c -> c.getId() != null && c.getId() > 0));
+        List<Cliente> nuevos = existentes.get(false);
+
+        // Direcciones de los clientes nuevos que todavía no existen en la BD.
+        InsercionPorLotes.insertar(em,
+                "insert into direcciones (direccion, ciudad, provincia, codigo_postal, pais) values (?, ?, ?, ?, ?)",
+                nuevos.stream().map(Cliente::getDomicilio)
+                        .filter(d -> d != null && (d.getId() == null || d.getId() <= 0))
+                        .collect(Collectors.toList()),
+                (ps, direccion) -> {
+                    ps.setString(1, direccion.getDireccion());
+                    ps.setString(2, direccion.getCiudad());
+                    ps.setString(3, direccion.getProvincia());
+                    ps.setString(4, direccion.getCodigoPostal());
+                    ps.setString(5, direccion.getPais());
+                },
+                Direccion::setId);
+
+        // Tabla padre.
+        InsercionPorLotes.insertar(em,
+                "insert into clientes (nombre, direccion_id, nif, email) values (?, ?, ?, ?)",
+                nuevos,
+                (ps, cliente) -> {
+                    ps.setString(1, cliente.getNombre());
+                    ps.setObject(2, cliente.getDomicilio() == null ? null : cliente.getDomicilio().getId());
+                    ps.setString(3, cliente.getNif());
+                    ps.setString(4, cliente.getEmail());
+                },
+                Cliente::setId);
+
+        // Tablas hijas.
+        InsercionPorLotes.insertar(em,
+                "insert into clientes_estandard (cliente_id) values (?)",
+                nuevos.stream().filter(c -> c instanceof ClienteEstandard).collect(Collectors.toList()),
+                (ps, cliente) -> ps.setLong(1, cliente.getId()),
+                (cliente, id) -> {});
+
+        InsercionPorLotes.insertar(em,
+                "insert into clientes_premium (cliente_id, cuota_anual, descuento, cod_socio) values (?, ?, ?, ?)",
+                nuevos.stream().filter(c -> c instanceof ClientePremium).map(c -> (ClientePremium) c)
+                        .collect(Collectors.toList()),
+                (ps, cliente) -> {
+                    ps.setLong(1, cliente.getId());
+                    ps.setDouble(2, cliente.getCuota());
+                    ps.setDouble(3, cliente.getDescuento());
+                    ps.setString(4, cliente.getCodSocio());
+                },
+                (cliente, id) -> {});
+
+        InsercionPorLotes.actualizar(em, existentes.get(true), em::merge);
+    }
+
     /* Producto 4 -> Al usar Hibernate, se realizará la eliminación de forma automática.
     * mediante los decoradores que hemos añádido en las clases implicadas.
     */
+    // Eliminamos en bloque todos los clientes que no aparecen en ningún pedido, junto con su fila de tipo de cliente
+    // y su dirección, y devolvemos cuántos clientes se han eliminado. Es la misma regla que al eliminar un cliente.
+    public int deleteSinPedidos() {
+        int eliminados = BorradoPorLotes.borrar(em, "clientes",
+                "not exists (select 1 from pedidos p where p.cliente_id = clientes._id)",
+                Cliente.class, ClienteEstandard.class, ClientePremium.class);
+
+        // El trigger tdelete_cliente elimina la fila del tipo de cliente, aquí recogemos las que hayan quedado
+        // huérfanas por otras vías. La dirección del cliente eliminado queda sin usar y también la eliminamos.
+        BorradoPorLotes.borrar(em, "clientes_estandard",
+                "not exists (select 1 from clientes c where c._id = clientes_estandard.cliente_id)", ClienteEstandard.class);
+        BorradoPorLotes.borrar(em, "clientes_premium",
+                "not exists (select 1 from clientes c where c._id = clientes_premium.cliente_id)", ClientePremium.class);
+        BorradoPorLotes.borrar(em, "direcciones",
+                "not exists (select 1 from clientes c where c.direccion_id = direcciones._id)", Direccion.class);
+
+        return eliminados;
+    }
+
     @Override
     public void delete(Long id) {
         // Producto 4 ≥ Implementamos el método mediante Entity Manager.
@@ -144,17 +271,12 @@ public class ClienteRepositorioImpl implements Repositorio<Cliente> {
         // Creamos la consulta usando lenguaje HQL/JPQL.
         // Obtenemos el último artículo de la BD recibiendo el primer resultado de la consulta
         // ordenada de forma descendente por el id.
-        // Solucionamos el problema con los ids.
-        Long id = em.createQuery("select c.id from Cliente c order by c.id desc", Long.class)
+        // Solucionamos el problema con los ids obteniendo el id y el cliente en la misma consulta.
+        return mapCliente(em.createQuery(SELECT_CLIENTES + "order by c.id desc", Object[].class)
                 // retornamos un único valor.
                 .setMaxResults(1)
                 // obtenemos el resultado.
-                .getSingleResult();
-        Cliente src = em.find(Cliente.class, id);
-        // Solucionamos el problema con los ids.
-        src.setId(id);
-
-        return src;
+                .getSingleResult());
     }
 
     @Override
@@ -168,4 +290,14 @@ public class ClienteRepositorioImpl implements Repositorio<Cliente> {
 
     /* Producto 4 ≥ Ya no necesitamos métodos auxiliares para mapear los resultados de las consultas porque lo
     realiza automáticamente el framework. */
+
+    // Método auxiliar para las consultas que devuelven el par (id, cliente): asignamos el id correcto al cliente.
+    private Cliente mapCliente(Object[] fila) {
+        Cliente cliente = (Cliente) fila[1];
+        cliente.setId((Long) fila[0]);
+        // Si el cliente viene de la caché de segundo nivel, el join fetch no se aplica y la dirección es un proxy.
+        Hibernate.initialize(cliente.getDomicilio());
+
+        return cliente;
+    }
 }
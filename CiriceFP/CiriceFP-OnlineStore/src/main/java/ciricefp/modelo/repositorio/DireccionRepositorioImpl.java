@@ -47,6 +47,36 @@ public class DireccionRepositorioImpl implements Repositorio<Direccion> {
         return direcciones;
     }
 
+    @Override
+    public Listas<Direccion> findPage(int offset, int limit) {
+        // Creamos la lista de Direcciones que recibiremos de la BD.
+        Listas<Direccion> direcciones = new Listas<>();
+
+        // Creamos la query limitando el resultado a la página solicitada.
+        em.createQuery("select d from Direccion d order by d.id", Direccion.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultStream().forEach(direcciones::add);
+
+        // Retornamos la página de Direcciones.
+        return direcciones;
+    }
+
+    @Override
+    public Listas<Direccion> findPageAfter(Long lastId, int limit) {
+        // Creamos la lista de Direcciones que recibiremos de la BD.
+        Listas<Direccion> direcciones = new Listas<>();
+
+        // Creamos la query partiendo del último id visto.
+        em.createQuery("select d from Direccion d where d.id > :lastId order by d.id", Direccion.class)
+                .setParameter("lastId", lastId == null ? 0L : lastId)
+                .setMaxResults(limit)
+                .getResultStream().forEach(direcciones::add);
+
+        // Retornamos la página de Direcciones.
+        return direcciones;
+    }
+
     @Override
     public Direccion findById(Long id) {
         // Creamos la consulta con los métodos de Hibernate JPA.
@@ -0,0 +1,101 @@
+package ciricefp.modelo.repositorio;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Esta clase reúne la lógica común de los repositorios para guardar colecciones grandes de entidades por lotes.
+ * Como nuestras entidades usan ids IDENTITY, Hibernate no puede agrupar los INSERT: necesita el id de cada fila
+ * en cuanto la persiste. Por eso las altas las enviamos directamente por JDBC en lotes y recuperamos los ids
+ * generados por la BD, mientras que las modificaciones sí las dejamos en manos de Hibernate.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+final class InsercionPorLotes {
+    // Tamaño de lote por defecto si no se ha configurado hibernate.jdbc.batch_size.
+    private static final int TAMANO_LOTE_DEFECTO = 50;
+
+    private InsercionPorLotes() {}
+
+    // Asigna los parámetros de la sentencia para un elemento.
+    @FunctionalInterface
+    interface Parametros<T> {
+        void asignar(PreparedStatement ps, T t) throws SQLException;
+    }
+
+    // Usamos el mismo tamaño de lote que hemos configurado en Hibernate para la unidad de persistencia.
+    static int tamanoLote(EntityManager em) {
+        Object valor = em.getEntityManagerFactory().getProperties().get("hibernate.jdbc.batch_size");
+
+        return valor == null ? TAMANO_LOTE_DEFECTO : Integer.parseInt(valor.toString());
+    }
+
+    // Insertamos los elementos por lotes en la conexión de la transacción actual y asignamos a cada elemento
+    // el id que ha generado la BD.
+    static <T> void insertar(EntityManager em, String sql, List<T> elementos, Parametros<T> parametros,
+                             BiConsumer<T, Long> asignarId) {
+        if (elementos.isEmpty()) return;
+
+        int tamanoLote = tamanoLote(em);
+        Session session = em.unwrap(Session.class);
+
+        // Enviamos antes los cambios pendientes para que las inserciones vean el mismo estado que Hibernate.
+        session.flush();
+
+        session.doWork(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                // Posición del primer elemento del lote actual.
+                int inicio = 0;
+
+                for (int i = 0; i < elementos.size(); i++) {
+                    parametros.asignar(ps, elementos.get(i));
+                    ps.addBatch();
+
+                    // Enviamos el lote cuando está completo o al llegar al último elemento.
+                    if ((i + 1) % tamanoLote == 0 || i == elementos.size() - 1) {
+                        ps.executeBatch();
+
+                        // Los ids se devuelven en el mismo orden en el que se han añadido las filas al lote.
+                        try (ResultSet ids = ps.getGeneratedKeys()) {
+                            while (ids.next()) asignarId.accept(elementos.get(inicio++), ids.getLong(1));
+                        }
+                        inicio = i + 1;
+                    }
+                }
+            }
+        });
+
+        // Las inserciones no pasan por Hibernate, así que invalidamos la caché de consultas para que no devuelva
+        // resultados anteriores a la carga.
+        em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    // Actualizamos los elementos con Hibernate, que sí agrupa los UPDATE. Cada lote sincronizamos y vaciamos el
+    // contexto de persistencia para que no crezca con toda la colección.
+    static <T> void actualizar(EntityManager em, Collection<T> elementos, Consumer<T> guardar) {
+        int tamanoLote = tamanoLote(em);
+        int i = 0;
+
+        for (T elemento : elementos) {
+            guardar.accept(elemento);
+
+            if (++i % tamanoLote == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+    }
+}
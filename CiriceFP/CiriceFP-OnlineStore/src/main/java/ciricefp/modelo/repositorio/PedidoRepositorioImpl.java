@@ -1,12 +1,24 @@
 package ciricefp.modelo.repositorio;
 
 import ciricefp.modelo.Pedido;
+import ciricefp.modelo.PedidoResumen;
 import ciricefp.modelo.listas.Listas;
+import ciricefp.modelo.utils.PerfilPedido;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.ParameterMode;
 import jakarta.persistence.StoredProcedureQuery;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.query.NativeQuery;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Esta clase implementa la interfaz Repositorio para nuestra entidad Pedido.
@@ -18,6 +30,21 @@ import java.util.List;
  * @since 04-2023
  */
 public class PedidoRepositorioImpl implements Repositorio<Pedido> {
+    // Consulta de los resúmenes de pedido para los listados. Construimos el PedidoResumen en la propia consulta y
+    // calculamos en SQL el subtotal, los gastos de envío con el descuento de los clientes premium y el total.
+    // El left join con ClientePremium nos da el descuento y el código de socio, nulos para los clientes estándar.
+    // Usamos left join también con el cliente y el artículo (siempre existen) para que la BD recorra los pedidos
+    // por su clave primaria y pueda cortar en el límite de la página sin ordenar toda la tabla.
+    private static final String SELECT_RESUMEN = "select new ciricefp.modelo.PedidoResumen(" +
+            "p.id, p.numeroPedido, p.fechaPedido, c.nif, c.nombre, " +
+            "cp.codSocio, a.codArticulo, a.descripcion, " +
+            "p.unidades, a.pvp, a.tiempoPreparacion, " +
+            "p.unidades * a.pvp, " +
+            "a.gastosEnvio - a.gastosEnvio * coalesce(cp.descuento, 0), " +
+            "p.unidades * a.pvp + a.gastosEnvio - a.gastosEnvio * coalesce(cp.descuento, 0), " +
+            "p.esEnviado) " +
+            "from Pedido p left join p.cliente c left join p.articulo a left join ClientePremium cp on cp = c ";
+
     // Producto 4 -> Refactorizamos la clase para usar Entity Manager.
     // Creamos el atributo para nuestro Entity Manager.
     private final EntityManager em;
@@ -48,21 +75,68 @@ public class PedidoRepositorioImpl implements Repositorio<Pedido> {
      */
     @Override
     public Listas<Pedido> findAll() {
+        // Por defecto cargamos el pedido completo, es lo que necesitan las vistas.
+        return findAll(PerfilPedido.TICKET);
+    }
+
+    // Obtenemos todos los pedidos cargando solo la parte del grafo que indica el perfil.
+    public Listas<Pedido> findAll(PerfilPedido perfil) {
 
         // Creamos la lista que contendrá los pedidos.
         Listas<Pedido> pedidos = new Listas<>();
 
         // Producto 4 -> Realizamos la consulta a través de JPA.
-        em.createQuery("select p from Pedido p", Pedido.class).getResultList().forEach(pedidos::add);
+        conPerfil(em.createQuery("select p from Pedido p", Pedido.class), perfil)
+                .getResultList().forEach(pedidos::add);
 
         // Devolvemos la lista de pedidos.
         return pedidos;
     }
 
+    @Override
+    public Listas<Pedido> findPage(int offset, int limit) {
+        // Creamos la lista que contendrá los pedidos.
+        Listas<Pedido> pedidos = new Listas<>();
+
+        // Realizamos la consulta a través de JPA limitando el resultado a la página solicitada.
+        conPerfil(em.createQuery("select p from Pedido p order by p.id", Pedido.class), PerfilPedido.TICKET)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultStream().forEach(pedidos::add);
+
+        // Devolvemos la página de pedidos.
+        return pedidos;
+    }
+
+    @Override
+    public Listas<Pedido> findPageAfter(Long lastId, int limit) {
+        return findPageAfter(lastId, limit, PerfilPedido.TICKET);
+    }
+
+    // Obtenemos la página siguiente al último id visto cargando solo la parte del grafo que indica el perfil.
+    public Listas<Pedido> findPageAfter(Long lastId, int limit, PerfilPedido perfil) {
+        // Creamos la lista que contendrá los pedidos.
+        Listas<Pedido> pedidos = new Listas<>();
+
+        // Realizamos la consulta a través de JPA partiendo del último id visto.
+        conPerfil(em.createQuery("select p from Pedido p where p.id > :lastId order by p.id", Pedido.class), perfil)
+                .setParameter("lastId", lastId == null ? 0L : lastId)
+                .setMaxResults(limit)
+                .getResultStream().forEach(pedidos::add);
+
+        // Devolvemos la página de pedidos.
+        return pedidos;
+    }
+
     @Override
     public Pedido findById(Long id) {
+        return findById(id, PerfilPedido.TICKET);
+    }
+
+    // Buscamos el pedido por su id cargando solo la parte del grafo que indica el perfil.
+    public Pedido findById(Long id, PerfilPedido perfil) {
         // Producto 4 -> Realizamos la consulta a través de un método de JPA.
-        return em.find(Pedido.class, id);
+        return em.find(Pedido.class, id, Map.of(GraphSemantic.FETCH.getJpaHintName(), em.getEntityGraph(perfil.grafo())));
     }
 
     @Override
@@ -76,8 +150,127 @@ public class PedidoRepositorioImpl implements Repositorio<Pedido> {
 
         // Usamos una lista para manejar un posible retorno vacío.
         List<Pedido> pedidos = (List<Pedido>) query.getResultList();
+        if (pedidos.isEmpty()) return null;
+
+        // El procedimiento solo devuelve las columnas del pedido, inicializamos aquí las asociaciones que muestra
+        // la ficha del pedido para no cargarlas después desde la vista.
+        Pedido pedido = pedidos.get(0);
+        Hibernate.initialize(pedido.getCliente().getDomicilio());
+        Hibernate.initialize(pedido.getArticulo());
+
+        return pedido;
+    }
+
+    // Obtenemos los pedidos de un cliente a través de su NIF.
+    // Filtramos en la BD mediante un JOIN sobre la FK cliente_id y el índice único de clientes.nif,
+    // así solo viajan por la red los pedidos del cliente en lugar de toda la tabla.
+    // Usamos join fetch para traer el cliente y el artículo en la misma consulta y evitar el problema N+1.
+    public Listas<Pedido> findByClienteNif(String nif) {
+        // Creamos la lista que contendrá los pedidos.
+        Listas<Pedido> pedidos = new Listas<>();
+
+        // Realizamos la consulta a través de JPA.
+        em.createQuery("select p from Pedido p " +
+                        "join fetch p.cliente c " +
+                        "join fetch p.articulo " +
+                        "where c.nif = :nif " +
+                        "order by p.numeroPedido", Pedido.class)
+                // Asignamos el parámetro a la consulta.
+                .setParameter("nif", nif)
+                // Pasamos el resultado a la lista de pedidos.
+                .getResultStream().forEach(pedidos::add);
+
+        // Devolvemos la lista de pedidos.
+        return pedidos;
+    }
+
+    // Obtenemos la página de resúmenes siguiente al último id visto para los listados.
+    // Los resúmenes no son entidades, así que no crecen el contexto de persistencia ni pasan por el dirty checking.
+    public Listas<PedidoResumen> findResumenPageAfter(Long lastId, int limit) {
+        Listas<PedidoResumen> resumenes = new Listas<>();
+
+        em.createQuery(SELECT_RESUMEN + "where p.id > :lastId order by p.id", PedidoResumen.class)
+                .setParameter("lastId", lastId == null ? 0L : lastId)
+                .setMaxResults(limit)
+                .getResultStream().forEach(resumenes::add);
+
+        return resumenes;
+    }
+
+    // Obtenemos los resúmenes de los pedidos según su estado de envío.
+    public Listas<PedidoResumen> findResumenByEstado(boolean enviado) {
+        Listas<PedidoResumen> resumenes = new Listas<>();
 
-        return pedidos.size() > 0 ? pedidos.get(0) : null;
+        em.createQuery(SELECT_RESUMEN + "where p.esEnviado = :enviado order by p.fechaPedido, p.id", PedidoResumen.class)
+                .setParameter("enviado", enviado)
+                .getResultStream().forEach(resumenes::add);
+
+        return resumenes;
+    }
+
+    // Recorremos todos los pedidos con un cursor de la BD en lugar de cargarlos en una lista. La BD envía las filas
+    // en bloques de 'fetchSize', así que la memoria no depende del número de pedidos. Traemos el cliente, su
+    // dirección y el artículo en la misma consulta para no lanzar consultas adicionales por cada fila.
+    // El Stream mantiene abierto el cursor, hay que cerrarlo al terminar.
+    public Stream<Pedido> streamAll(int fetchSize) {
+        return em.createQuery("select p from Pedido p " +
+                        "join fetch p.cliente c " +
+                        "left join fetch c.domicilio " +
+                        "join fetch p.articulo " +
+                        "order by p.id", Pedido.class)
+                // Número de filas que se leen de la BD en cada viaje.
+                .setHint(QueryHints.FETCH_SIZE, fetchSize)
+                // Los pedidos solo se leen, Hibernate no necesita guardar una copia para detectar cambios.
+                .setHint(QueryHints.READ_ONLY, true)
+                // No llenamos la caché de segundo nivel con todos los clientes y artículos del recorrido.
+                .setHint(QueryHints.CACHE_MODE, CacheMode.GET)
+                .getResultStream();
+    }
+
+    // Marcamos como enviados, en una única sentencia, todos los pedidos pendientes cuya fecha de envío
+    // (fecha de pedido + tiempo de preparación del artículo) sea igual o anterior a la fecha actual.
+    // Devolvemos el número de pedidos actualizados.
+    public int updateEstadoEnviados() {
+        // Usamos una consulta nativa porque JPQL no permite joins ni aritmética de fechas en un UPDATE.
+        // El filtro sobre la fecha de pedido permite a la BD descartar por índice los pedidos futuros,
+        // ya que el tiempo de preparación nunca es negativo.
+        return em.createNativeQuery("update pedidos p " +
+                        "join articulos a on p.articulo_id = a._id " +
+                        "set p.es_enviado = true " +
+                        "where p.es_enviado = false " +
+                        "and p.fecha_pedido <= current_date " +
+                        "and date_add(p.fecha_pedido, interval a.tiempo_preparacion day) <= current_date")
+                // Indicamos que solo se modifica la tabla de pedidos, así Hibernate no vacía toda la caché de segundo nivel.
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Pedido.class)
+                // Ejecutamos la sentencia.
+                .executeUpdate();
+    }
+
+    // Reservamos un bloque de números de pedido en la tabla de secuencias y devolvemos el último número del bloque.
+    // La actualización bloquea la fila de la secuencia, así que dos instancias de la aplicación nunca reciben
+    // el mismo bloque. Debe ejecutarse dentro de una transacción para que todas las sentencias usen la misma conexión.
+    public long reservarNumerosPedido(int bloque) {
+        // Nos aseguramos de que exista la secuencia.
+        em.createNativeQuery("insert ignore into secuencias (nombre, siguiente) values ('pedidos', 0)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("secuencias")
+                .executeUpdate();
+
+        // Avanzamos la secuencia. Partimos del mayor número de pedido existente si es superior, así respetamos
+        // los pedidos insertados por otras vías (datos de prueba, procedimientos almacenados...).
+        // Guardamos el nuevo valor con last_insert_id() para poder leerlo en la misma conexión sin otra consulta a la tabla.
+        em.createNativeQuery("update secuencias " +
+                        "set siguiente = last_insert_id(greatest(siguiente, " +
+                        "(select coalesce(max(numero_pedido), 0) from pedidos)) + :bloque) " +
+                        "where nombre = 'pedidos'")
+                .setParameter("bloque", bloque)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("secuencias")
+                .executeUpdate();
+
+        // Devolvemos el último número reservado.
+        return ((Number) em.createNativeQuery("select last_insert_id()").getSingleResult()).longValue();
     }
 
     @Override
@@ -100,6 +293,37 @@ public class PedidoRepositorioImpl implements Repositorio<Pedido> {
         }
     }
 
+    // Guardamos una colección de pedidos por lotes. Las altas se insertan por JDBC en lotes del tamaño configurado
+    // y las modificaciones se sincronizan con Hibernate cada lote.
+    public void saveAll(Collection<Pedido> pedidos) {
+        // Separamos las altas de las modificaciones con el mismo criterio que save().
+        Map<Boolean, List<Pedido>> existentes = pedidos.stream()
+                .collect(Collectors.partitioningBy(p -> p.getId() != null && p.getId() > 0));
+
+        InsercionPorLotes.insertar(em,
+                "insert into pedidos (numero_pedido, cliente_id, articulo_id, unidades, fecha_pedido, es_enviado) values (?, ?, ?, ?, ?, ?)",
+                existentes.get(false),
+                (ps, pedido) -> {
+                    ps.setInt(1, pedido.getNumeroPedido());
+                    ps.setLong(2, pedido.getCliente().getId());
+                    ps.setLong(3, pedido.getArticulo().getId());
+                    ps.setInt(4, pedido.getUnidades());
+                    ps.setObject(5, pedido.getFechaPedido());
+                    ps.setBoolean(6, pedido.getEsEnviado());
+                },
+                Pedido::setId);
+
+        InsercionPorLotes.actualizar(em, existentes.get(true), em::merge);
+    }
+
+    // Eliminamos todos los pedidos y devolvemos cuántos se han eliminado.
+    // Lo hacemos con DELETE por bloques y no con TRUNCATE para que se pueda deshacer junto con el resto de la
+    // transacción. No tocamos la secuencia de números de pedido: los números ya entregados no se reutilizan, así que
+    // no chocan con los bloques que tengan reservados esta u otras instancias de la aplicación.
+    public int deleteAll() {
+        return BorradoPorLotes.borrar(em, "pedidos", "1=1", Pedido.class);
+    }
+
     @Override
     public void delete(Long id) {
         // Producto 4 ≥ Manejamos la petición con Entity Manager.
@@ -122,13 +346,21 @@ public class PedidoRepositorioImpl implements Repositorio<Pedido> {
                 .intValue();
     }
 
+    // Comprobamos si hay algún pedido. A diferencia de count(), la BD se detiene en la primera fila que encuentra.
+    public boolean exists() {
+        return !em.createQuery("select p.id from Pedido p", Long.class)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
     @Override
     public Pedido getLast() {
         // Producto 4 ≥ Manejamos la petición con Entity Manager.
         // Creamos la consulta usando lenguaje HQL/JPQL.
         // Obtenemos el último artículo de la BD recibiendo el primer resultado de la consulta
         // ordenada de forma descendente por el id.
-        return em.createQuery("select p from Pedido p order by p.id desc", Pedido.class)
+        return conPerfil(em.createQuery("select p from Pedido p order by p.id desc", Pedido.class), PerfilPedido.TICKET)
                 // retornamos un único valor.
                 .setMaxResults(1)
                 // obtenemos el resultado.
@@ -144,6 +376,11 @@ public class PedidoRepositorioImpl implements Repositorio<Pedido> {
                 .executeUpdate() > 0;
     }
 
+    // Aplicamos el grafo del perfil como fetch graph: se cargan las asociaciones del grafo y el resto quedan LAZY.
+    private TypedQuery<Pedido> conPerfil(TypedQuery<Pedido> query, PerfilPedido perfil) {
+        return query.setHint(GraphSemantic.FETCH.getJpaHintName(), em.getEntityGraph(perfil.grafo()));
+    }
+
      /* Producto 4 ≥ Ya no necesitamos métodos auxiliares para mapear los resultados de las consultas porque lo
     realiza automáticamente el framework. */
 }
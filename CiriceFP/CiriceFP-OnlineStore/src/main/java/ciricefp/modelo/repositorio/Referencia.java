@@ -0,0 +1,50 @@
+package ciricefp.modelo.repositorio;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Referencias entre tablas que impiden eliminar una fila: un cliente o un artículo que aparece en algún pedido y
+ * una dirección que usa algún cliente.
+ * Antes los servicios cargaban todos los pedidos y buscaban el id en Java. Cada referencia comprueba si la fila
+ * está referenciada con una consulta EXISTS sobre la columna de la clave foránea, que tiene índice, así que cuesta
+ * una consulta rápida sea cual sea el tamaño de las tablas.
+ * Para proteger una nueva relación basta con añadir aquí la tabla y la columna que apunta a la fila.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public enum Referencia {
+    PEDIDO_CLIENTE("pedidos", "cliente_id"),
+    PEDIDO_ARTICULO("pedidos", "articulo_id"),
+    CLIENTE_DIRECCION("clientes", "direccion_id");
+
+    // Tabla que contiene la referencia y columna con la clave foránea.
+    private final String tabla;
+    private final String columna;
+    private final String sql;
+
+    Referencia(String tabla, String columna) {
+        this.tabla = tabla;
+        this.columna = columna;
+        // La BD deja de buscar en cuanto encuentra una fila y siempre devuelve un único valor, 0 o 1.
+        this.sql = "select exists (select 1 from " + tabla + " where " + columna + " = :id)";
+    }
+
+    // Comprobamos si alguna fila de la tabla apunta a la fila con el id indicado.
+    public boolean existe(EntityManager em, Long id) {
+        if (id == null) return false;
+
+        return ((Number) em.createNativeQuery(sql)
+                .setParameter("id", id)
+                .getSingleResult()).intValue() == 1;
+    }
+
+    public String getTabla() {
+        return tabla;
+    }
+
+    public String getColumna() {
+        return columna;
+    }
+}
@@ -21,6 +21,14 @@ public interface Repositorio<T> {
     // Los métodos de lectura de todos los objetos de la entidad devolverán una Lista.
     Listas<T> findAll();
 
+    // Los métodos de lectura paginada devolverán solo una porción de la tabla ordenada por el id.
+    // Paginación por offset: saltamos los primeros registros y devolvemos como máximo 'limit' elementos.
+    Listas<T> findPage(int offset, int limit);
+
+    // Paginación por keyset: devolvemos como máximo 'limit' elementos con id mayor que el último visto.
+    // Es más eficiente que el offset en tablas grandes porque aprovecha el índice de la clave primaria.
+    Listas<T> findPageAfter(Long lastId, int limit);
+
     // Los métodos de lectura de un objeto de la entidad devolverán un objeto de la entidad.
     // Buscaremos el objeto por su ID, el identificador único de cada objeto en la BBDD.
     T findById(Long id);
@@ -0,0 +1,14 @@
+package ciricefp.modelo.repositorio.informes;
+
+/**
+ * Resumen de los descuentos en gastos de envío aplicados a los clientes premium: gastos de envío sin descuento
+ * y el importe total descontado.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public record DescuentosPremium(long pedidos,
+                                double gastosEnvio,
+                                double descuento) {
+}
@@ -0,0 +1,124 @@
+package ciricefp.modelo.repositorio.informes;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consultas de los informes de ventas.
+ * Agrupamos y sumamos en la BD con consultas nativas (GROUP BY), así que no cargamos ninguna entidad: cada fila del
+ * resultado es un registro con los totales del grupo y el coste no depende de cuántos pedidos resuma.
+ * Los importes siguen las mismas reglas que Pedido: subtotal = unidades * pvp, y los clientes premium tienen un
+ * descuento sobre los gastos de envío del artículo.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public class ReportImpl implements ReportRepositorio {
+    // Pedidos del intervalo con su artículo. Si el cliente es premium, cp tiene su descuento; si no, es null.
+    private static final String FROM_VENTAS = " from pedidos p"
+            + " join articulos a on a._id = p.articulo_id"
+            + " left join clientes_premium cp on cp.cliente_id = p.cliente_id"
+            + " where p.fecha_pedido between :desde and :hasta";
+
+    // Importes de cada pedido.
+    private static final String SUBTOTAL = "p.unidades * a.pvp";
+    private static final String ENVIO = "(a.gastos_envio - a.gastos_envio * coalesce(cp.descuento, 0))";
+
+    // Totales de cada grupo: pedidos, unidades, subtotal, gastos de envío y total.
+    private static final String TOTALES = "count(*), sum(p.unidades), sum(" + SUBTOTAL + "), sum(" + ENVIO + "), sum("
+            + SUBTOTAL + " + " + ENVIO + ")";
+
+    private final EntityManager em;
+
+    public ReportImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public List<VentasPeriodo> ventasPorDia(LocalDate desde, LocalDate hasta) {
+        return ventasPorPeriodo("%Y-%m-%d", desde, hasta);
+    }
+
+    @Override
+    public List<VentasPeriodo> ventasPorMes(LocalDate desde, LocalDate hasta) {
+        return ventasPorPeriodo("%Y-%m", desde, hasta);
+    }
+
+    // Agrupamos por la fecha del pedido con el formato indicado, el texto resultante ordena igual que la fecha.
+    private List<VentasPeriodo> ventasPorPeriodo(String formato, LocalDate desde, LocalDate hasta) {
+        String periodo = "date_format(p.fecha_pedido, '" + formato + "')";
+        List<Object[]> filas = filas("select " + periodo + ", " + TOTALES + FROM_VENTAS
+                + " group by " + periodo + " order by " + periodo, desde, hasta);
+
+        List<VentasPeriodo> resultado = new ArrayList<>(filas.size());
+        for (Object[] fila : filas) {
+            resultado.add(new VentasPeriodo((String) fila[0], entero(fila[1]), entero(fila[2]),
+                    importe(fila[3]), importe(fila[4]), importe(fila[5])));
+        }
+
+        return resultado;
+    }
+
+    @Override
+    public List<VentasArticulo> ventasPorArticulo(LocalDate desde, LocalDate hasta) {
+        List<Object[]> filas = filas("select a.cod_articulo, a.descripcion, " + TOTALES + FROM_VENTAS
+                + " group by a._id, a.cod_articulo, a.descripcion order by 7 desc", desde, hasta);
+
+        List<VentasArticulo> resultado = new ArrayList<>(filas.size());
+        for (Object[] fila : filas) {
+            resultado.add(new VentasArticulo((String) fila[0], (String) fila[1], entero(fila[2]), entero(fila[3]),
+                    importe(fila[6])));
+        }
+
+        return resultado;
+    }
+
+    @Override
+    public List<VentasTipoCliente> ventasPorTipoCliente(LocalDate desde, LocalDate hasta) {
+        String tipo = "case when cp.cliente_id is null then 'Estandard' else 'Premium' end";
+        List<Object[]> filas = filas("select " + tipo + ", " + TOTALES + FROM_VENTAS
+                + " group by " + tipo + " order by 1", desde, hasta);
+
+        List<VentasTipoCliente> resultado = new ArrayList<>(filas.size());
+        for (Object[] fila : filas) {
+            resultado.add(new VentasTipoCliente((String) fila[0], entero(fila[1]), entero(fila[2]),
+                    importe(fila[5])));
+        }
+
+        return resultado;
+    }
+
+    @Override
+    public DescuentosPremium descuentosPremium(LocalDate desde, LocalDate hasta) {
+        // Sin GROUP BY siempre obtenemos una fila, con sumas null si no hay pedidos premium.
+        List<Object[]> filas = filas("select count(*), sum(a.gastos_envio), sum(a.gastos_envio * cp.descuento)"
+                + FROM_VENTAS + " and cp.cliente_id is not null", desde, hasta);
+        Object[] fila = filas.get(0);
+
+        return new DescuentosPremium(entero(fila[0]), importe(fila[1]), importe(fila[2]));
+    }
+
+    // Ejecutamos la consulta con el intervalo de fechas.
+    @SuppressWarnings("unchecked")
+    private List<Object[]> filas(String sql, LocalDate desde, LocalDate hasta) {
+        Query query = em.createNativeQuery(sql)
+                .setParameter("desde", desde)
+                .setParameter("hasta", hasta);
+
+        return query.getResultList();
+    }
+
+    // El driver devuelve Long, BigInteger o BigDecimal según la columna, los tratamos todos como Number.
+    private static long entero(Object valor) {
+        return valor == null ? 0 : ((Number) valor).longValue();
+    }
+
+    private static double importe(Object valor) {
+        return valor == null ? 0 : ((Number) valor).doubleValue();
+    }
+}
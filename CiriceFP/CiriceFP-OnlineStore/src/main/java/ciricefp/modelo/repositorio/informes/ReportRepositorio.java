@@ -0,0 +1,16 @@
+package ciricefp.modelo.repositorio.informes;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReportRepositorio {
+    List<VentasPeriodo> ventasPorDia(LocalDate desde, LocalDate hasta);
+
+    List<VentasPeriodo> ventasPorMes(LocalDate desde, LocalDate hasta);
+
+    List<VentasArticulo> ventasPorArticulo(LocalDate desde, LocalDate hasta);
+
+    List<VentasTipoCliente> ventasPorTipoCliente(LocalDate desde, LocalDate hasta);
+
+    DescuentosPremium descuentosPremium(LocalDate desde, LocalDate hasta);
+}
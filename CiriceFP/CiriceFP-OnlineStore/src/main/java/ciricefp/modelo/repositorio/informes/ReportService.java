@@ -0,0 +1,30 @@
+package ciricefp.modelo.repositorio.informes;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Informes de ventas calculados en la BD. Todos los métodos reciben el intervalo de fechas de pedido (ambas incluidas).
+ * Si la consulta falla devolvemos una lista vacía o un Optional vacío.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public interface ReportService {
+    // Ventas por día de pedido.
+    List<VentasPeriodo> ventasPorDia(LocalDate desde, LocalDate hasta);
+
+    // Ventas por mes de pedido.
+    List<VentasPeriodo> ventasPorMes(LocalDate desde, LocalDate hasta);
+
+    // Ventas por artículo, ordenadas de mayor a menor importe.
+    List<VentasArticulo> ventasPorArticulo(LocalDate desde, LocalDate hasta);
+
+    // Ventas por tipo de cliente.
+    List<VentasTipoCliente> ventasPorTipoCliente(LocalDate desde, LocalDate hasta);
+
+    // Descuentos en gastos de envío aplicados a los clientes premium.
+    Optional<DescuentosPremium> descuentosPremium(LocalDate desde, LocalDate hasta);
+}
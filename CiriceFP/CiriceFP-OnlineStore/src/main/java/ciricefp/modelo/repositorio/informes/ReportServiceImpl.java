@@ -0,0 +1,71 @@
+package ciricefp.modelo.repositorio.informes;
+
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class ReportServiceImpl implements ReportService {
+    private final ReportRepositorio repositorio;
+
+    public ReportServiceImpl(EntityManager em) {
+        this.repositorio = new ReportImpl(em);
+    }
+
+    @Override
+    public List<VentasPeriodo> ventasPorDia(LocalDate desde, LocalDate hasta) {
+        try {
+            return repositorio.ventasPorDia(desde, hasta);
+        } catch (Exception e) {
+            System.out.println("Error al calcular las ventas por día.");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<VentasPeriodo> ventasPorMes(LocalDate desde, LocalDate hasta) {
+        try {
+            return repositorio.ventasPorMes(desde, hasta);
+        } catch (Exception e) {
+            System.out.println("Error al calcular las ventas por mes.");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<VentasArticulo> ventasPorArticulo(LocalDate desde, LocalDate hasta) {
+        try {
+            return repositorio.ventasPorArticulo(desde, hasta);
+        } catch (Exception e) {
+            System.out.println("Error al calcular las ventas por artículo.");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<VentasTipoCliente> ventasPorTipoCliente(LocalDate desde, LocalDate hasta) {
+        try {
+            return repositorio.ventasPorTipoCliente(desde, hasta);
+        } catch (Exception e) {
+            System.out.println("Error al calcular las ventas por tipo de cliente.");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public Optional<DescuentosPremium> descuentosPremium(LocalDate desde, LocalDate hasta) {
+        try {
+            return Optional.of(repositorio.descuentosPremium(desde, hasta));
+        } catch (Exception e) {
+            System.out.println("Error al calcular los descuentos de los clientes premium.");
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ciricefp.modelo.repositorio.informes;
+
+/**
+ * Ventas agregadas de un artículo.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public record VentasArticulo(String codArticulo,
+                             String descripcion,
+                             long pedidos,
+                             long unidades,
+                             double total) {
+}
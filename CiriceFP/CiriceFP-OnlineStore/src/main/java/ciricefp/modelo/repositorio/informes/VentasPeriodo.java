@@ -0,0 +1,17 @@
+package ciricefp.modelo.repositorio.informes;
+
+/**
+ * Ventas agregadas de un periodo (un día "yyyy-MM-dd" o un mes "yyyy-MM").
+ * Los gastos de envío ya incluyen el descuento de los clientes premium.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public record VentasPeriodo(String periodo,
+                            long pedidos,
+                            long unidades,
+                            double subtotal,
+                            double gastosEnvio,
+                            double total) {
+}
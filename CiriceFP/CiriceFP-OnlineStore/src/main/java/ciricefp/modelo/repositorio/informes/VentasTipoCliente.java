@@ -0,0 +1,14 @@
+package ciricefp.modelo.repositorio.informes;
+
+/**
+ * Ventas agregadas por tipo de cliente ("Estandard" o "Premium").
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public record VentasTipoCliente(String tipoCliente,
+                                long pedidos,
+                                long unidades,
+                                double total) {
+}
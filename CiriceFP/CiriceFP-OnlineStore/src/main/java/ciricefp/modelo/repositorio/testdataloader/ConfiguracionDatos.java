@@ -0,0 +1,46 @@
+package ciricefp.modelo.repositorio.testdataloader;
+
+/**
+ * Parámetros del generador de datos de prueba: cuántas filas crear de cada tipo y cómo repartirlas.
+ * Con la misma configuración y la misma semilla el generador produce siempre los mismos datos, así las medidas
+ * de rendimiento se pueden repetir.
+ *
+ * @param clientes          Número de clientes, cada uno con su dirección.
+ * @param proporcionPremium Parte de los clientes que son premium, entre 0 y 1.
+ * @param articulos         Número de artículos.
+ * @param pedidos           Número de pedidos.
+ * @param dias              Los pedidos se reparten entre hoy y este número de días atrás.
+ * @param semilla           Semilla de los números aleatorios.
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public record ConfiguracionDatos(int clientes, double proporcionPremium, int articulos, int pedidos, int dias,
+                                 long semilla) {
+
+    public ConfiguracionDatos {
+        if (clientes < 1 || articulos < 1) {
+            throw new IllegalArgumentException("Hace falta al menos un cliente y un artículo para generar pedidos.");
+        }
+        if (pedidos < 0) throw new IllegalArgumentException("El número de pedidos no puede ser negativo.");
+        if (proporcionPremium < 0 || proporcionPremium > 1) {
+            throw new IllegalArgumentException("La proporción de clientes premium debe estar entre 0 y 1.");
+        }
+        if (dias < 1) throw new IllegalArgumentException("Los pedidos deben repartirse al menos en un día.");
+    }
+
+    // Configuración con las proporciones habituales de la tienda: un cliente premium de cada cuatro y un año de pedidos.
+    public static ConfiguracionDatos de(int clientes, int articulos, int pedidos) {
+        return new ConfiguracionDatos(clientes, 0.25, articulos, pedidos, 365, 42L);
+    }
+
+    // Misma configuración con otra semilla.
+    public ConfiguracionDatos conSemilla(long semilla) {
+        return new ConfiguracionDatos(clientes, proporcionPremium, articulos, pedidos, dias, semilla);
+    }
+
+    // Total de filas que se insertan: direcciones, clientes, su subtipo, artículos y pedidos.
+    public long filas() {
+        return 3L * clientes + articulos + pedidos;
+    }
+}
@@ -0,0 +1,216 @@
+package ciricefp.modelo.repositorio.testdataloader;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Esta clase genera volúmenes grandes de datos de prueba para medir cómo escala la aplicación.
+ * El procedimiento add_datos_test solo inserta unas pocas filas, aquí creamos las direcciones, los clientes
+ * (estándar y premium), los artículos y los pedidos que indique la configuración, con repartos parecidos a los de
+ * una tienda real:
+ * - Unos pocos artículos y clientes concentran la mayoría de los pedidos.
+ * - Los pedidos son más frecuentes en las fechas recientes y entre semana.
+ * - Casi todos los pedidos son de una o dos unidades.
+ * - Un pedido está enviado si ya ha pasado su tiempo de preparación, igual que al actualizar el estado de envío.
+ * Las filas se insertan por JDBC en lotes y los números aleatorios salen de la semilla de la configuración.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+final class GeneradorDatos {
+    // Letras de control del NIF, según el resto de dividir el número entre 23.
+    private static final String LETRAS_NIF = "TRWAGMYFPDXBNJZSQVHLCKE";
+    private static final String[] CIUDADES = {"Madrid", "Barcelona", "Valencia", "Sevilla", "Zaragoza", "Málaga",
+            "Murcia", "Palma", "Bilbao", "Alicante", "Córdoba", "Valladolid", "Vigo", "Gijón", "Granada"};
+
+    private final ConfiguracionDatos config;
+    private final int tamanoLote;
+    private final Random random;
+    private final LocalDate hoy = LocalDate.now();
+
+    GeneradorDatos(ConfiguracionDatos config, int tamanoLote) {
+        this.config = config;
+        this.tamanoLote = tamanoLote;
+        this.random = new Random(config.semilla());
+    }
+
+    /* Insertamos todos los datos en la conexión recibida, que debe tener una transacción abierta.
+    * Los pedidos se numeran a partir de primerNumeroPedido, el llamador debe haber reservado el bloque.
+    * Devolvemos el número de filas insertadas. */
+    long generar(Connection conn, long primerNumeroPedido) throws SQLException {
+        // Numeramos los nombres, NIF y códigos a partir de los clientes y artículos que ya existen para no repetirlos.
+        long baseClientes = maximo(conn, "clientes");
+        long baseArticulos = maximo(conn, "articulos");
+
+        long[] direcciones = insertarDirecciones(conn, baseClientes);
+        long[] clientes = insertarClientes(conn, direcciones, baseClientes);
+        insertarSubtipos(conn, clientes, baseClientes);
+        // Guardamos también el tiempo de preparación de cada artículo para decidir si el pedido está enviado.
+        int[] preparacion = new int[config.articulos()];
+        long[] articulos = insertarArticulos(conn, preparacion, baseArticulos);
+        insertarPedidos(conn, clientes, articulos, preparacion, primerNumeroPedido);
+
+        return config.filas();
+    }
+
+    private long[] insertarDirecciones(Connection conn, long base) throws SQLException {
+        return insertar(conn, "insert into direcciones (direccion, ciudad, provincia, codigo_postal, pais) values (?, ?, ?, ?, ?)",
+                config.clientes(), (ps, i) -> {
+                    int ciudad = sesgado(CIUDADES.length, 2);
+                    ps.setString(1, "Calle " + (base + i + 1) + ", " + (1 + random.nextInt(150)));
+                    ps.setString(2, CIUDADES[ciudad]);
+                    ps.setString(3, CIUDADES[ciudad]);
+                    ps.setString(4, String.format("%05d", (ciudad + 1) * 1000 + random.nextInt(1000)));
+                    ps.setString(5, "España");
+                });
+    }
+
+    private long[] insertarClientes(Connection conn, long[] direcciones, long base) throws SQLException {
+        return insertar(conn, "insert into clientes (nombre, direccion_id, nif, email) values (?, ?, ?, ?)",
+                config.clientes(), (ps, i) -> {
+                    long numero = base + i + 1;
+                    ps.setString(1, "Cliente " + numero);
+                    ps.setLong(2, direcciones[i]);
+                    ps.setString(3, nif(numero));
+                    ps.setString(4, "cliente" + numero + "@cirice.com");
+                });
+    }
+
+    // Cada cliente es estándar o premium según la proporción configurada.
+    private void insertarSubtipos(Connection conn, long[] clientes, long base) throws SQLException {
+        try (PreparedStatement estandard = conn.prepareStatement("insert into clientes_estandard (cliente_id) values (?)");
+             PreparedStatement premium = conn.prepareStatement("insert into clientes_premium (cliente_id, cuota_anual, descuento, cod_socio) values (?, ?, ?, ?)")) {
+            for (int i = 0; i < clientes.length; i++) {
+                if (random.nextDouble() < config.proporcionPremium()) {
+                    premium.setLong(1, clientes[i]);
+                    // La mayoría de socios tienen la cuota y el descuento por defecto.
+                    boolean especial = random.nextInt(10) == 0;
+                    premium.setDouble(2, especial ? 50 : 30);
+                    premium.setDouble(3, especial ? 0.3 : 0.2);
+                    premium.setString(4, String.format("PREMIUM%07d", base + i + 1));
+                    premium.addBatch();
+                } else {
+                    estandard.setLong(1, clientes[i]);
+                    estandard.addBatch();
+                }
+
+                if ((i + 1) % tamanoLote == 0) {
+                    estandard.executeBatch();
+                    premium.executeBatch();
+                }
+            }
+            estandard.executeBatch();
+            premium.executeBatch();
+        }
+    }
+
+    private long[] insertarArticulos(Connection conn, int[] preparacion, long base) throws SQLException {
+        return insertar(conn, "insert into articulos (cod_articulo, descripcion, pvp, gastos_envio, tiempo_preparacion) values (?, ?, ?, ?, ?)",
+                config.articulos(), (ps, i) -> {
+                    // Precios con distribución log-normal: muchos artículos baratos y unos pocos caros.
+                    double pvp = Math.min(2000, Math.max(1, Math.exp(3 + random.nextGaussian())));
+                    preparacion[i] = sesgado(8, 2);
+                    ps.setString(1, String.format("A%07d", base + i + 1));
+                    ps.setString(2, "Artículo " + (base + i + 1));
+                    ps.setDouble(3, Math.round(pvp * 100) / 100.0);
+                    ps.setDouble(4, Math.round((2 + pvp * 0.05) * 100) / 100.0);
+                    ps.setInt(5, preparacion[i]);
+                });
+    }
+
+    private void insertarPedidos(Connection conn, long[] clientes, long[] articulos, int[] preparacion,
+                                 long primerNumero) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("insert into pedidos (numero_pedido, cliente_id, articulo_id, unidades, fecha_pedido, es_enviado) values (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < config.pedidos(); i++) {
+                int articulo = sesgado(articulos.length, 3);
+                LocalDate fecha = fechaPedido();
+
+                ps.setLong(1, primerNumero + i);
+                ps.setLong(2, clientes[sesgado(clientes.length, 2)]);
+                ps.setLong(3, articulos[articulo]);
+                ps.setInt(4, unidades());
+                ps.setObject(5, fecha);
+                ps.setBoolean(6, !fecha.plusDays(preparacion[articulo]).isAfter(hoy));
+                ps.addBatch();
+
+                if ((i + 1) % tamanoLote == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // Asigna los parámetros de la fila i.
+    @FunctionalInterface
+    private interface Fila {
+        void asignar(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    // Insertamos las filas por lotes y devolvemos los ids generados en el mismo orden.
+    private long[] insertar(Connection conn, String sql, int filas, Fila fila) throws SQLException {
+        long[] ids = new long[filas];
+        int siguiente = 0;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < filas; i++) {
+                fila.asignar(ps, i);
+                ps.addBatch();
+
+                if ((i + 1) % tamanoLote == 0 || i == filas - 1) {
+                    ps.executeBatch();
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        while (rs.next()) ids[siguiente++] = rs.getLong(1);
+                    }
+                }
+            }
+        }
+
+        return ids;
+    }
+
+    private static long maximo(Connection conn, String tabla) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("select coalesce(max(_id), 0) from " + tabla)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /* Repartos */
+
+    // Índice entre 0 y n - 1 donde los primeros son mucho más probables. Con sesgo 1 el reparto es uniforme
+    // y cuanto mayor es el sesgo más se concentra en los primeros.
+    private int sesgado(int n, int sesgo) {
+        return (int) (n * Math.pow(random.nextDouble(), sesgo));
+    }
+
+    // Las fechas recientes son más probables (la tienda crece) y los fines de semana hay menos pedidos.
+    private LocalDate fechaPedido() {
+        LocalDate fecha;
+        do {
+            fecha = hoy.minusDays((long) (config.dias() * (1 - Math.sqrt(random.nextDouble()))));
+        } while (fecha.getDayOfWeek().compareTo(DayOfWeek.SATURDAY) >= 0 && random.nextInt(10) < 4);
+
+        return fecha;
+    }
+
+    // Reparto geométrico: la mitad de los pedidos son de una unidad, un cuarto de dos... hasta 20 como mucho.
+    private int unidades() {
+        int unidades = 1;
+        while (unidades < 20 && random.nextBoolean()) unidades++;
+
+        return unidades;
+    }
+
+    // NIF con la letra de control correcta.
+    private static String nif(long numero) {
+        long dni = 10_000_000 + numero;
+        return dni + String.valueOf(LETRAS_NIF.charAt((int) (dni % 23)));
+    }
+}
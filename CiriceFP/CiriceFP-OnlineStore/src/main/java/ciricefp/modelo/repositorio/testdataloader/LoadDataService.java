@@ -4,4 +4,6 @@ public interface LoadDataService {
     int loadData();
 
     boolean checkData();
+
+    long generateData(ConfiguracionDatos config);
 }
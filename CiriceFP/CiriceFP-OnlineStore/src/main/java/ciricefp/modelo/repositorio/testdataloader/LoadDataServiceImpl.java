@@ -1,8 +1,15 @@
 package ciricefp.modelo.repositorio.testdataloader;
 
+import ciricefp.modelo.repositorio.PedidoRepositorioImpl;
+import ciricefp.modelo.services.FiltroBloom;
 import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 
 public class LoadDataServiceImpl implements LoadDataService {
+    // Filas por lote en la generación de datos, con volúmenes grandes compensa enviar lotes más grandes que los de Hibernate.
+    private static final int LOTE_GENERADOR = 1000;
+
     private final EntityManager em;
     private final LoadDataRepositorio repositorio;
 
@@ -17,6 +24,10 @@ public class LoadDataServiceImpl implements LoadDataService {
             em.getTransaction().begin();
             int result = repositorio.loadData();
             em.getTransaction().commit();
+
+            // El procedimiento inserta clientes y artículos sin pasar por los servicios.
+            FiltroBloom.NIFS.invalidar();
+            FiltroBloom.DESCRIPCIONES.invalidar();
             return result;
 
         } catch (Exception e){
@@ -27,6 +38,39 @@ public class LoadDataServiceImpl implements LoadDataService {
         }
     }
 
+    // Generamos datos sintéticos con el volumen indicado en una sola transacción y devolvemos las filas insertadas,
+    // o -1 si algo falla y se deshace la carga.
+    @Override
+    public long generateData(ConfiguracionDatos config) {
+        try {
+            em.getTransaction().begin();
+
+            // Reservamos los números de pedido igual que al crear pedidos, así no coinciden con los existentes.
+            long primerNumero = 1;
+            if (config.pedidos() > 0) {
+                primerNumero = new PedidoRepositorioImpl(em).reservarNumerosPedido(config.pedidos()) - config.pedidos() + 1;
+            }
+
+            long inicio = primerNumero;
+            GeneradorDatos generador = new GeneradorDatos(config, LOTE_GENERADOR);
+            long filas = em.unwrap(Session.class).doReturningWork(conn -> generador.generar(conn, inicio));
+
+            em.getTransaction().commit();
+
+            // Las filas no pasan por Hibernate ni por los servicios, invalidamos la caché de consultas y los filtros.
+            em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            FiltroBloom.NIFS.invalidar();
+            FiltroBloom.DESCRIPCIONES.invalidar();
+            return filas;
+
+        } catch (Exception e){
+            System.out.println("Error al generar los datos de prueba.");
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
     @Override
     public boolean checkData() {
         try {
@@ -1,16 +1,17 @@
 package ciricefp.modelo.services;
 
 import ciricefp.modelo.Articulo;
-import ciricefp.modelo.Pedido;
 import ciricefp.modelo.listas.Listas;
 import ciricefp.modelo.repositorio.ArticuloRepositorioImpl;
-import ciricefp.modelo.repositorio.PedidoRepositorioImpl;
-import ciricefp.modelo.repositorio.Repositorio;
+import ciricefp.modelo.repositorio.Referencia;
 import ciricefp.modelo.services.interfaces.ArticuloService;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.NoResultException;
 import org.jetbrains.annotations.NotNull;
 
 import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,7 +28,8 @@ public class ArticuloServiceImpl implements ArticuloService {
     // Necesitamos acceso al entity manejar para poder manejar las transacciones con la BBDD.
     private final EntityManager em;
     // Creamos el repositorio para poder realizar el manejo de los datos y le pasamos el entity manager.
-    private final Repositorio<Articulo> repositorio;
+    // Usamos la implementación concreta para acceder también a la carga por lotes.
+    private final ArticuloRepositorioImpl repositorio;
 
     // Constructor
     public ArticuloServiceImpl(EntityManager em) {
@@ -49,6 +51,30 @@ public class ArticuloServiceImpl implements ArticuloService {
         }
     }
 
+    @Override
+    public Listas<Articulo> findPage(int offset, int limit) {
+        // Listar una página es un método GET, no requiere transacción.
+        try {
+            return repositorio.findPage(offset, limit);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al obtener la página de artículos desde la posición {0}", offset));
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
+    @Override
+    public Listas<Articulo> findPageAfter(Long lastId, int limit) {
+        // Listar una página es un método GET, no requiere transacción.
+        try {
+            return repositorio.findPageAfter(lastId, limit);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al obtener la página de artículos a partir del id {0}", lastId));
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
     @Override
     public Optional<Articulo> findById(Long id) {
         // Como es un método GET, no requieren transacción.
@@ -60,12 +86,49 @@ public class ArticuloServiceImpl implements ArticuloService {
     public Optional<Articulo> findOne(@NotNull  String key) {
         // Los métodos GET no necesitan transacción, pero en este caso, hay que manejar el retorno opcional.
         // Manejamos la excepción directamente con Optional.
-        return Optional.ofNullable(repositorio.findOne(key));
+        // Buscamos primero en la caché de búsquedas por código.
+        return CacheBusqueda.ARTICULOS.get(key, codigo -> {
+            try {
+                return Optional.ofNullable(repositorio.findOne(codigo));
+            } catch (NoResultException e) {
+                // Si no existe devolvemos un Optional vacío, no lo guardamos en la caché.
+                return Optional.empty();
+            }
+        });
+    }
+
+    @Override
+    public boolean existsByDescripcion(@NotNull String descripcion) {
+        // Consultamos primero el filtro en memoria: si la clave no puede estar, no hace falta ir a la BD.
+        try {
+            if (!FiltroBloom.DESCRIPCIONES.puedeContener(descripcion, repositorio::findAllDescripciones)) return false;
+
+            return repositorio.existsByDescripcion(descripcion);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al comprobar si existe la descripción {0}", descripcion));
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public List<String> findAllCodigos() {
+        try {
+            return repositorio.findAllCodigos();
+        } catch (Exception e) {
+            System.out.println("Error al obtener los códigos de los artículos.");
+            e.printStackTrace();
+            return List.of();
+        }
     }
 
     @Override
     public boolean save(@NotNull Articulo articulo) {
         // Los métodos de escritura requieren transacción.
+        // Quitamos el artículo de la caché de búsquedas, tanto si se guarda como si no.
+        CacheBusqueda.ARTICULOS.invalidarId(articulo.getId());
+        CacheBusqueda.ARTICULOS.invalidar(articulo.getCodArticulo());
+
         // Creamos la consulta.
         try {
             // Iniciamos la transacción
@@ -77,6 +140,9 @@ public class ArticuloServiceImpl implements ArticuloService {
             // Salvamos los cambios mediante el commit
             em.getTransaction().commit();
 
+            // Añadimos la clave al filtro de comprobación de existencia.
+            FiltroBloom.DESCRIPCIONES.agregar(articulo.getDescripcion());
+
             return true;
         } catch (Exception e) {
             System.out.println(MessageFormat.format("Error al guardar el artículo {0}", articulo.getDescripcion()));
@@ -90,20 +156,81 @@ public class ArticuloServiceImpl implements ArticuloService {
         }
     }
 
+    @Override
+    public boolean saveAll(Collection<Articulo> articulos) {
+        // La carga masiva se hace en una única transacción, el repositorio se encarga de enviarla por lotes.
+        // Vaciamos la caché de búsquedas, el contexto se limpia al terminar la carga.
+        CacheBusqueda.ARTICULOS.invalidarTodo();
+
+        try {
+            // Iniciamos la transacción
+            em.getTransaction().begin();
+
+            // Guardamos los artículos
+            repositorio.saveAll(articulos);
+
+            // Hacemos commit
+            em.getTransaction().commit();
+
+            // Añadimos las claves al filtro de comprobación de existencia.
+            articulos.forEach(a -> FiltroBloom.DESCRIPCIONES.agregar(a.getDescripcion()));
+
+            // Los lotes ya enviados no tienen que seguir en el contexto de persistencia.
+            em.clear();
+
+            // Devolvemos true
+            return true;
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al guardar los artículos, se deshace la carga de {0} elementos", articulos.size()));
+
+            // Hacemos rollback
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+
+            e.printStackTrace();
+
+            // Devolvemos false
+            return false;
+        }
+    }
+
+    @Override
+    public int clear() {
+        // Vaciamos la tabla con sentencias en bloque dentro de una única transacción, sin cargar las entidades.
+        try {
+            // Iniciamos la transacción
+            em.getTransaction().begin();
+
+            // Eliminamos los artículos sin pedidos
+            int eliminados = repositorio.deleteSinPedidos();
+
+            // Hacemos commit
+            em.getTransaction().commit();
+
+            // Las sentencias se ejecutan directamente en la BD, así que limpiamos el contexto de persistencia y la caché de búsquedas.
+            CacheBusqueda.ARTICULOS.invalidarTodo();
+            FiltroBloom.DESCRIPCIONES.invalidar();
+            em.clear();
+
+            // Devolvemos el número de artículos eliminados
+            return eliminados;
+        } catch (Exception e) {
+            System.out.println("Error al vaciar la tabla de artículos.");
+
+            // Hacemos rollback
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+
+            e.printStackTrace();
+
+            // Devolvemos -1
+            return -1;
+        }
+    }
+
     @Override
     public boolean delete(Long id) {
         // Si el artículo aparece en algún pedido, no podrá borrarse.
-        // Creamos un repositorio para buscar los pedidos.
-        Repositorio<Pedido> repoPedidos = new PedidoRepositorioImpl(em);
-
-        // Comprobamos si el artículo aparece en algún pedido: La función podría escribirse en una
-        // única línea, pero la expandimos para explicarla.
-        // Obtenemos la lista de pedidos.
-        if (repoPedidos.findAll().getLista()
-                // La convertimos en un stream.
-                .stream()
-                // Comprobamos si el artículo aparece en algún pedido a través de su Id.
-                .anyMatch(p -> p.getArticulo().getId().equals(id))) {
+        // Lo comprobamos con una consulta sobre la clave foránea en lugar de cargar todos los pedidos.
+        if (Referencia.PEDIDO_ARTICULO.existe(em, id)) {
             System.out.println(MessageFormat.format("No es posible eliminar el artículo con id {0} porque aparece en algún pedido.", id));
             return false;
         }
@@ -114,8 +241,9 @@ public class ArticuloServiceImpl implements ArticuloService {
             // Como es una acción de escritura, iniciamos una transacción.
             em.getTransaction().begin();
 
-            // Eliminamos el artículo.
+            // Eliminamos el artículo y lo quitamos de la caché de búsquedas.
             repositorio.delete(id);
+            CacheBusqueda.ARTICULOS.invalidarId(id);
 
             // Retrocedemos el contador de artículos.
             Articulo.retrocederContador();
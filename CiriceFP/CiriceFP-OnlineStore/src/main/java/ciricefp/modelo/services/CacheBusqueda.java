@@ -0,0 +1,141 @@
+package ciricefp.modelo.services;
+
+import ciricefp.modelo.Articulo;
+import ciricefp.modelo.Cliente;
+
+import java.text.MessageFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caché en memoria de las búsquedas por clave de negocio: artículos por código y clientes por NIF.
+ * Al crear un pedido buscamos el cliente y el artículo, y las vistas repiten la búsqueda del artículo hasta que el
+ * código es válido. Con esta caché las búsquedas repetidas no llegan a Hibernate ni a la BD.
+ * Tiene un tamaño máximo y, al llenarse, descarta la entrada usada hace más tiempo (LRU). Solo guardamos los
+ * resultados encontrados, un código que no existe se vuelve a consultar cada vez.
+ * Los servicios invalidan las entradas al guardar o eliminar, así nunca devolvemos una entidad desactualizada.
+ *
+ * @param <K> Tipo de la clave de búsqueda.
+ * @param <V> Tipo de la entidad guardada.
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public final class CacheBusqueda<K, V> {
+    // Cachés compartidas por todos los servicios, que se crean en cada llamada.
+    public static final CacheBusqueda<String, Articulo> ARTICULOS = new CacheBusqueda<>("Artículos por código", 256, Articulo::getId);
+    public static final CacheBusqueda<String, Cliente> CLIENTES = new CacheBusqueda<>("Clientes por NIF", 1024, Cliente::getId);
+
+    private final String nombre;
+    // Obtiene el id de la entidad, lo usamos para invalidar cuando solo conocemos el id.
+    private final Function<V, Long> id;
+    private int capacidad;
+
+    // Con el orden de acceso, el primer elemento del mapa es siempre el usado hace más tiempo.
+    private final LinkedHashMap<K, V> entradas = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() <= capacidad) return false;
+            descartes++;
+            return true;
+        }
+    };
+
+    // Métricas para dimensionar la caché.
+    private long aciertos = 0;
+    private long fallos = 0;
+    private long descartes = 0;
+
+    CacheBusqueda(String nombre, int capacidad, Function<V, Long> id) {
+        this.nombre = nombre;
+        this.capacidad = capacidad;
+        this.id = id;
+    }
+
+    /* Devolvemos la entidad de la clave. Si no está en la caché la buscamos con la función recibida y guardamos el
+    * resultado si existe. Las excepciones de la búsqueda llegan tal cual al servicio.
+    * Sincronizamos los métodos porque las cachés son compartidas. */
+    synchronized Optional<V> get(K clave, Function<K, Optional<V>> buscar) {
+        V valor = entradas.get(clave);
+        if (valor != null) {
+            aciertos++;
+            return Optional.of(valor);
+        }
+
+        fallos++;
+        Optional<V> encontrado = buscar.apply(clave);
+        encontrado.ifPresent(v -> entradas.put(clave, v));
+
+        return encontrado;
+    }
+
+    // Eliminamos la entrada de la clave.
+    synchronized void invalidar(K clave) {
+        if (clave != null) entradas.remove(clave);
+    }
+
+    // Eliminamos las entradas de la entidad con el id indicado, por si su clave ha cambiado.
+    synchronized void invalidarId(Long idEntidad) {
+        if (idEntidad != null) entradas.values().removeIf(v -> idEntidad.equals(id.apply(v)));
+    }
+
+    // Vaciamos la caché, por ejemplo después de una carga masiva.
+    public synchronized void invalidarTodo() {
+        entradas.clear();
+    }
+
+    /* Métricas */
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    public synchronized long getFallos() {
+        return fallos;
+    }
+
+    public synchronized long getDescartes() {
+        return descartes;
+    }
+
+    public synchronized int size() {
+        return entradas.size();
+    }
+
+    // Proporción de búsquedas resueltas desde la caché, entre 0 y 1.
+    public synchronized double getTasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+
+    public synchronized int getCapacidad() {
+        return capacidad;
+    }
+
+    // Si la tasa de aciertos es baja y hay muchos descartes, conviene aumentar la capacidad.
+    public synchronized void setCapacidad(int capacidad) {
+        if (capacidad < 1) throw new IllegalArgumentException("La capacidad de la caché debe ser mayor que 0");
+        this.capacidad = capacidad;
+
+        // Si la reducimos, descartamos las entradas más antiguas que sobran.
+        var iterador = entradas.keySet().iterator();
+        while (entradas.size() > capacidad && iterador.hasNext()) {
+            iterador.next();
+            iterador.remove();
+            descartes++;
+        }
+    }
+
+    public synchronized void resetEstadisticas() {
+        aciertos = 0;
+        fallos = 0;
+        descartes = 0;
+    }
+
+    // Resumimos el estado de la caché.
+    public synchronized String getEstadisticas() {
+        return MessageFormat.format("{0}: {1} aciertos, {2} fallos ({3,number,percent} de aciertos), {4} descartes, {5}/{6} elementos",
+                nombre, aciertos, fallos, getTasaAciertos(), descartes, entradas.size(), capacidad);
+    }
+}
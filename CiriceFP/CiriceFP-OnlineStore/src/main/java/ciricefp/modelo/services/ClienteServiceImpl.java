@@ -1,16 +1,17 @@
 package ciricefp.modelo.services;
 
 import ciricefp.modelo.Cliente;
-import ciricefp.modelo.Pedido;
 import ciricefp.modelo.listas.Listas;
 import ciricefp.modelo.repositorio.ClienteRepositorioImpl;
-import ciricefp.modelo.repositorio.PedidoRepositorioImpl;
-import ciricefp.modelo.repositorio.Repositorio;
+import ciricefp.modelo.repositorio.Referencia;
 import ciricefp.modelo.services.interfaces.ClienteService;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.NoResultException;
 import org.jetbrains.annotations.NotNull;
 
 import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public class ClienteServiceImpl implements ClienteService {
@@ -18,7 +19,8 @@ public class ClienteServiceImpl implements ClienteService {
     // Necesitamos acceso al entity manejar para poder manejar las transacciones con la BBDD.
     private final EntityManager em;
     // Creamos el repositorio para poder realizar el manejo de los datos y le pasamos el entity manager.
-    private final Repositorio<Cliente> repositorio;
+    // Usamos la implementación concreta para acceder también a la carga por lotes.
+    private final ClienteRepositorioImpl repositorio;
 
     // Constructor
     public ClienteServiceImpl(EntityManager em) {
@@ -40,6 +42,30 @@ public class ClienteServiceImpl implements ClienteService {
         }
     }
 
+    @Override
+    public Listas<Cliente> findPage(int offset, int limit) {
+        // Listar una página es un método GET, no requiere transacción.
+        try {
+            return repositorio.findPage(offset, limit);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al obtener la página de clientes desde la posición {0}", offset));
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
+    @Override
+    public Listas<Cliente> findPageAfter(Long lastId, int limit) {
+        // Listar una página es un método GET, no requiere transacción.
+        try {
+            return repositorio.findPageAfter(lastId, limit);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al obtener la página de clientes a partir del id {0}", lastId));
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
     @Override
     public Optional<Cliente> findById(Long id) {
         // Como es un método GET, no requieren transacción.
@@ -51,12 +77,49 @@ public class ClienteServiceImpl implements ClienteService {
     public Optional<Cliente> findOne(@NotNull String key) {
         // Como es un método GET, no requieren transacción.
         // Manejamos la excepción con Optional.
-        return Optional.ofNullable(repositorio.findOne(key));
+        // Buscamos primero en la caché de búsquedas por NIF.
+        return CacheBusqueda.CLIENTES.get(key, nif -> {
+            try {
+                return Optional.ofNullable(repositorio.findOne(nif));
+            } catch (NoResultException e) {
+                // Si no existe devolvemos un Optional vacío, no lo guardamos en la caché.
+                return Optional.empty();
+            }
+        });
+    }
+
+    @Override
+    public boolean existsByNif(@NotNull String nif) {
+        // Consultamos primero el filtro en memoria: si la clave no puede estar, no hace falta ir a la BD.
+        try {
+            if (!FiltroBloom.NIFS.puedeContener(nif, repositorio::findAllNifs)) return false;
+
+            return repositorio.existsByNif(nif);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al comprobar si existe el NIF {0}", nif));
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public List<String> findAllCodigosSocio() {
+        try {
+            return repositorio.findAllCodigosSocio();
+        } catch (Exception e) {
+            System.out.println("Error al obtener los códigos de socio.");
+            e.printStackTrace();
+            return List.of();
+        }
     }
 
     @Override
     public boolean save(@NotNull Cliente cliente) {
         // Como es un método de escritura POST, requiere transacción.
+        // Quitamos el cliente de la caché de búsquedas, tanto si se guarda como si no.
+        CacheBusqueda.CLIENTES.invalidarId(cliente.getId());
+        CacheBusqueda.CLIENTES.invalidar(cliente.getNif());
+
         // Creamos la consulta
         try {
             // Iniciamos la transacción.
@@ -68,6 +131,9 @@ public class ClienteServiceImpl implements ClienteService {
             // Hacemos commit
             em.getTransaction().commit();
 
+            // Añadimos la clave al filtro de comprobación de existencia.
+            FiltroBloom.NIFS.agregar(cliente.getNif());
+
             // Si la operación ha ido bien, devolvemos true
             return true;
         } catch (Exception e) {
@@ -83,15 +149,81 @@ public class ClienteServiceImpl implements ClienteService {
         }
     }
 
+    @Override
+    public boolean saveAll(Collection<Cliente> clientes) {
+        // La carga masiva se hace en una única transacción, el repositorio se encarga de enviarla por lotes.
+        // Vaciamos la caché de búsquedas, el contexto se limpia al terminar la carga.
+        CacheBusqueda.CLIENTES.invalidarTodo();
+
+        try {
+            // Iniciamos la transacción
+            em.getTransaction().begin();
+
+            // Guardamos los clientes
+            repositorio.saveAll(clientes);
+
+            // Hacemos commit
+            em.getTransaction().commit();
+
+            // Añadimos las claves al filtro de comprobación de existencia.
+            clientes.forEach(c -> FiltroBloom.NIFS.agregar(c.getNif()));
+
+            // Los lotes ya enviados no tienen que seguir en el contexto de persistencia.
+            em.clear();
+
+            // Devolvemos true
+            return true;
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al guardar los clientes, se deshace la carga de {0} elementos", clientes.size()));
+
+            // Hacemos rollback
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+
+            e.printStackTrace();
+
+            // Devolvemos false
+            return false;
+        }
+    }
+
+    @Override
+    public int clear() {
+        // Vaciamos la tabla con sentencias en bloque dentro de una única transacción, sin cargar las entidades.
+        try {
+            // Iniciamos la transacción
+            em.getTransaction().begin();
+
+            // Eliminamos los clientes sin pedidos
+            int eliminados = repositorio.deleteSinPedidos();
+
+            // Hacemos commit
+            em.getTransaction().commit();
+
+            // Las sentencias se ejecutan directamente en la BD, así que limpiamos el contexto de persistencia y la caché de búsquedas.
+            CacheBusqueda.CLIENTES.invalidarTodo();
+            FiltroBloom.NIFS.invalidar();
+            em.clear();
+
+            // Devolvemos el número de clientes eliminados
+            return eliminados;
+        } catch (Exception e) {
+            System.out.println("Error al vaciar la tabla de clientes.");
+
+            // Hacemos rollback
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+
+            e.printStackTrace();
+
+            // Devolvemos -1
+            return -1;
+        }
+    }
+
     @Override
     public boolean delete(Long id) {
         // Si el cliente aparece en algún pedido, no se podrá eliminar.
-        // Creamos el repositorio para consultar los pedidos
-        Repositorio<Pedido> pedidoRepo = new PedidoRepositorioImpl(em);
-
-        if (pedidoRepo.findAll().getLista().stream()
-                .anyMatch(ped -> ped.getCliente().getId().equals(id)) ||
-                findById(id).isEmpty()) {
+        // Lo comprobamos con una consulta sobre la clave foránea en lugar de cargar todos los pedidos.
+        if (Referencia.PEDIDO_CLIENTE.existe(em, id) || findById(id).isEmpty()) {
             System.out.println("No se puede eliminar el cliente porque está asociado a un pedido o no existe.");
             return false;
         }
@@ -102,8 +234,9 @@ public class ClienteServiceImpl implements ClienteService {
             // Iniciamos la transacción.
             em.getTransaction().begin();
 
-            // Eliminamos el cliente
+            // Eliminamos el cliente y lo quitamos de la caché de búsquedas
             repositorio.delete(id);
+            CacheBusqueda.CLIENTES.invalidarId(id);
 
             // Hacemos commit
             em.getTransaction().commit();
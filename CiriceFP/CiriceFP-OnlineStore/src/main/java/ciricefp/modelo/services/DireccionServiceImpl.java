@@ -3,6 +3,7 @@ package ciricefp.modelo.services;
 import ciricefp.modelo.Direccion;
 import ciricefp.modelo.listas.Listas;
 import ciricefp.modelo.repositorio.DireccionRepositorioImpl;
+import ciricefp.modelo.repositorio.Referencia;
 import ciricefp.modelo.repositorio.Repositorio;
 import ciricefp.modelo.services.interfaces.DireccionService;
 import jakarta.persistence.EntityManager;
@@ -48,6 +49,30 @@ public class DireccionServiceImpl implements DireccionService {
         }
     }
 
+    @Override
+    public Listas<Direccion> findPage(int offset, int limit) {
+        // Listar una página es un método GET, no requiere transacción.
+        try {
+            return repositorio.findPage(offset, limit);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al obtener la página de direcciones desde la posición {0}", offset));
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
+    @Override
+    public Listas<Direccion> findPageAfter(Long lastId, int limit) {
+        // Listar una página es un método GET, no requiere transacción.
+        try {
+            return repositorio.findPageAfter(lastId, limit);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al obtener la página de direcciones a partir del id {0}", lastId));
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
     @Override
     public Optional<Direccion> findById(Long id) {
         // Como es un método GET, no requieren transacción.
@@ -90,6 +115,12 @@ public class DireccionServiceImpl implements DireccionService {
 
     @Override
     public boolean delete(Long id) {
+        // Si algún cliente usa la dirección, no se podrá eliminar.
+        if (Referencia.CLIENTE_DIRECCION.existe(em, id)) {
+            System.out.println(MessageFormat.format("No es posible eliminar la dirección con id {0} porque la usa algún cliente.", id));
+            return false;
+        }
+
         // Llamamos al método del DAO, en este caso queremos eliminar una dirección por su Id.
         // Para ello usaremos el método remove() de la clase EntityManager.
         try {
@@ -0,0 +1,151 @@
+package ciricefp.modelo.services;
+
+import ciricefp.modelo.interfaces.HashCode;
+
+import java.text.MessageFormat;
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.function.Supplier;
+
+/**
+ * Filtro de Bloom con las claves que existen en la BD: NIF de clientes y descripciones de artículos.
+ * Al crear un cliente o un artículo comprobamos que no exista otro con la misma clave, y casi siempre la respuesta es
+ * que no. El filtro responde en memoria: si dice que la clave no está, seguro que no existe y no consultamos la BD;
+ * si dice que puede estar, lo confirmamos con la consulta indexada. Con el tamaño que calculamos, como mucho un 1%
+ * de las claves nuevas pasan por la BD sin necesidad.
+ * Se carga la primera vez que se usa con las claves de la tabla y los servicios le añaden las claves que guardan.
+ * Un filtro de Bloom no permite quitar claves, así que las eliminadas siguen dando "puede estar" hasta que se
+ * recarga. Lo recargamos al superar su capacidad, al invalidarlo (cargas que no pasan por los servicios) y cada
+ * cierto tiempo, para recoger las altas que hagan otras instancias de la aplicación sobre la misma BD.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public final class FiltroBloom {
+    // Filtros compartidos por todos los servicios, que se crean en cada llamada.
+    public static final FiltroBloom NIFS = new FiltroBloom("NIF de clientes");
+    public static final FiltroBloom DESCRIPCIONES = new FiltroBloom("Descripciones de artículos");
+
+    // Probabilidad de falso positivo con la que dimensionamos el filtro.
+    private static final double FALSOS_POSITIVOS = 0.01;
+    // Capacidad mínima, para no recargar enseguida con tablas pequeñas.
+    private static final int CAPACIDAD_MINIMA = 1024;
+    // Tiempo que damos por buenas las claves cargadas.
+    private static final long VIGENCIA_MS = 300_000;
+    // Marcas de acentos que quedan al descomponer los caracteres.
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}");
+
+    private final String nombre;
+
+    // Bits del filtro, null mientras no se haya cargado.
+    private long[] bits;
+    private int numBits;
+    private int numHashes;
+    // Claves añadidas y número máximo con el que se mantiene la probabilidad de falso positivo.
+    private int claves;
+    private int capacidad;
+    private long cargado;
+
+    // Métricas para comprobar que el filtro evita consultas.
+    private long descartadas = 0;
+    private long posibles = 0;
+    private long cargas = 0;
+
+    FiltroBloom(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /* Comprobamos si la clave puede estar en la BD. Si el filtro no está cargado o está caducado, lo cargamos
+    * con las claves que devuelve la función recibida. Un false es seguro, un true hay que confirmarlo en la BD.
+    * Sincronizamos los métodos porque los filtros son compartidos. */
+    synchronized boolean puedeContener(String clave, Supplier<Collection<String>> cargar) {
+        if (bits == null || claves > capacidad || System.currentTimeMillis() - cargado > VIGENCIA_MS) {
+            cargar(cargar.get());
+        }
+
+        boolean puede = contiene(clave);
+        if (puede) posibles++;
+        else descartadas++;
+
+        return puede;
+    }
+
+    // Añadimos la clave de una entidad guardada. Si el filtro no está cargado no hace falta, se cargará de la BD.
+    synchronized void agregar(String clave) {
+        if (bits == null || clave == null) return;
+
+        long hash = hash(clave);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = posicion(hash, i);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        claves++;
+    }
+
+    // Descartamos el filtro para que se vuelva a cargar, por ejemplo después de una carga masiva por JDBC.
+    public synchronized void invalidar() {
+        bits = null;
+    }
+
+    // Creamos el filtro con el tamaño necesario para las claves recibidas y el doble de margen para las altas.
+    private void cargar(Collection<String> existentes) {
+        capacidad = Math.max(CAPACIDAD_MINIMA, existentes.size() * 2);
+        // Fórmulas habituales del filtro de Bloom: m = -n ln p / (ln 2)^2 y k = m / n ln 2.
+        numBits = (int) Math.ceil(-capacidad * Math.log(FALSOS_POSITIVOS) / (Math.log(2) * Math.log(2)));
+        numHashes = Math.max(1, (int) Math.round((double) numBits / capacidad * Math.log(2)));
+        bits = new long[(numBits + 63) / 64];
+        claves = 0;
+        cargado = System.currentTimeMillis();
+        cargas++;
+
+        existentes.forEach(this::agregar);
+    }
+
+    private boolean contiene(String clave) {
+        if (clave == null) return false;
+
+        long hash = hash(clave);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = posicion(hash, i);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    // Obtenemos las k posiciones combinando las dos mitades de un único hash de 64 bits (doble hashing).
+    private int posicion(long hash, int i) {
+        int combinado = (int) hash + i * (int) (hash >>> 32);
+        return (combinado & Integer.MAX_VALUE) % numBits;
+    }
+
+    // Usamos el hash de 64 bits de HashCode, que reparte bien los bits de las dos mitades.
+    // La BD compara sin distinguir mayúsculas ni acentos y sin los espacios finales, así que normalizamos la clave
+    // igual: si no, el filtro descartaría claves que para la BD sí existen.
+    private static long hash(String clave) {
+        return HashCode.hash64(ACENTOS.matcher(Normalizer.normalize(clave.strip().toLowerCase(Locale.ROOT), Normalizer.Form.NFD)).replaceAll(""));
+    }
+
+    /* Métricas */
+    public synchronized long getDescartadas() {
+        return descartadas;
+    }
+
+    public synchronized long getPosibles() {
+        return posibles;
+    }
+
+    public synchronized void resetEstadisticas() {
+        descartadas = 0;
+        posibles = 0;
+        cargas = 0;
+    }
+
+    // Resumimos el estado del filtro.
+    public synchronized String getEstadisticas() {
+        return MessageFormat.format("{0}: {1} comprobaciones resueltas en memoria, {2} consultadas en la BD, {3} cargas, {4}/{5} claves",
+                nombre, descartadas, posibles, cargas, claves, capacidad);
+    }
+}
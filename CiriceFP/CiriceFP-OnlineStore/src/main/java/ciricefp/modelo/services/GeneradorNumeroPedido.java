@@ -0,0 +1,56 @@
+package ciricefp.modelo.services;
+
+import java.util.Optional;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Generador de números de pedido por bloques (patrón hi/lo).
+ * Reservamos en la BD un bloque de números de una sola vez y los vamos entregando desde memoria, así crear un pedido
+ * no necesita consultar el último pedido de la tabla. Como la reserva se hace en la BD, varias instancias de la
+ * aplicación nunca reciben el mismo número.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public final class GeneradorNumeroPedido {
+    // Cantidad de números que reservamos en cada viaje a la BD.
+    private static int tamanoBloque = 50;
+    // Siguiente número a entregar y último número del bloque reservado.
+    private static long siguiente = 1;
+    private static long limite = 0;
+
+    private GeneradorNumeroPedido() { }
+
+    // Entregamos el siguiente número. Si el bloque se ha agotado reservamos uno nuevo con la función recibida, que
+    // recibe el tamaño del bloque y devuelve el último número reservado (o un valor <= 0 si no se ha podido reservar).
+    // Sincronizamos el método para que dos hilos no entreguen el mismo número.
+    static synchronized Optional<Integer> siguiente(IntToLongFunction reservarBloque) {
+        if (siguiente > limite) {
+            long ultimo = reservarBloque.applyAsLong(tamanoBloque);
+            if (ultimo <= 0) return Optional.empty();
+
+            siguiente = ultimo - tamanoBloque + 1;
+            limite = ultimo;
+        }
+
+        return Optional.of((int) siguiente++);
+    }
+
+    // Descartamos los números que quedan en memoria, el siguiente pedido reservará un bloque nuevo.
+    public static synchronized void reset() {
+        siguiente = 1;
+        limite = 0;
+    }
+
+    public static synchronized int getTamanoBloque() {
+        return tamanoBloque;
+    }
+
+    // Bloques más grandes implican menos viajes a la BD, pero dejan más huecos en la numeración al cerrar la aplicación.
+    public static synchronized void setTamanoBloque(int tamanoBloque) {
+        if (tamanoBloque < 1) throw new IllegalArgumentException("El tamaño del bloque debe ser mayor que 0");
+        GeneradorNumeroPedido.tamanoBloque = tamanoBloque;
+        reset();
+    }
+}
@@ -1,14 +1,26 @@
 package ciricefp.modelo.services;
 
 import ciricefp.modelo.Pedido;
+import ciricefp.modelo.PedidoResumen;
 import ciricefp.modelo.listas.Listas;
 import ciricefp.modelo.repositorio.PedidoRepositorioImpl;
-import ciricefp.modelo.repositorio.Repositorio;
 import ciricefp.modelo.services.interfaces.PedidoService;
+import ciricefp.modelo.utils.FormatoExportacion;
+import ciricefp.modelo.utils.PerfilPedido;
 import jakarta.persistence.EntityManager;
 
+import java.io.BufferedWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Esta clase implementa toda la lógica del contrato con la interface de servicios.
@@ -24,7 +36,13 @@ public class PedidoServiceImpl implements PedidoService {
     // Necesitamos acceso al entity manejar para poder manejar las transacciones con la BBDD.
     private final EntityManager em;
     // Creamos el repositorio para poder realizar el manejo de los datos y le pasamos el entity manager.
-    private final Repositorio<Pedido> repositorio;
+    // Usamos la implementación concreta para acceder también a las consultas propias de la entidad Pedido.
+    private final PedidoRepositorioImpl repositorio;
+
+    // Filas que se leen de la BD en cada viaje durante la exportación, también marca cada cuánto vaciamos el contexto.
+    private static final int FETCH_SIZE_EXPORTACION = 1000;
+    // Tamaño del buffer de escritura del archivo exportado.
+    private static final int BUFFER_EXPORTACION = 64 * 1024;
 
     // Constructor
     public PedidoServiceImpl(EntityManager em) {
@@ -37,15 +55,73 @@ public class PedidoServiceImpl implements PedidoService {
     /* Implementamos los métodos de la interface de servicios. */
     @Override
     public Listas<Pedido> findAll() {
+        return findAll(PerfilPedido.TICKET);
+    }
+
+    @Override
+    public Listas<Pedido> findAll(PerfilPedido perfil) {
         // Listar no requiere transacción
         try {
-            return repositorio.findAll();
+            return repositorio.findAll(perfil);
         } catch (Exception e) {
             e.printStackTrace();
             return new Listas<>();
         }
     }
 
+    @Override
+    public Listas<Pedido> findPage(int offset, int limit) {
+        // Listar una página es un método GET, no requiere transacción.
+        try {
+            return repositorio.findPage(offset, limit);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al obtener la página de pedidos desde la posición {0}", offset));
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
+    @Override
+    public Listas<Pedido> findPageAfter(Long lastId, int limit) {
+        return findPageAfter(lastId, limit, PerfilPedido.TICKET);
+    }
+
+    @Override
+    public Listas<Pedido> findPageAfter(Long lastId, int limit, PerfilPedido perfil) {
+        // Listar una página es un método GET, no requiere transacción.
+        try {
+            return repositorio.findPageAfter(lastId, limit, perfil);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al obtener la página de pedidos a partir del id {0}", lastId));
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
+    @Override
+    public Listas<PedidoResumen> findResumenPageAfter(Long lastId, int limit) {
+        // Listar una página es un método GET, no requiere transacción.
+        try {
+            return repositorio.findResumenPageAfter(lastId, limit);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al obtener la página de pedidos a partir del id {0}", lastId));
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
+    @Override
+    public Listas<PedidoResumen> findResumenByEstado(boolean enviado) {
+        // Listar no requiere transacción
+        try {
+            return repositorio.findResumenByEstado(enviado);
+        } catch (Exception e) {
+            System.out.println("Error al obtener los pedidos por estado");
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
     @Override
     public Optional<Pedido> findById(Long id) {
         // findById no requiere transacción porque es un método GET.
@@ -53,6 +129,11 @@ public class PedidoServiceImpl implements PedidoService {
         return Optional.ofNullable(repositorio.findById(id));
     }
 
+    @Override
+    public Optional<Pedido> findById(Long id, PerfilPedido perfil) {
+        return Optional.ofNullable(repositorio.findById(id, perfil));
+    }
+
     @Override
     public Optional<Pedido> findOne(String key) {
         // Los métodos GET no necesitan transacción, pero en este caso, hay que manejar el retorno opcional.
@@ -60,6 +141,121 @@ public class PedidoServiceImpl implements PedidoService {
         return Optional.ofNullable(repositorio.findOne(key));
     }
 
+    @Override
+    public Listas<Pedido> findByClienteNif(String nif) {
+        // Listar no requiere transacción
+        try {
+            return repositorio.findByClienteNif(nif);
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al obtener los pedidos del cliente {0}", nif));
+            e.printStackTrace();
+            return new Listas<>();
+        }
+    }
+
+    @Override
+    public int updateEstadoEnviados() {
+        // La actualización masiva requiere transacción.
+        try {
+            // Iniciamos la transacción
+            em.getTransaction().begin();
+
+            // Actualizamos el estado de los pedidos en una única sentencia
+            int actualizados = repositorio.updateEstadoEnviados();
+
+            // Hacemos commit
+            em.getTransaction().commit();
+
+            // La sentencia se ejecuta directamente en la BD, así que limpiamos el contexto de persistencia
+            // para no seguir trabajando con pedidos desactualizados.
+            if (actualizados > 0) em.clear();
+
+            // Devolvemos el número de pedidos actualizados
+            return actualizados;
+        } catch (Exception e) {
+            System.out.println("Error al actualizar el estado de los pedidos");
+
+            // Hacemos rollback
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+
+            e.printStackTrace();
+
+            // Devolvemos 0
+            return 0;
+        }
+    }
+
+    @Override
+    public long exportar(Path destino, FormatoExportacion formato) {
+        // Número de pedidos escritos en el archivo.
+        long exportados = 0;
+
+        // Escribimos a través de un canal NIO con un buffer para no hacer una escritura en disco por cada pedido.
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer writer = new BufferedWriter(Channels.newWriter(canal, StandardCharsets.UTF_8), BUFFER_EXPORTACION)) {
+            // Mantenemos la transacción abierta durante todo el recorrido para que el cursor conserve su conexión.
+            em.getTransaction().begin();
+
+            writer.write(formato.cabecera());
+
+            try (Stream<Pedido> pedidos = repositorio.streamAll(FETCH_SIZE_EXPORTACION)) {
+                Iterator<Pedido> it = pedidos.iterator();
+                while (it.hasNext()) {
+                    writer.write(formato.linea(it.next()));
+
+                    // Vaciamos el contexto de persistencia cada bloque para que no guarde todos los pedidos leídos.
+                    if (++exportados % FETCH_SIZE_EXPORTACION == 0) em.clear();
+                }
+            }
+
+            em.getTransaction().commit();
+            em.clear();
+
+            return exportados;
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al exportar los pedidos a {0}", destino));
+
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+
+            e.printStackTrace();
+
+            return -1;
+        }
+    }
+
+    @Override
+    public Optional<Integer> nextNumeroPedido() {
+        // Los números se entregan desde memoria, solo accedemos a la BD cuando se agota el bloque reservado.
+        return GeneradorNumeroPedido.siguiente(this::reservarNumerosPedido);
+    }
+
+    // Reservamos un bloque de números de pedido en su propia transacción, devolvemos el último número reservado.
+    private long reservarNumerosPedido(int bloque) {
+        try {
+            // Iniciamos la transacción
+            em.getTransaction().begin();
+
+            // Reservamos el bloque
+            long ultimo = repositorio.reservarNumerosPedido(bloque);
+
+            // Hacemos commit
+            em.getTransaction().commit();
+
+            return ultimo;
+        } catch (Exception e) {
+            System.out.println("Error al reservar los números de pedido");
+
+            // Hacemos rollback
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+
+            e.printStackTrace();
+
+            // Indicamos que no se ha podido reservar
+            return 0;
+        }
+    }
+
     @Override
     public boolean save(Pedido articulo) {
         // Los métodos de escritura POST, PUT y DELETE requieren transacción.
@@ -89,6 +285,68 @@ public class PedidoServiceImpl implements PedidoService {
         }
     }
 
+    @Override
+    public boolean saveAll(Collection<Pedido> pedidos) {
+        // La carga masiva se hace en una única transacción, el repositorio se encarga de enviarla por lotes.
+        try {
+            // Iniciamos la transacción
+            em.getTransaction().begin();
+
+            // Guardamos los pedidos
+            repositorio.saveAll(pedidos);
+
+            // Hacemos commit
+            em.getTransaction().commit();
+
+            // Los lotes ya enviados no tienen que seguir en el contexto de persistencia.
+            em.clear();
+
+            // Devolvemos true
+            return true;
+        } catch (Exception e) {
+            System.out.println(MessageFormat.format("Error al guardar los pedidos, se deshace la carga de {0} elementos", pedidos.size()));
+
+            // Hacemos rollback
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+
+            e.printStackTrace();
+
+            // Devolvemos false
+            return false;
+        }
+    }
+
+    @Override
+    public int clear() {
+        // Vaciamos la tabla en la BD, sin cargar las entidades.
+        try {
+            // Iniciamos la transacción
+            em.getTransaction().begin();
+
+            // Eliminamos todos los pedidos
+            int eliminados = repositorio.deleteAll();
+
+            // Hacemos commit
+            em.getTransaction().commit();
+
+            // Las sentencias se ejecutan directamente en la BD, así que limpiamos el contexto de persistencia.
+            em.clear();
+
+            // Devolvemos el número de pedidos eliminados
+            return eliminados;
+        } catch (Exception e) {
+            System.out.println("Error al vaciar la tabla de pedidos.");
+
+            // Hacemos rollback
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+
+            e.printStackTrace();
+
+            // Devolvemos -1
+            return -1;
+        }
+    }
+
     @Override
     public boolean delete(Long id) {
         // Las acciones de escritura usan una transacción.
@@ -144,7 +402,21 @@ public class PedidoServiceImpl implements PedidoService {
 
     // Podemos llamar directamente al método.
     @Override
-    public boolean isEmpty() { return count() == 0; }
+    public boolean isEmpty() { return !exists(); }
+
+    @Override
+    public boolean exists() {
+        // Como es un método GET, no requiere transacción.
+        try {
+            return repositorio.exists();
+        } catch (Exception e) {
+            System.out.println("Error al comprobar si existen pedidos en la Base de Datos.");
+            e.printStackTrace();
+
+            // Si ha habido algún error, lo tratamos como una tabla vacía, igual que count().
+            return false;
+        }
+    }
 
     @Override
     public boolean resetId() {
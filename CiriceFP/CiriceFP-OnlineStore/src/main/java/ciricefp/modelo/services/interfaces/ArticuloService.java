@@ -3,6 +3,8 @@ package ciricefp.modelo.services.interfaces;
 import ciricefp.modelo.Articulo;
 import ciricefp.modelo.listas.Listas;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,10 +19,23 @@ public interface ArticuloService {
     // Los métodos de lectura de todos los objetos de la entidad devolverán una Lista.
     Listas<Articulo> findAll();
 
+    // Los métodos de lectura paginada devolverán una página de la tabla.
+    // Paginación por offset.
+    Listas<Articulo> findPage(int offset, int limit);
+
+    // Paginación por keyset a partir del último id visto.
+    Listas<Articulo> findPageAfter(Long lastId, int limit);
+
     // Los métodos de lectura de un objeto de la entidad devolverán un objeto de la entidad.
     // Buscaremos el objeto por su ID, el identificador único de cada objeto en la BBDD.
     Optional<Articulo> findById(Long id);
 
+    // Comprobamos si existe un artículo con la descripción sin cargarlo.
+    boolean existsByDescripcion(String descripcion);
+
+    // Obtenemos los códigos de todos los artículos sin cargar las entidades.
+    List<String> findAllCodigos();
+
     // Buscamos el objeto por un parámetro llave que sea único. Usamos Optional para que no lance excepciones.
     Optional<Articulo> findOne(String key);
 
@@ -30,6 +45,14 @@ public interface ArticuloService {
     // Los métodos por separado serían create() y update().
     boolean save(Articulo articulo);
 
+    // Guardamos una colección completa en una sola transacción enviando las sentencias por lotes.
+    // Si falla algún elemento no se guarda ninguno.
+    boolean saveAll(Collection<Articulo> articulos);
+
+    // Vaciar la tabla en una sola transacción: eliminamos los artículos que no aparecen en ningún pedido.
+    // Devolvemos el número de filas eliminadas o -1 si hay un error.
+    int clear();
+
     // Borrar un objeto de la entidad identificado por su id.
     boolean delete(Long id);
 
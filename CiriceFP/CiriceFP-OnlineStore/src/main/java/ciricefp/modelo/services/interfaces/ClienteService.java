@@ -3,6 +3,8 @@ package ciricefp.modelo.services.interfaces;
 import ciricefp.modelo.Cliente;
 import ciricefp.modelo.listas.Listas;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,10 +19,23 @@ public interface ClienteService {
     // Los métodos de lectura de todos los objetos de la entidad devolverán una Lista.
     Listas<Cliente> findAll();
 
+    // Los métodos de lectura paginada devolverán una página de la tabla.
+    // Paginación por offset.
+    Listas<Cliente> findPage(int offset, int limit);
+
+    // Paginación por keyset a partir del último id visto.
+    Listas<Cliente> findPageAfter(Long lastId, int limit);
+
     // Los métodos de lectura de un objeto de la entidad devolverán un objeto de la entidad.
     // Buscaremos el objeto por su ID, el identificador único de cada objeto en la BBDD.
     Optional<Cliente> findById(Long id);
 
+    // Comprobamos si existe un cliente con el NIF sin cargarlo.
+    boolean existsByNif(String nif);
+
+    // Obtenemos los códigos de socio de los clientes premium sin cargar las entidades.
+    List<String> findAllCodigosSocio();
+
     // Buscamos el objeto por un parámetro llave que sea único. Usamos Optional para que no lance excepciones.
     Optional<Cliente> findOne(String key);
 
@@ -30,6 +45,14 @@ public interface ClienteService {
     // Los métodos por separado serían create() y update().
     boolean save(Cliente cliente);
 
+    // Guardamos una colección completa en una sola transacción enviando las sentencias por lotes.
+    // Si falla algún elemento no se guarda ninguno.
+    boolean saveAll(Collection<Cliente> clientes);
+
+    // Vaciar la tabla en una sola transacción: eliminamos los clientes que no aparecen en ningún pedido.
+    // Devolvemos el número de filas eliminadas o -1 si hay un error.
+    int clear();
+
     // Borrar un objeto de la entidad identificado por su id.
     boolean delete(Long id);
 
@@ -17,6 +17,13 @@ public interface DireccionService {
     // Los métodos de lectura de todos los objetos de la entidad devolverán una Lista.
     Listas<Direccion> findAll();
 
+    // Los métodos de lectura paginada devolverán una página de la tabla.
+    // Paginación por offset.
+    Listas<Direccion> findPage(int offset, int limit);
+
+    // Paginación por keyset a partir del último id visto.
+    Listas<Direccion> findPageAfter(Long lastId, int limit);
+
     // Los métodos de lectura de un objeto de la entidad devolverán un objeto de la entidad.
     // Buscaremos el objeto por su ID, el identificador único de cada objeto en la BBDD.
     Optional<Direccion> findById(Long id);
@@ -1,8 +1,13 @@
 package ciricefp.modelo.services.interfaces;
 
 import ciricefp.modelo.Pedido;
+import ciricefp.modelo.PedidoResumen;
 import ciricefp.modelo.listas.Listas;
+import ciricefp.modelo.utils.FormatoExportacion;
+import ciricefp.modelo.utils.PerfilPedido;
 
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -17,19 +22,61 @@ public interface PedidoService {
     // Los métodos de lectura de todos los objetos de la entidad devolverán una Lista.
     Listas<Pedido> findAll();
 
+    // Las variantes con perfil cargan solo la parte del pedido que necesita cada pantalla.
+    // Sin perfil se carga el pedido completo (PerfilPedido.TICKET).
+    Listas<Pedido> findAll(PerfilPedido perfil);
+
+    // Los métodos de lectura paginada devolverán una página de la tabla.
+    // Paginación por offset.
+    Listas<Pedido> findPage(int offset, int limit);
+
+    // Paginación por keyset a partir del último id visto.
+    Listas<Pedido> findPageAfter(Long lastId, int limit);
+
+    Listas<Pedido> findPageAfter(Long lastId, int limit, PerfilPedido perfil);
+
+    // Resúmenes de solo lectura para los listados, paginados por keyset.
+    Listas<PedidoResumen> findResumenPageAfter(Long lastId, int limit);
+
+    // Resúmenes de solo lectura de los pedidos enviados o pendientes.
+    Listas<PedidoResumen> findResumenByEstado(boolean enviado);
+
     // Los métodos de lectura de un objeto de la entidad devolverán un objeto de la entidad.
     // Buscaremos el objeto por su ID, el identificador único de cada objeto en la BBDD.
     Optional<Pedido> findById(Long id);
 
+    Optional<Pedido> findById(Long id, PerfilPedido perfil);
+
     // Buscamos el objeto por un parámetro llave que sea único. Usamos Optional para que no lance excepciones.
     Optional<Pedido> findOne(String key);
 
+    // Obtenemos los pedidos de un cliente a través de su NIF filtrando en la BD.
+    Listas<Pedido> findByClienteNif(String nif);
+
+    // Marcamos como enviados los pedidos cuyo tiempo de preparación ya ha pasado, devolvemos el número de pedidos actualizados.
+    int updateEstadoEnviados();
+
+    // Exportamos todos los pedidos a un archivo en el formato indicado leyéndolos de la BD por bloques.
+    // Devolvemos el número de pedidos exportados o -1 si no se ha podido completar la exportación.
+    long exportar(Path destino, FormatoExportacion formato);
+
+    // Obtenemos el siguiente número de pedido libre sin consultar el último pedido de la tabla.
+    Optional<Integer> nextNumeroPedido();
+
     // Los métodos de escritura devolverán un booleano para indicar si la operación se ha realizado correctamente.
     // Manejamos la creación y la actualización de un objeto de la entidad como un método único.
     // Si el objeto no existe, se creará, si existe, se actualizará.
     // Los métodos por separado serían create() y update().
     boolean save(Pedido articulo);
 
+    // Guardamos una colección completa en una sola transacción enviando las sentencias por lotes.
+    // Si falla algún elemento no se guarda ninguno.
+    boolean saveAll(Collection<Pedido> pedidos);
+
+    // Vaciar la tabla en una sola transacción: eliminamos todos los pedidos.
+    // Devolvemos el número de filas eliminadas o -1 si hay un error.
+    int clear();
+
     // Borrar un objeto de la entidad identificado por su id.
     boolean delete(Long id);
 
@@ -42,6 +89,9 @@ public interface PedidoService {
     // Comprobar si la tabla está vacía.
     boolean isEmpty();
 
+    // Comprobar si existe algún pedido sin contar toda la tabla.
+    boolean exists();
+
     // Creamos un método estático para resetear los contadores de las tablas.
     boolean resetId();
 }
@@ -1,10 +1,20 @@
 package ciricefp.modelo.utils;
 
+import ciricefp.modelo.services.CacheBusqueda;
+import ciricefp.modelo.services.FiltroBloom;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import io.github.cdimascio.dotenv.Dotenv;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 
+import java.sql.Connection;
+import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,13 +33,51 @@ public class ConexionJpa {
     // Atributo env para manejar las variables de entorno
     private static final Dotenv dotenv = Dotenv.load();
 
+    // Creamos el pool de conexiones, debe existir antes que el EntityManagerFactory que lo usa.
+    private static final HikariDataSource dataSource = buildDataSource();
+
     // Creamos el atributo para instanciar los objetos de tipo EntityManagerFactory.
     private static final EntityManagerFactory entityManagerFactory = buildEntityManagerFactory();
 
+    /* Configuramos el pool de conexiones con HikariCP. Mantenemos un mínimo de conexiones abiertas para que
+    * las peticiones no tengan que esperar a que se establezca una conexión nueva. Los tamaños y tiempos se
+    * pueden ajustar desde el .env. */
+    private static HikariDataSource buildDataSource() {
+        HikariConfig config = new HikariConfig();
+
+        // Configuramos las propiedades de la conexión a la base de datos.
+        config.setPoolName("onlinestorePool");
+        config.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        config.setJdbcUrl("jdbc:mysql://" + dotenv.get("DB_LOCAL_URL") + "/onlinestore_db?useUnicode=true&useJDBCCompliantTimezoneShift=true&useLegacyDatetimeCode=false&serverTimezone=Europe/Madrid");
+        config.setUsername(dotenv.get("DB_LOCAL_USER"));
+        config.setPassword(dotenv.get("DB_LOCAL_PASS"));
+
+        // Configuramos el tamaño del pool.
+        config.setMinimumIdle(Integer.parseInt(dotenv.get("DB_POOL_MIN_IDLE", "2")));
+        config.setMaximumPoolSize(Integer.parseInt(dotenv.get("DB_POOL_MAX_SIZE", "10")));
+        // Tiempo máximo en milisegundos que una petición espera por una conexión libre.
+        config.setConnectionTimeout(Long.parseLong(dotenv.get("DB_POOL_CONNECTION_TIMEOUT", "30000")));
+        // Avisamos de las conexiones que no se devuelven al pool pasado este tiempo en milisegundos (0 lo desactiva).
+        config.setLeakDetectionThreshold(Long.parseLong(dotenv.get("DB_POOL_LEAK_DETECTION", "20000")));
+        // Hibernate gestiona las transacciones, así que desactivamos el autocommit.
+        config.setAutoCommit(false);
+
+        // Reutilizamos las sentencias preparadas en el driver de MySQL.
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        // El driver reescribe los lotes de sentencias en un único INSERT multi-fila.
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        // Las consultas con fetch size leen las filas con un cursor en el servidor en lugar de traer todo el resultado.
+        config.addDataSourceProperty("useCursorFetch", "true");
+
+        return new HikariDataSource(config);
+    }
+
     /* Para mantener las variables de env secretas, podemos configurar Hibernate programáticamente
     * en lugar de mediante el archivo xml. */
-    private static Map<String, String> getProperties() {
-        Map<String, String> properties = new HashMap<>();
+    private static Map<String, Object> getProperties() {
+        Map<String, Object> properties = new HashMap<>();
 
         // Añadimos el provider
         properties.put("jakarta.persistence.provider", "org.hibernate.jpa.HibernatePersistenceProvider");
@@ -40,13 +88,37 @@ public class ConexionJpa {
         // Agregar la propiedad transaction-type
         properties.put("jakarta.persistence.transactionType", "RESOURCE_LOCAL");
 
-        // Configuramos las propiedades de la conexión a la base de datos.
-        properties.put("jakarta.persistence.jdbc.url", "jdbc:mysql://" + dotenv.get("DB_LOCAL_URL") + "/onlinestore_db?useUnicode=true&useJDBCCompliantTimezoneShift=true&useLegacyDatetimeCode=false&serverTimezone=Europe/Madrid");
-        properties.put("jakarta.persistence.jdbc.user", dotenv.get("DB_LOCAL_USER"));
-        properties.put("jakarta.persistence.jdbc.password", dotenv.get("DB_LOCAL_PASS"));
-        properties.put("jakarta.persistence.jdbc.driver", "com.mysql.cj.jdbc.Driver");
+        // Las conexiones a la base de datos las obtenemos del pool.
+        properties.put("hibernate.connection.datasource", dataSource);
+        // Las conexiones del pool ya tienen el autocommit desactivado, evitamos que Hibernate lo compruebe.
+        properties.put("hibernate.connection.provider_disables_autocommit", "true");
         properties.put("hibernate.dialect", "org.hibernate.dialect.MySQL8Dialect");
         properties.put("hibernate.show_sql", "false");
+        // Comprobamos al arrancar que las tablas y columnas coinciden con las entidades, si no, la aplicación no arranca.
+        // Hibernate nunca modifica el esquema, los cambios se hacen con migraciones.
+        properties.put("hibernate.hbm2ddl.auto", dotenv.get("DB_SCHEMA_VALIDATION", "validate"));
+
+        // Agrupamos las sentencias en lotes JDBC. Ordenamos las inserciones y actualizaciones por entidad para que
+        // los lotes no se corten al alternar tablas. El tamaño se puede ajustar desde el .env.
+        properties.put("hibernate.jdbc.batch_size", dotenv.get("DB_BATCH_SIZE", "50"));
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
+
+        // Configuramos la caché de segundo nivel (JCache/Ehcache) para las entidades que casi no cambian y
+        // que se cargan con cada pedido: Articulo, Cliente y Direccion. Se puede desactivar desde el .env.
+        boolean cacheEnabled = Boolean.parseBoolean(dotenv.get("DB_CACHE_ENABLED", "true"));
+        properties.put("hibernate.cache.use_second_level_cache", String.valueOf(cacheEnabled));
+        properties.put("hibernate.cache.use_query_cache", String.valueOf(cacheEnabled));
+        if (cacheEnabled) {
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+            // Los límites de tamaño y TTL de cada región se definen en el archivo de configuración de Ehcache.
+            properties.put("hibernate.javax.cache.uri", dotenv.get("DB_CACHE_CONFIG", "ehcache.xml"));
+        }
+        // Solo cacheamos las entidades anotadas con @Cacheable.
+        properties.put("jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+        // Recogemos las estadísticas para poder consultar los aciertos y fallos de la caché.
+        properties.put("hibernate.generate_statistics", dotenv.get("DB_CACHE_STATS", "true"));
 
         // Añadimos las clases
         properties.put("jakarta.persistence.mapping.resources", "ciricefp.modelo.Articulo, ciricefp.modelo.Cliente, ciricefp.modelo.ClienteEstandard, ciricefp.modelo.ClientePremium, ciricefp.modelo.Direccion, ciricefp.modelo.Pedido");
@@ -59,17 +131,74 @@ public class ConexionJpa {
 
     /* Métodos de Clase */
     // Generamos el método Factory para la conexión a la base de datos, además, aplicamos el patrón Singleton.
-    private static EntityManagerFactory buildEntityManagerFactory() { return Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME, getProperties()); }
+    private static EntityManagerFactory buildEntityManagerFactory() {
+        // Antes de arrancar Hibernate llevamos el esquema a la última versión, así la validación del esquema
+        // comprueba el esquema ya migrado. Se puede desactivar desde el .env.
+        if (Boolean.parseBoolean(dotenv.get("DB_MIGRACIONES", "true"))) {
+            try (Connection conn = dataSource.getConnection()) {
+                int aplicadas = Migraciones.aplicar(conn);
+                if (aplicadas > 0) System.out.println(MessageFormat.format("Se han aplicado {0} migraciones del esquema.", aplicadas));
+            } catch (Exception e) {
+                throw new IllegalStateException("No se ha podido migrar el esquema de la base de datos.", e);
+            }
+        }
+
+        return Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME, getProperties());
+    }
 
     /* Generamos el getter para obtener la conexión al objeto EntityManagerFactory, lo hacemos
     * por getter para respetar el patrón Singleton, solo tendremos una conexión por cliente. */
     public static EntityManager getEntityManagerFactory() { return entityManagerFactory.createEntityManager(); }
 
+    // Obtenemos las estadísticas de Hibernate, incluyen los aciertos y fallos de la caché de segundo nivel.
+    public static Statistics getStatistics() { return entityManagerFactory.unwrap(SessionFactory.class).getStatistics(); }
+
+    // Resumimos los aciertos, fallos y escrituras de la caché de segundo nivel y de la caché de consultas.
+    public static String getCacheStatistics() {
+        Statistics stats = getStatistics();
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(MessageFormat.format("Caché de segundo nivel: {0} aciertos, {1} fallos, {2} escrituras\n",
+                stats.getSecondLevelCacheHitCount(), stats.getSecondLevelCacheMissCount(), stats.getSecondLevelCachePutCount()));
+        sb.append(MessageFormat.format("Caché de consultas: {0} aciertos, {1} fallos, {2} escrituras\n",
+                stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount(), stats.getQueryCachePutCount()));
+
+        // Detallamos cada región de la caché.
+        for (String region : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = stats.getDomainDataRegionStatistics(region);
+            sb.append(MessageFormat.format("  {0}: {1} aciertos, {2} fallos, {3} elementos en memoria\n",
+                    region, regionStats.getHitCount(), regionStats.getMissCount(), regionStats.getElementCountInMemory()));
+        }
+
+        // Añadimos las cachés de búsqueda por código y NIF, que resuelven las búsquedas antes de llegar a Hibernate.
+        sb.append(CacheBusqueda.ARTICULOS.getEstadisticas()).append('\n');
+        sb.append(CacheBusqueda.CLIENTES.getEstadisticas()).append('\n');
+        // Y los filtros que resuelven en memoria las comprobaciones de existencia.
+        sb.append(FiltroBloom.NIFS.getEstadisticas()).append('\n');
+        sb.append(FiltroBloom.DESCRIPCIONES.getEstadisticas()).append('\n');
+
+        return sb.toString();
+    }
+
+    // Obtenemos las métricas del pool de conexiones.
+    public static HikariPoolMXBean getPoolMetrics() { return dataSource.getHikariPoolMXBean(); }
+
+    // Resumimos el estado del pool de conexiones.
+    public static String getPoolStatistics() {
+        HikariPoolMXBean pool = getPoolMetrics();
+
+        return MessageFormat.format("Pool de conexiones: {0} activas, {1} libres, {2} totales, {3} peticiones en espera",
+                pool.getActiveConnections(), pool.getIdleConnections(), pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection());
+    }
+
     // Cerramos la conexión a la base de datos.
     public static int close() {
         try {
             // Cerramos la instancia Singleton
             entityManagerFactory.close();
+            // Cerramos el pool de conexiones
+            dataSource.close();
             return 0;
         } catch (Exception e) {
             System.out.println("Error al cerrar la conexión a la base de datos.");
@@ -0,0 +1,105 @@
+package ciricefp.modelo.utils;
+
+import ciricefp.modelo.Pedido;
+import ciricefp.modelo.interfaces.factory.IClienteFactory;
+
+import java.util.Locale;
+
+/**
+ * Formatos disponibles para exportar los pedidos a un archivo. Cada formato sabe escribir su cabecera y una línea
+ * por pedido, así el exportador puede ir escribiendo los pedidos según los lee de la BD sin guardarlos en memoria.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public enum FormatoExportacion {
+    // Valores separados por comas con una fila de cabecera.
+    CSV {
+        @Override
+        public String cabecera() {
+            return "numero_pedido,fecha_pedido,nif,cliente,tipo_cliente,cod_articulo,articulo,unidades,subtotal,gastos_envio,total,enviado\n";
+        }
+
+        @Override
+        public String linea(Pedido pedido) {
+            return String.join(",",
+                    String.valueOf(pedido.getNumeroPedido()),
+                    String.valueOf(pedido.getFechaPedido()),
+                    csv(pedido.getCliente().getNif()),
+                    csv(pedido.getCliente().getNombre()),
+                    IClienteFactory.tipoCliente(pedido.getCliente()),
+                    csv(pedido.getArticulo().getCodArticulo()),
+                    csv(pedido.getArticulo().getDescripcion()),
+                    String.valueOf(pedido.getUnidades()),
+                    importe(pedido.calcularSubtotal()),
+                    importe(pedido.precioEnvio()),
+                    importe(pedido.precioTotal()),
+                    String.valueOf(pedido.getEsEnviado())) + "\n";
+        }
+    },
+    // Un objeto JSON por línea (JSON Lines), se puede procesar línea a línea igual que el CSV.
+    JSON {
+        @Override
+        public String cabecera() {
+            return "";
+        }
+
+        @Override
+        public String linea(Pedido pedido) {
+            return "{\"numeroPedido\":" + pedido.getNumeroPedido() +
+                    ",\"fechaPedido\":" + json(String.valueOf(pedido.getFechaPedido())) +
+                    ",\"nif\":" + json(pedido.getCliente().getNif()) +
+                    ",\"cliente\":" + json(pedido.getCliente().getNombre()) +
+                    ",\"tipoCliente\":" + json(IClienteFactory.tipoCliente(pedido.getCliente())) +
+                    ",\"codArticulo\":" + json(pedido.getArticulo().getCodArticulo()) +
+                    ",\"articulo\":" + json(pedido.getArticulo().getDescripcion()) +
+                    ",\"unidades\":" + pedido.getUnidades() +
+                    ",\"subtotal\":" + importe(pedido.calcularSubtotal()) +
+                    ",\"gastosEnvio\":" + importe(pedido.precioEnvio()) +
+                    ",\"total\":" + importe(pedido.precioTotal()) +
+                    ",\"enviado\":" + pedido.getEsEnviado() + "}\n";
+        }
+    };
+
+    // Texto que se escribe al principio del archivo.
+    public abstract String cabecera();
+
+    // Línea del archivo para un pedido, incluye el salto de línea.
+    public abstract String linea(Pedido pedido);
+
+    // Los importes siempre con punto decimal, independientemente del idioma del sistema.
+    private static String importe(double valor) {
+        return String.format(Locale.ROOT, "%.2f", valor);
+    }
+
+    // Entrecomillamos los campos de texto que contienen separadores, comillas o saltos de línea.
+    private static String csv(String valor) {
+        if (valor == null) return "";
+        if (valor.contains(",") || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+
+    // Escapamos los caracteres especiales de las cadenas JSON.
+    private static String json(String valor) {
+        if (valor == null) return "null";
+
+        StringBuilder sb = new StringBuilder(valor.length() + 2).append('"');
+        for (char c : valor.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,212 @@
+package ciricefp.modelo.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Esta clase aplica las migraciones del esquema al arrancar la aplicación.
+ * El script base (script_olinestore_db.sql) crea la BD inicial y los cambios posteriores se escriben como migraciones
+ * numeradas en db/migraciones (V001__descripcion.sql, V002__...). El archivo indice.txt de esa carpeta las lista en
+ * orden. Cada migración se aplica una sola vez y se registra en la tabla historial_migraciones con el checksum de su
+ * contenido, así podemos detectar una migración modificada después de aplicarse o una BD más nueva que la aplicación.
+ * MySQL confirma cada sentencia DDL por separado, así que una migración que falla a medias hay que corregirla a mano
+ * antes de volver a arrancar.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public final class Migraciones {
+    // Carpeta de las migraciones en el classpath y archivo con la lista ordenada.
+    private static final String CARPETA = "/db/migraciones/";
+    private static final String INDICE = CARPETA + "indice.txt";
+    // Formato del nombre de las migraciones: versión y descripción.
+    private static final Pattern NOMBRE = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    // Bloqueo de la BD para que dos instancias no migren a la vez, esperamos como mucho estos segundos.
+    private static final String BLOQUEO = "onlinestore_migraciones";
+    private static final int ESPERA_BLOQUEO = 60;
+
+    // Migración leída del classpath.
+    private record Migracion(int version, String descripcion, String sql, String checksum) { }
+
+    private Migraciones() {}
+
+    /* Aplicamos las migraciones pendientes en orden y devolvemos cuántas se han aplicado.
+    * Lanzamos una excepción si alguna migración aplicada ha cambiado o si la BD tiene migraciones que la aplicación
+    * no conoce, en ambos casos el esquema no es el que espera la aplicación. */
+    public static int aplicar(Connection conn) throws SQLException, IOException {
+        List<Migracion> migraciones = leerMigraciones();
+
+        try (Statement st = conn.createStatement()) {
+            bloquear(st);
+            try {
+                st.execute("create table if not exists historial_migraciones(" +
+                        "version int unsigned not null, " +
+                        "descripcion varchar(255) not null, " +
+                        "checksum char(64) not null, " +
+                        "aplicada timestamp not null default current_timestamp, " +
+                        "primary key (version))");
+                if (!conn.getAutoCommit()) conn.commit();
+
+                Map<Integer, String> aplicadas = leerHistorial(st);
+                int ultimaConocida = migraciones.isEmpty() ? 0 : migraciones.get(migraciones.size() - 1).version();
+                for (int version : aplicadas.keySet()) {
+                    if (version > ultimaConocida) {
+                        throw new IllegalStateException(MessageFormat.format(
+                                "La BD tiene aplicada la migración V{0,number,000}, que esta versión de la aplicación no conoce.", version));
+                    }
+                }
+
+                int aplicadasAhora = 0;
+                for (Migracion migracion : migraciones) {
+                    String checksum = aplicadas.get(migracion.version());
+
+                    if (checksum == null) {
+                        System.out.println(MessageFormat.format("Aplicando la migración V{0,number,000} {1}",
+                                migracion.version(), migracion.descripcion()));
+                        ejecutarScript(conn, migracion.sql());
+                        registrar(conn, migracion);
+                        aplicadasAhora++;
+                    } else if (!checksum.equals(migracion.checksum())) {
+                        throw new IllegalStateException(MessageFormat.format(
+                                "La migración V{0,number,000} ha cambiado después de aplicarse, hay que crear una migración nueva.",
+                                migracion.version()));
+                    }
+                }
+
+                return aplicadasAhora;
+            } finally {
+                desbloquear(st);
+            }
+        }
+    }
+
+    /* Ejecutamos un script SQL sentencia a sentencia. Respetamos las directivas "delimiter" que usan los scripts
+    * para definir los procedimientos almacenados, igual que haría el cliente de MySQL. */
+    public static void ejecutarScript(Connection conn, String script) throws SQLException {
+        String delimitador = ";";
+        StringBuilder sentencia = new StringBuilder();
+
+        try (Statement st = conn.createStatement()) {
+            for (String linea : script.split("\\R")) {
+                String recortada = linea.trim();
+
+                // Cambiamos de delimitador.
+                if (recortada.toLowerCase().startsWith("delimiter ")) {
+                    delimitador = recortada.substring("delimiter ".length()).trim();
+                    continue;
+                }
+                // Descartamos las líneas vacías y los comentarios entre sentencias.
+                if (sentencia.length() == 0 && (recortada.isEmpty() || recortada.startsWith("--"))) continue;
+
+                sentencia.append(linea).append('\n');
+
+                // Ejecutamos la sentencia cuando termina con el delimitador actual.
+                if (recortada.endsWith(delimitador)) {
+                    String sql = sentencia.toString().trim();
+                    sentencia.setLength(0);
+                    st.execute(sql.substring(0, sql.length() - delimitador.length()));
+                }
+            }
+        }
+
+        // Las sentencias que no son DDL (insert, update...) también quedan confirmadas.
+        if (!conn.getAutoCommit()) conn.commit();
+    }
+
+    // Leemos las migraciones que indica el índice y comprobamos que las versiones vayan en orden y no se repitan.
+    private static List<Migracion> leerMigraciones() throws IOException {
+        List<Migracion> migraciones = new ArrayList<>();
+
+        for (String nombre : leerRecurso(INDICE).split("\\R")) {
+            nombre = nombre.trim();
+            if (nombre.isEmpty() || nombre.startsWith("#")) continue;
+
+            Matcher matcher = NOMBRE.matcher(nombre);
+            if (!matcher.matches()) throw new IllegalStateException("Nombre de migración no válido: " + nombre);
+
+            int version = Integer.parseInt(matcher.group(1));
+            if (!migraciones.isEmpty() && version <= migraciones.get(migraciones.size() - 1).version()) {
+                throw new IllegalStateException("Las migraciones del índice no están en orden: " + nombre);
+            }
+
+            String sql = leerRecurso(CARPETA + nombre);
+            migraciones.add(new Migracion(version, matcher.group(2).replace('_', ' '), sql, checksum(sql)));
+        }
+
+        return migraciones;
+    }
+
+    private static String leerRecurso(String ruta) throws IOException {
+        try (InputStream in = Migraciones.class.getResourceAsStream(ruta)) {
+            if (in == null) throw new IOException("No se encuentra el recurso " + ruta);
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                return String.join("\n", reader.lines().toList());
+            }
+        }
+    }
+
+    // Calculamos el checksum sobre las líneas del script, así no cambia por los finales de línea del sistema.
+    private static String checksum(String sql) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(sql.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<Integer, String> leerHistorial(Statement st) throws SQLException {
+        Map<Integer, String> aplicadas = new HashMap<>();
+
+        try (ResultSet rs = st.executeQuery("select version, checksum from historial_migraciones")) {
+            while (rs.next()) aplicadas.put(rs.getInt(1), rs.getString(2));
+        }
+
+        return aplicadas;
+    }
+
+    private static void registrar(Connection conn, Migracion migracion) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "insert into historial_migraciones (version, descripcion, checksum) values (?, ?, ?)")) {
+            ps.setInt(1, migracion.version());
+            ps.setString(2, migracion.descripcion());
+            ps.setString(3, migracion.checksum());
+            ps.executeUpdate();
+        }
+
+        if (!conn.getAutoCommit()) conn.commit();
+    }
+
+    // El bloqueo con nombre de MySQL pertenece a la conexión, si la aplicación se cierra se libera solo.
+    private static void bloquear(Statement st) throws SQLException {
+        try (ResultSet rs = st.executeQuery("select get_lock('" + BLOQUEO + "', " + ESPERA_BLOQUEO + ")")) {
+            if (!rs.next() || rs.getInt(1) != 1) {
+                throw new IllegalStateException("Otra instancia de la aplicación está migrando la BD.");
+            }
+        }
+    }
+
+    private static void desbloquear(Statement st) throws SQLException {
+        st.execute("do release_lock('" + BLOQUEO + "')");
+    }
+}
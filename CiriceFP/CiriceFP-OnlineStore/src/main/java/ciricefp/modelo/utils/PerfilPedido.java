@@ -0,0 +1,29 @@
+package ciricefp.modelo.utils;
+
+import ciricefp.modelo.Pedido;
+
+/**
+ * Perfiles de carga de los pedidos. Las asociaciones del pedido son LAZY, así que cada caso de uso indica qué parte
+ * del grafo necesita y el repositorio aplica el EntityGraph correspondiente como fetch graph de la consulta.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public enum PerfilPedido {
+    // Solo las columnas propias del pedido: número, fecha, unidades, estado...
+    LISTA(Pedido.GRAFO_LISTA),
+    // Todo lo que necesita el ticket y la ficha del pedido: el cliente con su dirección y el artículo.
+    TICKET(Pedido.GRAFO_TICKET);
+
+    private final String grafo;
+
+    PerfilPedido(String grafo) {
+        this.grafo = grafo;
+    }
+
+    // Nombre del EntityGraph declarado en la entidad Pedido.
+    public String grafo() {
+        return grafo;
+    }
+}
@@ -0,0 +1,83 @@
+package ciricefp.modelo.utils;
+
+import ciricefp.modelo.interfaces.HashCode;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de los códigos únicos que ya están en uso: códigos de artículo y códigos de socio de los clientes premium.
+ * Antes cada entidad guardaba los códigos en una lista estática que se recorría entera en cada colisión, y el hash
+ * solo podía tomar unos pocos valores, así que casi todos los códigos colisionaban.
+ * Ahora el código sale de un hash bien repartido sobre un espacio de CODE_SIZE valores y la unicidad se garantiza
+ * con un conjunto concurrente: si el código ya está ocupado probamos el siguiente valor. Con el espacio mucho mayor
+ * que el número de códigos casi nunca hay colisión, así que asignar un código cuesta O(1) de media, y como la
+ * reserva se hace con la operación atómica add del conjunto, dos hilos nunca reciben el mismo código.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public final class RegistroCodigos {
+    // Registros compartidos por todas las entidades.
+    public static final RegistroCodigos ARTICULOS = new RegistroCodigos("A");
+    public static final RegistroCodigos SOCIOS = new RegistroCodigos("PREMIUM");
+
+    // Cifras del número del código, para que todos los códigos generados tengan la misma longitud.
+    private static final int CIFRAS = Long.toString(HashCode.CODE_SIZE - 1).length();
+
+    private final String prefijo;
+    // Códigos en uso, con el prefijo incluido tal y como se guardan en la BD.
+    private final Set<String> codigos = ConcurrentHashMap.newKeySet();
+
+    private RegistroCodigos(String prefijo) {
+        this.prefijo = prefijo;
+    }
+
+    // Asignamos un código nuevo a partir de la clave y lo dejamos reservado. Si el código ya está en uso probamos
+    // los siguientes valores del espacio hasta encontrar uno libre.
+    public String asignar(String clave) {
+        long numero = HashCode.hash(clave);
+
+        while (true) {
+            String codigo = codigo(numero);
+            // add es atómico: solo un hilo puede reservar cada código.
+            if (codigos.add(codigo)) return codigo;
+
+            numero = (numero + 1) % HashCode.CODE_SIZE;
+        }
+    }
+
+    // Sustituimos los códigos registrados por los que hay en la BD.
+    public void cargar(Collection<String> existentes) {
+        codigos.clear();
+        registrar(existentes);
+    }
+
+    // Añadimos códigos que ya están en uso, por ejemplo los que se insertan sin pasar por las entidades.
+    public void registrar(Collection<String> existentes) {
+        existentes.stream().filter(codigo -> codigo != null).forEach(codigos::add);
+    }
+
+    public boolean contiene(String codigo) {
+        return codigos.contains(codigo);
+    }
+
+    public int size() {
+        return codigos.size();
+    }
+
+    public String getPrefijo() {
+        return prefijo;
+    }
+
+    // Componemos el código con el prefijo y el número con ceros a la izquierda.
+    private String codigo(long numero) {
+        String cifras = Long.toString(numero);
+        StringBuilder sb = new StringBuilder(prefijo.length() + CIFRAS).append(prefijo);
+        for (int i = cifras.length(); i < CIFRAS; i++) sb.append('0');
+
+        return sb.append(cifras).toString();
+    }
+}
@@ -3,6 +3,7 @@ package ciricefp.vista;
 import ciricefp.modelo.Articulo;
 import ciricefp.vista.controladores.ArticulosController;
 import ciricefp.vista.controladores.MenuPrincipalController;
+import ciricefp.vista.controladores.TareasBD;
 import ciricefp.vista.dictionaries.ColorsDictionary;
 import ciricefp.vista.dictionaries.FontsDictionary;
 import ciricefp.vista.interfaces.IArticuloController;
@@ -20,6 +21,7 @@ import javafx.scene.text.Text;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Vista principal para el menú de Artículos, va a permitir listar los artículos, añadir un nuevo artículo
@@ -35,6 +37,8 @@ import java.util.Objects;
 public class ArticulosView {
     // Obtenemos los rem para no trabajar con pixels
     private static final double rem = new Text("").getBoundsInParent().getHeight();
+    // Número de artículos que pedimos a la BD en cada página del listado
+    private static final int PAGE_SIZE = 20;
     private final Pane pane;
     // Cargamos el controlador de la vista con los métodos que necesitamos
     private static IArticuloController controller;
@@ -121,20 +125,9 @@ public class ArticulosView {
         return pane;
     }
 
-    // Card para mostrar la información de los artículos
+    // Mostramos los artículos en una tabla. Solo se crean las filas visibles y los artículos se piden a la BD por
+    // páginas a medida que nos desplazamos por la tabla.
     private static Pane showArticulos() {
-        // Obtenemos la lista de artículos
-        ArrayList<Articulo> articulos = new ArrayList<>();
-        try {
-            articulos = controller.listArticulos().orElseGet(() -> {
-                throwErrorPane("lista");
-                return new ArrayList<>();
-            });
-        } catch (Exception e) {
-            throwErrorPane("excepcion");
-            e.printStackTrace();
-        }
-
         // Creamos el panel
         VBox root = new VBox();
         // Establecemos el color de fondo
@@ -143,88 +136,33 @@ public class ArticulosView {
         // Espaciado entre elementos
         root.setSpacing(0.5 * rem);
 
-        // Creamos el panel para mostrar la información
-        GridPane content = new GridPane();
-        // Configuramos el pane en los mapeadores
-
-        // Creamos los elementos
         // Generamos el título de la vista
         Text title = new Text("Listado de artículos");
         title.setFill(ColorsDictionary.getColor("text-light"));
         title.setFont(FontsDictionary.getFont("subtitle"));
 
-        // Creamos la línea de botones
-        // Botón anterior --> Se muestra si no es el primer artículo
-        Button btnAnterior = new Button("Anterior");
-        // Botón siguiente --> Se muestra si no es el último artículo
-        Button btnSiguiente = new Button("Siguiente");
-        // Creamos el panel para los botones
-        HBox buttons = new HBox();
-        buttons.setSpacing(0.5 * rem);
-        buttons.setAlignment(Pos.CENTER);
-        buttons.getChildren().addAll(btnAnterior, btnSiguiente);
-
-        // Mostraremos un artículo en el pane y crearemos un botón para ir al siguiente
-        // artículo
-        // Creamos el panel para mostrar la información
-        if (articulos.size() > 0) {
-            final int[] ind = {0};
-
-            // Convertimos articulos en un Final para poder usarlo en los listeners
-            final ArrayList<Articulo> finalArticulos = articulos;
-
-            // Mostramos el primer artículo
-            content.getChildren().add(mapArticulo(finalArticulos.get(ind[0])));
-
-            // Lógica anterior
-            btnAnterior.setFont(FontsDictionary.getFont("button"));
-            // Ocultamos el botón anterior si es el primer artículo
-            btnAnterior.setVisible(false);
-            btnAnterior.setOnAction(event -> {
-                // Limpiamos los campos
-                content.getChildren().remove(0, content.getChildren().size());
-                if (ind[0] > 0) {
-                    ind[0]--;
-                    // Actualizamos el artículo
-                    content.getChildren().add(mapArticulo(finalArticulos.get(ind[0])));
-
-                    // Mostramos el botón siguiente si no es el último artículo
-                    btnSiguiente.setVisible(ind[0] < finalArticulos.size() - 1);
-
-                    // Ocultamos el botón si es el primer artículo
-                    btnAnterior.setVisible(ind[0] > 0);
-                }
-            });
-
-            // Lógica siguiente
-            btnSiguiente.setFont(FontsDictionary.getFont("button"));
-            // Si no es el último artículo, se muestra el botón
-            btnSiguiente.setVisible(ind[0] < articulos.size() - 1);
-            btnSiguiente.setOnAction(event -> {
-                // Limpiamos los campos
-                content.getChildren().remove(0, content.getChildren().size());
-                if (ind[0] < finalArticulos.size() - 1) {
-                    ind[0]++;
-                    // Actualizamos el artículo
-                    content.getChildren().add(mapArticulo(finalArticulos.get(ind[0])));
-
-                    btnAnterior.setVisible(true);
-
-                    // Ocultamos el botón si es el último artículo
-                    btnSiguiente.setVisible(ind[0] < finalArticulos.size() - 1);
-                }
-            });
-
-            // Añadimos el título y el contenido al panel
-            root.getChildren().addAll(title, content, buttons);
-
-        } else {
-            // Si no hay artículos, mostramos un mensaje
-            Text noArticulos = new Text("No hay artículos que mostrar.");
-            noArticulos.setFont(FontsDictionary.getFont("subtitle"));
-            noArticulos.setFill(ColorsDictionary.getColor("text-light"));
-            root.getChildren().add(noArticulos);
-        }
+        // Tabla de artículos, filtramos por código y descripción
+        TablaPaginada<Articulo> tabla = new TablaPaginada<>(PAGE_SIZE,
+                lastId -> controller.listArticulosPageAfter(lastId, PAGE_SIZE),
+                Articulo::getId,
+                articulo -> articulo.getCodArticulo() + " " + articulo.getDescripcion());
+        tabla.addColumna("Código", Articulo::getCodArticulo);
+        tabla.addColumna("Descripción", Articulo::getDescripcion);
+        tabla.addColumna("PVP (€)", Articulo::getPvp);
+        tabla.addColumna("Gastos de envío (€)", Articulo::getGastosEnvio);
+        tabla.addColumna("Preparación (días)", Articulo::getTiempoPreparacion);
+
+        // Panel con el detalle del artículo seleccionado
+        VBox detalle = new VBox();
+        tabla.getTabla().getSelectionModel().selectedItemProperty().addListener((obs, anterior, articulo) -> {
+            detalle.getChildren().clear();
+            if (articulo != null) detalle.getChildren().add(mapArticulo(articulo));
+        });
+
+        // Añadimos el título, la tabla y el detalle al panel
+        VBox.setVgrow(tabla.getPane(), Priority.ALWAYS);
+        root.getChildren().addAll(title, tabla.getPane(), detalle);
+
         return root;
     }
 
@@ -360,25 +298,30 @@ public class ArticulosView {
             double gastosEnvio = Double.parseDouble(txtGastosEnvio.getText());
             int diasPreparacion = Integer.parseInt(txtDiasPreparacion.getText());
 
-            // Enviamos los datos al controlador
-            if (controller.addArticulo(description, precio, gastosEnvio, diasPreparacion)) {
-                // Si se ha añadido correctamente, limpiamos los campos
-                txtDescripcion.clear();
-                txtPrecio.clear();
-                txtGastosEnvio.clear();
-                txtDiasPreparacion.clear();
-
-                // Mostramos el mensaje de éxito
-                throwExitPane("crear");
-
-                // Mostramos una card con el nuevo pedido
-                ArrayList<Articulo> articulos = controller.listArticulos().orElseGet(ArrayList::new);
-                card.getChildren().add(mapArticulo(articulos.get(articulos.size() - 1)));
-                showCard.setValue(true);
-            } else {
-                // Si no se ha añadido correctamente, mostramos el mensaje de error
-                throwErrorPane("crear");
-            }
+            // Enviamos los datos al controlador en el hilo de la BD. Si se ha añadido, recuperamos también los
+            // artículos para mostrar el nuevo; si no, devolvemos empty.
+            TareasBD.ejecutar(btnAnadir,
+                    () -> controller.addArticulo(description, precio, gastosEnvio, diasPreparacion) ?
+                            Optional.of(controller.listArticulos().orElseGet(ArrayList::new)) : Optional.<ArrayList<Articulo>>empty(),
+                    res -> res.ifPresentOrElse(articulos -> {
+                        // Si se ha añadido correctamente, limpiamos los campos
+                        txtDescripcion.clear();
+                        txtPrecio.clear();
+                        txtGastosEnvio.clear();
+                        txtDiasPreparacion.clear();
+
+                        // Mostramos el mensaje de éxito
+                        throwExitPane("crear");
+
+                        // Mostramos una card con el nuevo pedido
+                        if (!articulos.isEmpty()) {
+                            card.getChildren().add(mapArticulo(articulos.get(articulos.size() - 1)));
+                            showCard.setValue(true);
+                        }
+                    },
+                    // Si no se ha añadido correctamente, mostramos el mensaje de error
+                    () -> throwErrorPane("crear")),
+                    error -> throwErrorPane("excepcion"));
         });
         // Por defecto, el botón de añadir estará desactivado
         btnAnadir.setDisable(true);
@@ -447,8 +390,8 @@ public class ArticulosView {
         // Creamos el botón para eliminar los artículos
         Button btnEliminar = new Button("Eliminar artículos");
         btnEliminar.setFont(FontsDictionary.getFont("button"));
-        btnEliminar.setOnAction(event -> {
-            controller.clearArticulos().ifPresentOrElse(data -> {
+        // La limpieza puede tardar con muchos artículos, la lanzamos en segundo plano con el botón desactivado.
+        btnEliminar.setOnAction(event -> TareasBD.ejecutar(btnEliminar, () -> controller.clearArticulos(), res -> res.ifPresentOrElse(data -> {
                 // Si se ha eliminado correctamente, mostramos el mensaje de éxito
                 throwExitPane("eliminar");
                 // Mostramos el resultado
@@ -467,8 +410,7 @@ public class ArticulosView {
                 resultText.setFont(FontsDictionary.getFont("text"));
                 resultText.setFill(ColorsDictionary.getColor("text-light"));
                 resultPane.getChildren().add(resultText);
-            });
-        });
+            }), error -> throwErrorPane("excepcion")));
 
         // Añadimos los elementos al layout root
         root.getChildren().addAll(title, btnEliminar, resultPane);
@@ -5,6 +5,7 @@ import ciricefp.modelo.ClienteEstandard;
 import ciricefp.modelo.ClientePremium;
 import ciricefp.vista.controladores.ClientesController;
 import ciricefp.vista.controladores.MenuPrincipalController;
+import ciricefp.vista.controladores.TareasBD;
 import ciricefp.vista.dictionaries.ColorsDictionary;
 import ciricefp.vista.dictionaries.FontsDictionary;
 import ciricefp.vista.interfaces.IClienteController;
@@ -35,6 +36,8 @@ import java.util.Objects;
 public class ClientesView {
     // Obtenemos los rem para no trabajar con pixels
     private static final double rem = new Text("").getBoundsInParent().getHeight();
+    // Número de clientes que pedimos a la BD en cada página del listado
+    private static final int PAGE_SIZE = 20;
     private final Pane pane;
     // Cargamos el controlador
     private static IClienteController controller;
@@ -131,20 +134,9 @@ public class ClientesView {
         return pane;
     }
 
-    // Obtenemos una lista de los clientes
+    // Mostramos los clientes en una tabla. Solo se crean las filas visibles y los clientes se piden a la BD por
+    // páginas a medida que nos desplazamos por la tabla.
     private static Pane showClientes() {
-        // Obtenemos la lista de los clientes
-        ArrayList<Cliente> clientes = new ArrayList<>();
-        try {
-            clientes = controller.listClientes().orElseGet(() -> {
-                throwErrorPane("lista");
-                return new ArrayList<>();
-            });
-        } catch (Exception e) {
-            throwErrorPane("excepcion");
-            e.printStackTrace();
-        }
-
         // Creamos los paneles
         VBox root = new VBox();
         root.setPadding(new Insets(0.5 * rem));
@@ -154,100 +146,34 @@ public class ClientesView {
         // Espaciado entre elementos
         root.setSpacing(0.5 * rem);
 
-        // Panel para el contenido
-        GridPane content = new GridPane();
-        // La configuración del pane se realiza en los mapeadores
-
-        // Creamos los elementos
         // Generamos el título de la vista
         Text title = new Text("Listado de clientes");
         title.setFill(ColorsDictionary.getColor("text-light"));
         title.setFont(FontsDictionary.getFont("subtitle"));
 
-        // Creamos la línea de botones
-        // Botón anterior --> Se muestra si no es el primer artículo
-        Button btnAnterior = new Button("Anterior");
-        // Botón siguiente --> Se muestra si no es el último artículo
-        Button btnSiguiente = new Button("Siguiente");
-        // Creamos el panel para los botones
-        HBox buttons = new HBox();
-        buttons.setSpacing(0.5 * rem);
-        buttons.setAlignment(Pos.CENTER);
-        buttons.getChildren().addAll(btnAnterior, btnSiguiente);
-
-        // Mostraremos un cliente en el pane y crearemos un botón para ir al siguiente
-        // cliente
-        // Creamos el panel para mostrar la información
-        if (!clientes.isEmpty()) {
-            final int[] ind = {0};
-
-            // Convertimos clientes en un Final para poder usarlo en los listeners
-            final ArrayList<Cliente> finalClientes = clientes;
-
-            //  Mostramos el primer cliente
-            // Discriminamos el tipo de cliente
-            if (finalClientes.get(ind[0]).getClass().getSimpleName().equals("ClientePremium")) {
-                content.getChildren().add(mapPremium((ClientePremium) finalClientes.get(ind[0])));
-            } else {
-                content.getChildren().add(mapEstandard(finalClientes.get(ind[0])));
-            }
-
-            // Lógica anterior
-            btnAnterior.setFont(FontsDictionary.getFont("button"));
-            // Ocultamos el botón anterior si es el primer artículo
-            btnAnterior.setVisible(false);
-            btnAnterior.setOnAction(event -> {
-                // Limpiamos los campos
-                content.getChildren().remove(0, content.getChildren().size());
-                if (ind[0] > 0) {
-                    ind[0]--;
-                    // Actualizamos el cliente
-                    // Discriminamos el tipo de cliente
-                    if (finalClientes.get(ind[0]).getClass().getSimpleName().equals("ClientePremium")) {
-                        content.getChildren().add(mapPremium((ClientePremium) finalClientes.get(ind[0])));
-                    } else {
-                        content.getChildren().add(mapEstandard(finalClientes.get(ind[0])));
-                    }
-                    // Mostramos el botón siguiente si no es el último artículo
-                    btnSiguiente.setVisible(ind[0] < finalClientes.size() - 1);
-
-                    // Ocultamos el botón si es el primer artículo
-                    btnAnterior.setVisible(ind[0] > 0);
-                }
-            });
-
-            // Lógica siguiente
-            btnSiguiente.setFont(FontsDictionary.getFont("button"));
-            // Si no es el último artículo, se muestra el botón
-            btnSiguiente.setVisible(ind[0] < finalClientes.size() - 1);
-            btnSiguiente.setOnAction(event -> {
-                // Limpiamos los campos
-                content.getChildren().remove(0, content.getChildren().size());
-                if (ind[0] < finalClientes.size() - 1) {
-                    ind[0]++;
-                    // Actualizamos el cliente
-                    // Discriminamos el tipo de cliente
-                    if (finalClientes.get(ind[0]).getClass().getSimpleName().equals("ClientePremium")) {
-                        content.getChildren().add(mapPremium((ClientePremium) finalClientes.get(ind[0])));
-                    } else {
-                        content.getChildren().add(mapEstandard(finalClientes.get(ind[0])));
-                    }
-                    btnAnterior.setVisible(true);
+        // Tabla de clientes, filtramos por NIF, nombre, email y ciudad
+        TablaPaginada<Cliente> tabla = new TablaPaginada<>(PAGE_SIZE,
+                lastId -> controller.listClientesPageAfter(lastId, PAGE_SIZE),
+                Cliente::getId,
+                cliente -> cliente.getNif() + " " + cliente.getNombre() + " " + cliente.getEmail() + " " +
+                        cliente.getDomicilio().getCiudad());
+        tabla.addColumna("NIF", Cliente::getNif);
+        tabla.addColumna("Nombre", Cliente::getNombre);
+        tabla.addColumna("Email", Cliente::getEmail);
+        tabla.addColumna("Ciudad", cliente -> cliente.getDomicilio().getCiudad());
+        tabla.addColumna("Tipo", cliente -> cliente instanceof ClientePremium ? "Premium" : "Estándar");
+
+        // Panel con el detalle del cliente seleccionado
+        VBox detalle = new VBox();
+        tabla.getTabla().getSelectionModel().selectedItemProperty().addListener((obs, anterior, cliente) -> {
+            detalle.getChildren().clear();
+            if (cliente != null) detalle.getChildren().add(mapCliente(cliente));
+        });
 
-                    // Ocultamos el botón si es el último artículo
-                    btnSiguiente.setVisible(ind[0] < finalClientes.size() - 1);
-                }
-            });
+        // Añadimos el título, la tabla y el detalle al panel
+        VBox.setVgrow(tabla.getPane(), Priority.ALWAYS);
+        root.getChildren().addAll(title, tabla.getPane(), detalle);
 
-            // Añadimos el título y el contenido al panel
-            root.getChildren().addAll(title, content, buttons);
-        } else {
-            // Si no hay artículos, mostramos un mensaje
-            Text noClientes = new Text("No hay clientes que mostrar.");
-            noClientes.setFont(FontsDictionary.getFont("subtitle"));
-            noClientes.setFill(ColorsDictionary.getColor("text-light"));
-            root.getChildren().add(noClientes);
-        }
         return root;
     }
 
@@ -520,30 +446,40 @@ public class ClientesView {
 
         // Cargamos los datos y los enviamos al controlador
         btnAnadir.setOnAction(event -> {
-            // Creamos un cliente con los datos introducidos
-            controller.addCliente(txtNombre.getText(), txtNif.getText(), txtEmail.getText(), txtDireccion.getText(),
-                    txtPoblacion.getText(), txtProvincia.getText(), txtCodigoPostal.getText(), txtPais.getText(),
-                    tipoCliente.getValue())
-                    .ifPresentOrElse(data -> {
-                        nuevoCliente.setValue(data);
-                        throwExitPane();
-                    }, () -> throwErrorPane("crear"));
-            // Limpiamos el formulario
-            txtNif.clear();
-            txtNombre.clear();
-            txtEmail.clear();
-            txtDireccion.clear();
-            txtPoblacion.clear();
-            txtProvincia.clear();
-            txtCodigoPostal.clear();
-            txtPais.clear();
-
-            // Rellenamos la card con los datos del cliente creado
-            if (nuevoCliente.getValue().getClass().getSimpleName().equals("Premium")) {
-                card.getChildren().add(mapPremium((ClientePremium) nuevoCliente.getValue()));
-            } else {
-                card.getChildren().add(mapEstandard(nuevoCliente.getValue()));
-            }
+            // Capturamos los datos introducidos antes de lanzar la tarea
+            String nombre = txtNombre.getText();
+            String nif = txtNif.getText();
+            String email = txtEmail.getText();
+            String domicilio = txtDireccion.getText();
+            String poblacion = txtPoblacion.getText();
+            String provincia = txtProvincia.getText();
+            String codigoPostal = txtCodigoPostal.getText();
+            String pais = txtPais.getText();
+            String tipo = tipoCliente.getValue();
+            // Creamos un cliente con los datos introducidos en el hilo de la BD
+            TareasBD.ejecutar(btnAnadir, () -> controller.addCliente(nombre, nif, email, domicilio, poblacion, provincia,
+                    codigoPostal, pais, tipo), res -> {
+                res.ifPresentOrElse(data -> {
+                    nuevoCliente.setValue(data);
+                    throwExitPane();
+
+                    // Rellenamos la card con los datos del cliente creado
+                    if (data.getClass().getSimpleName().equals("Premium")) {
+                        card.getChildren().add(mapPremium((ClientePremium) data));
+                    } else {
+                        card.getChildren().add(mapEstandard(data));
+                    }
+                }, () -> throwErrorPane("crear"));
+                // Limpiamos el formulario
+                txtNif.clear();
+                txtNombre.clear();
+                txtEmail.clear();
+                txtDireccion.clear();
+                txtPoblacion.clear();
+                txtProvincia.clear();
+                txtCodigoPostal.clear();
+                txtPais.clear();
+            }, error -> throwErrorPane("excepcion"));
         });
 
         // Creamos el botón de cancelación
@@ -584,16 +520,20 @@ public class ClientesView {
     // Obtenemos un cliente por su NIF
     private static Pane showClienteByNif() {
         // Obtenemos una lista con los NIFs de los clientes para hacer la búsqueda más interactiva.
-        ArrayList<String> nifs = new ArrayList<>();
-        try {
-            nifs = controller.listClientesNif().orElseGet(() -> {
-                throwErrorPane("lista");
-                return new ArrayList<>();
-            });
-        } catch (Exception e) {
-            throwErrorPane("excepcion");
-            e.printStackTrace();
-        }
+        return PanelCarga.cargar("Cargando clientes...",
+                () -> controller.listClientesNif(),
+                res -> showClienteByNif(res.orElseGet(() -> {
+                    throwErrorPane("lista");
+                    return new ArrayList<>();
+                })),
+                error -> {
+                    throwErrorPane("excepcion");
+                    error.printStackTrace();
+                });
+    }
+
+    // Construimos el buscador con la lista de NIFs ya cargada
+    private static Pane showClienteByNif(ArrayList<String> nifs) {
 
         // Vamos a necesitar un formulario
         // Creamos el panel raíz
@@ -646,21 +586,24 @@ public class ClientesView {
             btnBuscar.setFont(FontsDictionary.getFont("button"));
             // Creamos la lógica del botón
             btnBuscar.setOnAction(event -> {
-                // Capturamos el nif del formulario y buscamos el cliente.
-                Cliente actualCliente = controller.buscarCliente(inputNif.getValue()).orElseGet(() -> {
-                    throwErrorPane("nif");
-                    return null;
-                });
-
-                // Componemos la card
-                card.getChildren().clear();
-                // Discriminamos el cliente
-                assert actualCliente != null;
-                if (actualCliente.getClass().getSimpleName().equals("ClientePremium")) {
-                    card.getChildren().add(mapPremium((ClientePremium) actualCliente));
-                } else {
-                    card.getChildren().add(mapEstandard(actualCliente));
-                }
+                // Capturamos el nif del formulario y buscamos el cliente en el hilo de la BD.
+                String nifBuscado = inputNif.getValue();
+                TareasBD.ejecutar(btnBuscar, () -> controller.buscarCliente(nifBuscado), res -> {
+                    Cliente actualCliente = res.orElseGet(() -> {
+                        throwErrorPane("nif");
+                        return null;
+                    });
+
+                    // Componemos la card
+                    card.getChildren().clear();
+                    // Discriminamos el cliente
+                    if (actualCliente == null) return;
+                    if (actualCliente.getClass().getSimpleName().equals("ClientePremium")) {
+                        card.getChildren().add(mapPremium((ClientePremium) actualCliente));
+                    } else {
+                        card.getChildren().add(mapEstandard(actualCliente));
+                    }
+                }, error -> throwErrorPane("excepcion"));
             });
 
             // Añadimos el formulario
@@ -680,6 +623,15 @@ public class ClientesView {
 
     // Obtenemos una lista de los clientes filtrados
     private static Pane filterClientes() {
+        // Comprobamos en el hilo de la BD que haya clientes antes de construir el formulario
+        return PanelCarga.cargar("Cargando clientes...",
+                () -> controller.listClientes().isPresent(),
+                ClientesView::filterClientes,
+                error -> throwErrorPane("excepcion"));
+    }
+
+    // Construimos el filtro sabiendo ya si hay clientes
+    private static Pane filterClientes(boolean hayClientes) {
         // Necesitaremos una lista de clientes
         ArrayList<Cliente> clientes = new ArrayList<>();
 
@@ -717,7 +669,7 @@ public class ClientesView {
         buttons.getChildren().addAll(btnAnterior, btnSiguiente);
 
         // Comprobamos que haya clientes
-        if (controller.listClientes().isPresent()) {
+        if (hayClientes) {
             // Creamos los campos del formulario
             Label lblTipo = new Label("Esocge el tipo de cliente");
             lblTipo.setFont(FontsDictionary.getFont("label"));
@@ -749,71 +701,73 @@ public class ClientesView {
                     clientes.clear();
                     // Obtenemos el valor del radio button seleccionado
                     String tipo = ((RadioButton) newValue).getText();
-                    // Devolvemos los clientes filtrados
-                    clientes.addAll(controller.filtrarClientes(tipo).orElseGet(ArrayList::new));
-
-                    // Necesitamos una variable final
-                    final int[] ind = {0};
-                    ArrayList<Cliente> finalClientes = clientes;
-                    // Comprobamos que haya clientes
-                    if (!clientes.isEmpty()) {
-                        // Discriminar el tipo de cliente y obtener el primer cliente
-                        if (tipo.equals("Estandard")) {
-                            content.getChildren().add(mapEstandard(finalClientes.get(ind[0])));
-                        } else {
-                            content.getChildren().add(mapPremium((ClientePremium) finalClientes.get(ind[0])));
-                        }
+                    // Devolvemos los clientes filtrados, los pedimos en el hilo de la BD con el formulario desactivado
+                    TareasBD.ejecutar(form, () -> controller.filtrarClientes(tipo).orElseGet(ArrayList::new), filtrados -> {
+                        clientes.addAll(filtrados);
+
+                        // Necesitamos una variable final
+                        final int[] ind = {0};
+                        ArrayList<Cliente> finalClientes = clientes;
+                        // Comprobamos que haya clientes
+                        if (!clientes.isEmpty()) {
+                            // Discriminar el tipo de cliente y obtener el primer cliente
+                            if (tipo.equals("Estandard")) {
+                                content.getChildren().add(mapEstandard(finalClientes.get(ind[0])));
+                            } else {
+                                content.getChildren().add(mapPremium((ClientePremium) finalClientes.get(ind[0])));
+                            }
 
-                        // Añadimos la lógica de los botones
-                        // Lógica anterior
-                        btnAnterior.setFont(FontsDictionary.getFont("button"));
-                        // Ocultamos el botón anterior si es el primer artículo
-                        btnAnterior.setVisible(false);
-                        btnAnterior.setOnAction(event -> {
-                            // Limpiamos los campos
-                            content.getChildren().remove(0, content.getChildren().size());
-                            if (ind[0] > 0) {
-                                ind[0]--;
-                                // Actualizamos el cliente
-                                // Discriminamos el tipo de cliente
-                                if (finalClientes.get(ind[0]).getClass().getSimpleName().equals("ClientePremium")) {
-                                    content.getChildren().add(mapPremium((ClientePremium) finalClientes.get(ind[0])));
-                                } else {
-                                    content.getChildren().add(mapEstandard(finalClientes.get(ind[0])));
+                            // Añadimos la lógica de los botones
+                            // Lógica anterior
+                            btnAnterior.setFont(FontsDictionary.getFont("button"));
+                            // Ocultamos el botón anterior si es el primer artículo
+                            btnAnterior.setVisible(false);
+                            btnAnterior.setOnAction(event -> {
+                                // Limpiamos los campos
+                                content.getChildren().remove(0, content.getChildren().size());
+                                if (ind[0] > 0) {
+                                    ind[0]--;
+                                    // Actualizamos el cliente
+                                    // Discriminamos el tipo de cliente
+                                    if (finalClientes.get(ind[0]).getClass().getSimpleName().equals("ClientePremium")) {
+                                        content.getChildren().add(mapPremium((ClientePremium) finalClientes.get(ind[0])));
+                                    } else {
+                                        content.getChildren().add(mapEstandard(finalClientes.get(ind[0])));
+                                    }
+
+                                    // Mostramos el botón siguiente si no es el último artículo
+                                    btnSiguiente.setVisible(ind[0] < finalClientes.size() - 1);
+
+                                    // Ocultamos el botón si es el primer artículo
+                                    btnAnterior.setVisible(ind[0] > 0);
                                 }
-
-                                // Mostramos el botón siguiente si no es el último artículo
-                                btnSiguiente.setVisible(ind[0] < finalClientes.size() - 1);
-
-                                // Ocultamos el botón si es el primer artículo
-                                btnAnterior.setVisible(ind[0] > 0);
-                            }
-                        });
-
-                        // Lógica siguiente
-                        btnSiguiente.setFont(FontsDictionary.getFont("button"));
-                        // Si no es el último artículo, se muestra el botón
-                        btnSiguiente.setVisible(ind[0] < finalClientes.size() - 1);
-                        btnSiguiente.setOnAction(event -> {
-                            // Limpiamos los campos
-                            content.getChildren().remove(0, content.getChildren().size());
-                            if (ind[0] < finalClientes.size() - 1) {
-                                ind[0]++;
-                                // Actualizamos el cliente
-                                // Discriminamos el tipo de cliente
-                                if (finalClientes.get(ind[0]).getClass().getSimpleName().equals("ClientePremium")) {
-                                    content.getChildren().add(mapPremium((ClientePremium) finalClientes.get(ind[0])));
-                                } else {
-                                    content.getChildren().add(mapEstandard(finalClientes.get(ind[0])));
+                            });
+
+                            // Lógica siguiente
+                            btnSiguiente.setFont(FontsDictionary.getFont("button"));
+                            // Si no es el último artículo, se muestra el botón
+                            btnSiguiente.setVisible(ind[0] < finalClientes.size() - 1);
+                            btnSiguiente.setOnAction(event -> {
+                                // Limpiamos los campos
+                                content.getChildren().remove(0, content.getChildren().size());
+                                if (ind[0] < finalClientes.size() - 1) {
+                                    ind[0]++;
+                                    // Actualizamos el cliente
+                                    // Discriminamos el tipo de cliente
+                                    if (finalClientes.get(ind[0]).getClass().getSimpleName().equals("ClientePremium")) {
+                                        content.getChildren().add(mapPremium((ClientePremium) finalClientes.get(ind[0])));
+                                    } else {
+                                        content.getChildren().add(mapEstandard(finalClientes.get(ind[0])));
+                                    }
+
+                                    btnAnterior.setVisible(true);
+
+                                    // Ocultamos el botón si es el último artículo
+                                    btnSiguiente.setVisible(ind[0] < finalClientes.size() - 1);
                                 }
-
-                                btnAnterior.setVisible(true);
-
-                                // Ocultamos el botón si es el último artículo
-                                btnSiguiente.setVisible(ind[0] < finalClientes.size() - 1);
-                            }
-                        });
-                    }
+                            });
+                        }
+                    }, error -> throwErrorPane("filtrar"));
                 }
             });
             // Añadimos los elementos al pane
@@ -874,6 +828,14 @@ public class ClientesView {
         alert.showAndWait();
     }
 
+    // Discriminamos el tipo de cliente para usar el mapeador correspondiente
+    private static Pane mapCliente(Cliente srcCliente) {
+        if (srcCliente instanceof ClientePremium) {
+            return mapPremium((ClientePremium) srcCliente);
+        }
+        return mapEstandard(srcCliente);
+    }
+
     // Mapeamos un cliente estandard
     private static Pane mapEstandard(Cliente srcCliente) {
         // Creamos el panel para mostrar la información
@@ -1,6 +1,7 @@
 package ciricefp.vista;
 
 import ciricefp.vista.controladores.MenuPrincipalController;
+import ciricefp.vista.controladores.TareasBD;
 import ciricefp.vista.dictionaries.ColorsDictionary;
 import ciricefp.vista.dictionaries.FontsDictionary;
 import javafx.application.Platform;
@@ -120,17 +121,25 @@ public class MenuPrincipalView {
         String cssFile = Objects.requireNonNull(classLoader.getResource("styles.css")).toExternalForm();
         scene.getStylesheets().add(cssFile);
 
-
-        // Cargamos los datos iniciales
-        if (!controller.getControlador().checkData()) {
-            // Si hay datos, cargamos la vista de carga de datos
-            Stage windowTestData = testDataLoaderView();
-            windowTestData.showAndWait();
-        }
-
         return scene;
     }
 
+    // Comprobamos si la BD tiene datos y, si está vacía, ofrecemos cargar los datos iniciales.
+    // La escena se construye sin esperar a la BD, así que lo comprobamos cuando la conexión ya está lista y
+    // la consulta se hace en segundo plano, en el hilo de la BD.
+    public static void comprobarDatosIniciales() {
+        TareasBD.ejecutar(() -> controller.getControlador().checkData(),
+                hayDatos -> {
+                    if (!hayDatos) {
+                        // Si no hay datos, cargamos la vista de carga de datos
+                        Stage windowTestData = testDataLoaderView();
+                        windowTestData.showAndWait();
+                    }
+                },
+                // Si no podemos comprobarlo, no molestamos al usuario con la carga de datos.
+                error -> { });
+    }
+
     // Generamos una ventana para la carga de datos por defecto
     public static Stage testDataLoaderView() {
         // Creamos la ventana
@@ -159,22 +168,17 @@ public class MenuPrincipalView {
         // Creamos los botones
         Button btAceptar = new Button("Aceptar");
         btAceptar.setFont(FontsDictionary.getFont("button"));
-        btAceptar.setOnAction(event -> {
-            if (controller.getControlador().loadTestData() >= 0) {
-                Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                alert.setTitle("Carga de datos iniciales");
-                alert.setHeaderText("Datos cargados correctamente");
-                alert.setContentText("Los datos se han cargado correctamente");
-                alert.showAndWait();
-            } else {
-                Alert alert = new Alert(Alert.AlertType.ERROR);
-                alert.setTitle("Carga de datos iniciales");
-                alert.setHeaderText("Error al cargar los datos");
-                alert.setContentText("Ha ocurrido un error al cargar los datos");
-                alert.showAndWait();
-            }
-            windowTestData.close();
-        });
+        // Cargamos los datos en el hilo de la BD, los botones quedan desactivados hasta que termine la carga
+        btAceptar.setOnAction(event -> TareasBD.ejecutar(buttons, () -> controller.getControlador().loadTestData(),
+                cargados -> {
+                    avisoCargaDatos(cargados >= 0);
+                    windowTestData.close();
+                },
+                error -> {
+                    error.printStackTrace();
+                    avisoCargaDatos(false);
+                    windowTestData.close();
+                }));
 
         Button btCancelar = new Button("Cancelar");
         btCancelar.setFont(FontsDictionary.getFont("button"));
@@ -199,6 +203,23 @@ public class MenuPrincipalView {
         return windowTestData;
     }
 
+    // Informamos del resultado de la carga de datos iniciales
+    private static void avisoCargaDatos(boolean cargados) {
+        if (cargados) {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Carga de datos iniciales");
+            alert.setHeaderText("Datos cargados correctamente");
+            alert.setContentText("Los datos se han cargado correctamente");
+            alert.showAndWait();
+        } else {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Carga de datos iniciales");
+            alert.setHeaderText("Error al cargar los datos");
+            alert.setContentText("Ha ocurrido un error al cargar los datos");
+            alert.showAndWait();
+        }
+    }
+
     public static MenuBar getMenu() {
         // Creamos el menú principal
         Menu fileMenu = new Menu("Archivo");
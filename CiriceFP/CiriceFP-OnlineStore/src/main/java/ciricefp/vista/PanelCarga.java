@@ -0,0 +1,71 @@
+package ciricefp.vista;
+
+import ciricefp.vista.controladores.TareasBD;
+import ciricefp.vista.dictionaries.ColorsDictionary;
+import ciricefp.vista.dictionaries.FontsDictionary;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Panel para las vistas que necesitan datos de la BD para construirse. Mientras la consulta se ejecuta en el hilo de
+ * la BD mostramos un indicador de carga y, cuando llegan los datos, lo sustituimos por el contenido construido con
+ * ellos. Así el hilo de JavaFX nunca espera a la BD para pintar una vista.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public final class PanelCarga {
+    // Obtenemos los rem para no trabajar con pixels
+    private static final double rem = new Text("").getBoundsInParent().getHeight();
+
+    private PanelCarga() {}
+
+    // Devolvemos el panel con el indicador de carga y lanzamos la consulta. Si falla, avisamos a la vista y dejamos
+    // un mensaje en lugar del contenido.
+    public static <T> VBox cargar(String mensaje, Callable<T> operacion, Function<T, Node> construir, Consumer<Throwable> alFallar) {
+        VBox contenedor = placeholder(mensaje);
+
+        TareasBD.ejecutar(operacion,
+                datos -> contenedor.getChildren().setAll(construir.apply(datos)),
+                error -> {
+                    alFallar.accept(error);
+                    contenedor.getChildren().setAll(texto("No se han podido cargar los datos"));
+                });
+
+        return contenedor;
+    }
+
+    // Panel con un indicador de progreso y un mensaje, para mostrar mientras se cargan los datos
+    public static VBox placeholder(String mensaje) {
+        VBox root = new VBox();
+        root.setPadding(new Insets(0.5 * rem));
+        root.setSpacing(0.5 * rem);
+        root.setAlignment(Pos.CENTER);
+        // Establecemos el color de fondo
+        Background background = new Background(new BackgroundFill(ColorsDictionary.getColor("background-dark"), CornerRadii.EMPTY, Insets.EMPTY));
+        root.setBackground(background);
+
+        // Indicador de progreso indeterminado y mensaje
+        root.getChildren().addAll(new ProgressIndicator(), texto(mensaje));
+        return root;
+    }
+
+    private static Text texto(String mensaje) {
+        Text texto = new Text(mensaje);
+        texto.setFill(ColorsDictionary.getColor("text-light"));
+        texto.setFont(FontsDictionary.getFont("text"));
+        return texto;
+    }
+}
@@ -1,11 +1,14 @@
 package ciricefp.vista;
 
-import ciricefp.modelo.ClientePremium;
+import ciricefp.modelo.Articulo;
 import ciricefp.modelo.Pedido;
+import ciricefp.modelo.PedidoResumen;
+import ciricefp.modelo.utils.FormatoExportacion;
 import ciricefp.vista.controladores.ArticulosController;
 import ciricefp.vista.controladores.ClientesController;
 import ciricefp.vista.controladores.MenuPrincipalController;
 import ciricefp.vista.controladores.PedidosController;
+import ciricefp.vista.controladores.TareasBD;
 import ciricefp.vista.dictionaries.ColorsDictionary;
 import ciricefp.vista.dictionaries.FontsDictionary;
 import javafx.beans.property.Property;
@@ -18,17 +21,22 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Objects;
+import java.util.Optional;
 
 public class PedidosView {
     // Obtenemos los rem para no trabajar con pixels
     private static final double rem = new Text("").getBoundsInParent().getHeight();
+    // Número de pedidos que pedimos a la BD en cada página del listado
+    private static final int PAGE_SIZE = 20;
     private final Pane pane;
     // Cargamos el controlador
     private static PedidosController controller;
@@ -90,7 +98,7 @@ public class PedidosView {
         // Actualizamos el estado de los pedidos
         btnActualizarEstado.setOnAction(event -> {
             content.getChildren().clear();
-            content.getChildren().add(updateEstado());
+            content.getChildren().add(updateEstado(btnActualizarEstado));
         });
 
         Button btnFiltrarPendientes = new Button("Mostrar pedidos pendientes");
@@ -109,8 +117,13 @@ public class PedidosView {
             content.getChildren().add(showPedidosByNif());
         });
 
+        Button btnExportar = new Button("Exportar pedidos");
+        btnExportar.setFont(FontsDictionary.getFont("button"));
+        // Exportamos todos los pedidos a un archivo
+        btnExportar.setOnAction(event -> exportPedidos(btnExportar));
+
         // Añadimos los botones a la sección de submenú
-        subMenu.getChildren().addAll(btnListar, btnAnadir, btnActualizarEstado, btnFiltrarPendientes, btnFiltrarPorCliente);
+        subMenu.getChildren().addAll(btnListar, btnAnadir, btnActualizarEstado, btnFiltrarPendientes, btnFiltrarPorCliente, btnExportar);
 
         // Añádimos el contenido
         content.getChildren().add(showPedidos());
@@ -129,20 +142,9 @@ public class PedidosView {
         return pane;
     }
 
-    // Mostramos todos los pedidos
+    // Mostramos todos los pedidos en una tabla. Solo se crean las filas visibles y los pedidos se piden a la BD por
+    // páginas a medida que nos desplazamos por la tabla.
     private static Pane showPedidos() {
-        // Obtenemos la lista de los pedidos
-        ArrayList<Pedido> pedidos = new ArrayList<>();
-        try {
-            pedidos = controller.listPedidos().orElseGet(() -> {
-                throwErrorPane("lista");
-                return new ArrayList<>();
-            });
-        } catch (Exception e) {
-            throwErrorPane("excepcion");
-            e.printStackTrace();
-        }
-
         // Creamos los paneles
         VBox root = new VBox();
         root.setPadding(new Insets(0.5 * rem));
@@ -152,112 +154,72 @@ public class PedidosView {
         // Espaciado entre elementos
         root.setSpacing(0.5 * rem);
 
-        // Panel para el contenido
-        GridPane content = new GridPane();
-        // La configuración del pane se realiza en los mapeadores
-
-        // Creamos los elementos
         // Generamos el título de la vista
         Text title = new Text("Listado de pedidos");
         title.setFill(ColorsDictionary.getColor("text-light"));
         title.setFont(FontsDictionary.getFont("subtitle"));
 
-        // Creamos la línea de botones
-        // Botón anterior --> Se muestra si no es el primer artículo
-        Button btnAnterior = new Button("Anterior");
-        // Botón siguiente --> Se muestra si no es el último artículo
-        Button btnSiguiente = new Button("Siguiente");
-        // Implementamos un botón para eliminar pedidos
-        Button btnEliminar = new Button("Eliminar pedidos");
-
-        // Creamos el panel para los botones
-        HBox buttons = new HBox();
-        buttons.setSpacing(0.5 * rem);
-        buttons.setAlignment(Pos.CENTER);
-        buttons.getChildren().addAll(btnAnterior, btnSiguiente, btnEliminar);
-
-        // Mostramos un pedido en el pane y crearemos botones para navegar por el listado
-        if (!pedidos.isEmpty()) {
-            int [] ind = {0};
+        // Tabla de pedidos, filtramos por número, NIF, nombre del cliente y artículo.
+        // Solo pedimos a la BD el resumen de cada pedido con los campos que mostramos.
+        TablaPaginada<PedidoResumen> tabla = new TablaPaginada<>(PAGE_SIZE,
+                lastId -> controller.listPedidosResumenPageAfter(lastId, PAGE_SIZE),
+                PedidoResumen::id,
+                pedido -> pedido.numeroPedido() + " " + pedido.nif() + " " + pedido.nombreCliente() + " " +
+                        pedido.codArticulo() + " " + pedido.descripcion());
+        tabla.addColumna("Número", PedidoResumen::numeroPedido);
+        tabla.addColumna("Fecha", PedidoResumen::fechaPedido);
+        tabla.addColumna("NIF", PedidoResumen::nif);
+        tabla.addColumna("Cliente", PedidoResumen::nombreCliente);
+        tabla.addColumna("Artículo", PedidoResumen::codArticulo);
+        tabla.addColumna("Unidades", PedidoResumen::unidades);
+        tabla.addColumna("Total (€)", PedidoResumen::total);
+        tabla.addColumna("Estado", pedido -> pedido.enviado() ? "Enviado" : "Pendiente");
+
+        // Panel con el detalle del pedido seleccionado
+        VBox detalle = new VBox();
+
+        // Implementamos un botón para eliminar pedidos --> Solo se activa si el pedido seleccionado no está enviado
+        Button btnEliminar = new Button("Eliminar pedido");
+        btnEliminar.setFont(FontsDictionary.getFont("button"));
+        btnEliminar.setDisable(true);
+
+        // Al seleccionar un pedido mostramos su detalle
+        tabla.getTabla().getSelectionModel().selectedItemProperty().addListener((obs, anterior, pedido) -> {
+            detalle.getChildren().clear();
+            btnEliminar.setDisable(pedido == null || pedido.enviado());
+            if (pedido != null) detalle.getChildren().add(mapPedido(pedido));
+        });
 
-            // Convertimos la lista de pedidos en un final para poderlo usar en los listeners
-            final ArrayList<Pedido> finalPedidos = pedidos;
+        btnEliminar.setOnAction(e -> {
+            PedidoResumen pedido = tabla.getTabla().getSelectionModel().getSelectedItem();
+            if (pedido == null) return;
 
-            // Limpiamos el contenido
-            content.getChildren().clear();
-            // Mostramos el primer pedido
-            content.getChildren().add(mapPedido(finalPedidos.get(ind[0])));
-
-            // Lógica anterior
-            btnAnterior.setFont(FontsDictionary.getFont("button"));
-            // Ocultamos el botón anterior si es el primer artículo
-            btnAnterior.setVisible(false);
-            btnAnterior.setOnAction(event -> {
-                // Limpiamos los campos
-                content.getChildren().remove(0, content.getChildren().size());
-                if (ind[0] > 0) {
-                    ind[0]--;
-                    // Actualizamos el pedido
-                    content.getChildren().add(mapPedido(finalPedidos.get(ind[0])));
-                    // Mostramos el botón siguiente si no es el último artículo
-                    btnSiguiente.setVisible(ind[0] < finalPedidos.size() - 1);
+            // Eliminamos el pedido en el hilo de la BD, el botón queda desactivado hasta que termine
+            TareasBD.ejecutar(btnEliminar, () -> controller.deletePedido(pedido.id()), resultado -> resultado.ifPresentOrElse(res -> {
+                // Mostramos un mensaje según el resultado
+                if (res) {
+                    throwExitPane("eliminar");
 
-                    // Ocultamos el botón si es el primer artículo
-                    btnAnterior.setVisible(ind[0] > 0);
+                    // Eliminamos también el pedido de la tabla
+                    tabla.remove(pedido);
+                } else {
+                    throwErrorPane("eliminar");
                 }
-            });
-
-            // Lógica siguiente
-            btnSiguiente.setFont(FontsDictionary.getFont("button"));
-            // Si no es el último artículo, se muestra el botón
-            btnSiguiente.setVisible(ind[0] < finalPedidos.size() - 1);
-            btnSiguiente.setOnAction(event -> {
-                // Limpiamos los campos
-                content.getChildren().remove(0, content.getChildren().size());
-                if (ind[0] < finalPedidos.size() - 1) {
-                    ind[0]++;
-                    // Actualizamos el pedido
-                    content.getChildren().add(mapPedido(finalPedidos.get(ind[0])));
-                    btnAnterior.setVisible(true);
+            }, () -> {
+                throwErrorPane("execepcion");
+            }), error -> throwErrorPane("excepcion"));
+        });
 
-                    // Ocultamos el botón si es el último artículo
-                    btnSiguiente.setVisible(ind[0] < finalPedidos.size() - 1);
-                }
-            });
+        // Creamos el panel para los botones
+        HBox buttons = new HBox();
+        buttons.setSpacing(0.5 * rem);
+        buttons.setAlignment(Pos.CENTER);
+        buttons.getChildren().addAll(btnEliminar);
 
-            // Lógica eliminar --> El botón solo se muestra si el pedido no está entregado
-            btnEliminar.setFont(FontsDictionary.getFont("button"));
-            btnEliminar.setVisible(!finalPedidos.get(ind[0]).getEsEnviado());
-            // Si no está enviado, permitimos eliminar el pedido
-            btnEliminar.setOnAction(e -> {
-                // Necesitaremos pasar el pedido al método
-                controller.deletePedido(finalPedidos.get(ind[0])).ifPresentOrElse(res -> {
-                    // Mostramos un mensaje según el resultado
-                    if (res) {
-                        throwExitPane("eliminar");
-
-                        // Eliminamos también el pedido de la lista
-                        finalPedidos.remove(ind[0]);
-
-                        // Actualizamos el panel
-                        content.getChildren().clear();
-                    } else {
-                        throwErrorPane("eliminar");
-                    }
-                }, () -> {
-                    throwErrorPane("execepcion");
-                });
-            });
+        // Añadimos el título, la tabla y el detalle al panel
+        VBox.setVgrow(tabla.getPane(), Priority.ALWAYS);
+        root.getChildren().addAll(title, tabla.getPane(), detalle, buttons);
 
-            // Añadimos el título y el contenido al panel
-            root.getChildren().addAll(title, content, buttons);
-        } else {
-            // Si no hay pedidos, mostramos un mensaje
-            Text noPedidos = new Text("No existen pedidos registrados");
-            noPedidos.setFill(ColorsDictionary.getColor("text-light"));
-            noPedidos.setFont(FontsDictionary.getFont("text"));
-            root.getChildren().addAll(title, noPedidos);
-        }
         return root;
     }
 
@@ -313,14 +275,15 @@ public class PedidosView {
 
                     // Capturamos el evento de cerrar la ventana -> Tenemos que llegar a la propiedad NIF del cliente
                     windowAddCliente.setOnCloseRequest(closeEvent -> {
-                        // Necesitamos obtener el último nif añadido a la BD. Para ello, usamos el controlador de clientes.
-                        ArrayList<String> nifs = clienteController.listClientesNif().orElseGet(ArrayList::new);
-
                         // Llamamos al formulario de creación de pedido adaptado para un nuevo cliente
                         formPane.getChildren().clear();
                         formPane.setVisible(true);
-                        // Obtenemos el último NIF añadido
-                        formPane.getChildren().add(addFormPedido(nifs.get(nifs.size() - 1)));
+                        // Necesitamos obtener el último nif añadido a la BD. Para ello, usamos el controlador de clientes.
+                        formPane.getChildren().add(PanelCarga.cargar("Cargando el nuevo cliente...",
+                                () -> clienteController.listClientesNif().orElseGet(ArrayList::new),
+                                // Obtenemos el último NIF añadido
+                                nifs -> nifs.isEmpty() ? PanelCarga.placeholder("No hay clientes") : addFormPedido(nifs.get(nifs.size() - 1)),
+                                error -> throwErrorPane("noClientes")));
                     });
                 } else {
                     // Añadimos el formulario para crear un pedido con un cliente existente
@@ -374,23 +337,10 @@ public class PedidosView {
         GridPane card = new GridPane();
         card.setVisible(false);
 
-        // Necesitamos una lista con los clientes con los nifs de los clientes y un diccionario con los códigos de los artículos y sus nombres
-        ArrayList<String> nifs = clientesController.listClientesNif().orElseGet(() -> {
-            throwErrorPane("noClientes");
-            return new ArrayList<>();
-        });
+        // Necesitamos una lista con los clientes con los nifs de los clientes y un diccionario con los códigos de los artículos y sus nombres.
+        // Los cargamos en el hilo de la BD una vez construido el formulario.
+        ArrayList<String> nifs = new ArrayList<>();
         HashMap<String, String> articulosMap = new HashMap<>();
-        articulosController.listArticulos().ifPresentOrElse(data -> {
-            // Creamos un diccionario con los códigos y nombres de los artículos
-            if (!data.isEmpty()) {
-                data.forEach(articulo -> articulosMap.put(articulo.getCodArticulo(), articulo.getDescripcion()));
-            } else {
-                // Si no hay artículos, mostramos un mensaje
-                throwErrorPane("noArticulos");
-            }
-        }, () -> {
-            throwErrorPane("execepcion");
-        });
 
         // Creamos los elementos del formulario
         // Nif cliente
@@ -400,7 +350,6 @@ public class PedidosView {
         lblNif.setAlignment(Pos.CENTER_LEFT);
         ComboBox<String> nif = new ComboBox<>();
         nif.setEditable(true);
-        nif.getItems().addAll(nifs);
         nif.setPromptText("NIF cliente");
         lblNif.setLabelFor(nif);
         // Añadimos un listener para que se muestre si el cliente no existe
@@ -420,7 +369,6 @@ public class PedidosView {
         lblArticulo.setAlignment(Pos.CENTER_LEFT);
         ComboBox<String> articulo = new ComboBox<>();
         articulo.setEditable(true);
-        articulo.getItems().addAll(articulosMap.keySet());
         articulo.setPromptText("Código artículo");
         lblArticulo.setLabelFor(articulo);
         // Añadimos un listener para que se muestre un mensaje si el artículo no existe
@@ -475,19 +423,24 @@ public class PedidosView {
             // Comprobamos que la cantidad sea mayor que 0
             if (Integer.parseInt(cantidad.getText()) > 0) {
                 // Creamos el pedido
-                controller.addPedido(nif.getEditor().getText(), articulo.getEditor().getText(), Integer.parseInt(cantidad.getText()))
-                        .ifPresentOrElse(data -> {
-                    // Si se ha creado correctamente, mostramos un mensaje
-                    newPedido.setValue(data);
-                    throwExitPane("crear");
-                }, () -> throwErrorPane("crear"));
-                // Limpiamos los campos del formulario
-                nif.getEditor().clear();
-                articulo.getEditor().clear();
-                cantidad.clear();
-
-                // Añadimos el nuevo pedido a la card
-                card.getChildren().add(mapPedido(newPedido.getValue()));
+                // Capturamos los valores del formulario antes de lanzar la tarea
+                String actNif = nif.getEditor().getText();
+                String codArticulo = articulo.getEditor().getText();
+                int unidades = Integer.parseInt(cantidad.getText());
+                TareasBD.ejecutar(btnAdd, () -> controller.addPedido(actNif, codArticulo, unidades), res -> {
+                    res.ifPresentOrElse(data -> {
+                        // Si se ha creado correctamente, mostramos un mensaje
+                        newPedido.setValue(data);
+                        throwExitPane("crear");
+
+                        // Añadimos el nuevo pedido a la card
+                        card.getChildren().add(mapPedido(data));
+                    }, () -> throwErrorPane("crear"));
+                    // Limpiamos los campos del formulario
+                    nif.getEditor().clear();
+                    articulo.getEditor().clear();
+                    cantidad.clear();
+                }, error -> throwErrorPane("excepcion"));
             } else {
                 // Si la cantidad es menor o igual que 0, mostramos un mensaje
                 throwErrorPane("cantidad");
@@ -518,6 +471,21 @@ public class PedidosView {
         form.addRow(2, lblCantidad, cantidad);
         formBox.getChildren().addAll(form, buttons);
 
+        // Cargamos los clientes y los artículos en el hilo de la BD, el formulario queda desactivado hasta que lleguen
+        formBox.setDisable(true);
+        TareasBD.ejecutar(() -> new DatosFormulario(clientesController.listClientesNif(), articulosController.listArticulos()),
+                datos -> {
+                    nifs.addAll(datos.nifs().orElseGet(() -> {
+                        throwErrorPane("noClientes");
+                        return new ArrayList<>();
+                    }));
+                    nif.getItems().setAll(nifs);
+                    cargarArticulos(datos.articulos(), articulosMap);
+                    articulo.getItems().setAll(articulosMap.keySet());
+                    formBox.setDisable(false);
+                },
+                error -> throwErrorPane("excepcion"));
+
         // Si se ha creado el pedido, lo mapeamos a un pane
         newPedido.addListener((observable, oldValue, newValue) -> {
             if (newValue != null) {
@@ -565,19 +533,8 @@ public class PedidosView {
         GridPane card = new GridPane();
         card.setVisible(false);
 
-        // Necesitamos un diccionario con los códigos de los artículos y sus nombres
+        // Necesitamos un diccionario con los códigos de los artículos y sus nombres, lo cargamos al final
         HashMap<String, String> articulosMap = new HashMap<>();
-        articulosController.listArticulos().ifPresentOrElse(data -> {
-            // Creamos un diccionario con los códigos y nombres de los artículos
-            if (!data.isEmpty()) {
-                data.forEach(articulo -> articulosMap.put(articulo.getCodArticulo(), articulo.getDescripcion()));
-            } else {
-                // Si no hay artículos, mostramos un mensaje
-                throwErrorPane("noArticulos");
-            }
-        }, () -> {
-            throwErrorPane("execepcion");
-        });
 
         // Creamos los elementos del formulario
         // Nif cliente
@@ -598,7 +555,6 @@ public class PedidosView {
         lblArticulo.setAlignment(Pos.CENTER_LEFT);
         ComboBox<String> articulo = new ComboBox<>();
         articulo.setEditable(true);
-        articulo.getItems().addAll(articulosMap.keySet());
         articulo.setPromptText("Código artículo");
         lblArticulo.setLabelFor(articulo);
         // Añadimos un listener para que se muestre un mensaje si el artículo no existe
@@ -653,19 +609,22 @@ public class PedidosView {
             // Comprobamos que la cantidad sea mayor que 0
             if (Integer.parseInt(cantidad.getText()) > 0) {
                 // Creamos el pedido
-                controller.addPedido(actNif, articulo.getEditor().getText(), Integer.parseInt(cantidad.getText()))
-                        .ifPresentOrElse(data -> {
-                            // Si se ha creado correctamente, mostramos un mensaje
-                            newPedido.setValue(data);
-                            throwExitPane("crear");
-                        }, () -> throwErrorPane("crear"));
-                // Limpiamos los campos del formulario
-                nifCliente.clear();
-                articulo.getEditor().clear();
-                cantidad.clear();
-
-                // Añadimos el nuevo pedido a la card
-                card.getChildren().add(mapPedido(newPedido.getValue()));
+                // Capturamos los valores del formulario antes de lanzar la tarea
+                String codArticulo = articulo.getEditor().getText();
+                int unidades = Integer.parseInt(cantidad.getText());
+                TareasBD.ejecutar(btnAdd, () -> controller.addPedido(actNif, codArticulo, unidades), res -> {
+                    res.ifPresentOrElse(data -> {
+                        // Si se ha creado correctamente, mostramos un mensaje
+                        newPedido.setValue(data);
+                        throwExitPane("crear");
+
+                        // Añadimos el nuevo pedido a la card
+                        card.getChildren().add(mapPedido(data));
+                    }, () -> throwErrorPane("crear"));
+                    // Limpiamos los campos del formulario
+                    articulo.getEditor().clear();
+                    cantidad.clear();
+                }, error -> throwErrorPane("excepcion"));
             } else {
                 // Si la cantidad es menor o igual que 0, mostramos un mensaje
                 throwErrorPane("cantidad");
@@ -696,6 +655,16 @@ public class PedidosView {
         form.addRow(2, lblCantidad, cantidad);
         formBox.getChildren().addAll(form, buttons);
 
+        // Cargamos los artículos en el hilo de la BD, el formulario queda desactivado hasta que lleguen
+        formBox.setDisable(true);
+        TareasBD.ejecutar(() -> articulosController.listArticulos(),
+                datos -> {
+                    cargarArticulos(datos, articulosMap);
+                    articulo.getItems().setAll(articulosMap.keySet());
+                    formBox.setDisable(false);
+                },
+                error -> throwErrorPane("excepcion"));
+
         // Si se ha creado el pedido, lo mapeamos a un pane
         newPedido.addListener((observable, oldValue, newValue) -> {
             if (newValue != null) {
@@ -759,7 +728,7 @@ public class PedidosView {
     }
 
     // Actualizamos el estado de los pedidos
-    private static Pane updateEstado() {
+    private static Pane updateEstado(Button disparador) {
         // Creamos un panel con una card informativa del resultado
         Pane root = new Pane();
         root.setPadding(new Insets(0.5 * rem));
@@ -777,37 +746,73 @@ public class PedidosView {
         // Añadimos el mensaje al panel
         root.getChildren().add(message);
 
-        // Llamamos al método para actualizar el estado de los pedidos
-        controller.updatePedidos().ifPresentOrElse(
-                // Si se ha actualizado algún pedido, se muestra el número de pedidos actualizados
-                value -> {
-                    if (value == 0) {
-                        throwExitPane("actualizar-0");
-                    } else {
-                        throwExitPane("actualizar", value);
-                    }
-                },
-                // Si no se ha actualizado ningún pedido, se muestra un mensaje
-                () -> throwErrorPane("actualizar")
-        );
+        // Llamamos al método para actualizar el estado de los pedidos en el hilo de la BD
+        TareasBD.ejecutar(disparador, () -> controller.updatePedidos(), res -> {
+            message.setText("Pedidos actualizados");
+            res.ifPresentOrElse(
+                    // Si se ha actualizado algún pedido, se muestra el número de pedidos actualizados
+                    value -> {
+                        if (value == 0) {
+                            throwExitPane("actualizar-0");
+                        } else {
+                            throwExitPane("actualizar", value);
+                        }
+                    },
+                    // Si no se ha actualizado ningún pedido, se muestra un mensaje
+                    () -> throwErrorPane("actualizar")
+            );
+        }, error -> {
+            message.setText("No se han podido actualizar los pedidos");
+            throwErrorPane("excepcion");
+        });
 
         return root;
     }
 
+    // Exportamos los pedidos al archivo que elija el usuario, el formato depende del filtro seleccionado
+    private static void exportPedidos(Button disparador) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Exportar pedidos");
+        fileChooser.setInitialFileName("pedidos.csv");
+        FileChooser.ExtensionFilter filtroCsv = new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv");
+        FileChooser.ExtensionFilter filtroJson = new FileChooser.ExtensionFilter("JSON Lines (*.jsonl)", "*.jsonl");
+        fileChooser.getExtensionFilters().addAll(filtroCsv, filtroJson);
+
+        // Si el usuario cancela, no hacemos nada
+        File destino = fileChooser.showSaveDialog(disparador.getScene().getWindow());
+        if (destino == null) return;
+
+        FormatoExportacion formato = fileChooser.getSelectedExtensionFilter() == filtroJson ?
+                FormatoExportacion.JSON : FormatoExportacion.CSV;
+
+        // Exportamos en el hilo de la BD, el botón queda desactivado hasta que termine
+        TareasBD.ejecutar(disparador, () -> controller.exportPedidos(destino.toPath(), formato), res -> res.ifPresentOrElse(
+                // Mostramos el número de pedidos exportados
+                value -> throwExitPane("exportar", value.intValue()),
+                () -> throwErrorPane("exportar")
+        ), error -> throwErrorPane("excepcion"));
+    }
+
     // Mostramos los pedidos pendientes
     private static Pane showPedidosPendientes() {
-        // Contenedor para la lista de pedidos
-        ArrayList<Pedido> pedidosPendientes = new ArrayList<>();
-        try {
-            pedidosPendientes = controller.listPedidosPendientes().orElseGet(() -> {
-                throwErrorPane("lista");
-                return new ArrayList<>();
-            });
-        } catch (Exception e) {
-            throwErrorPane("excepcion");
-            e.printStackTrace();
-        }
+        // Mostramos un indicador de carga mientras filtramos los pedidos en segundo plano
+        VBox contenedor = PanelCarga.placeholder("Buscando pedidos pendientes...");
+
+        TareasBD.ejecutar(() -> controller.listPedidosPendientes(),
+                res -> contenedor.getChildren().setAll(showPedidosPendientes(res.orElseGet(() -> {
+                    throwErrorPane("lista");
+                    return new ArrayList<>();
+                }))),
+                error -> {
+                    throwErrorPane("excepcion");
+                    contenedor.getChildren().setAll(showPedidosPendientes(new ArrayList<>()));
+                });
+
+        return contenedor;
+    }
 
+    // Construimos el listado de pedidos pendientes
+    private static Pane showPedidosPendientes(ArrayList<PedidoResumen> pedidosPendientes) {
         // Creamos los paneles
         VBox root = new VBox();
         root.setPadding(new Insets(0.5 * rem));
@@ -843,7 +848,7 @@ public class PedidosView {
             int [] ind = {0};
 
             // Convertimos la lista de pedidos en un final para poderlo usar en los listeners
-            final ArrayList<Pedido> finalPedidos = pedidosPendientes;
+            final ArrayList<PedidoResumen> finalPedidos = pedidosPendientes;
 
             // Limpiamos el contenido
             content.getChildren().clear();
@@ -904,17 +909,20 @@ public class PedidosView {
         // Necesitamos un controlador para obtener la información de los clientes
         ClientesController clientesController = new ClientesController(controller.getMenu());
         // Obtenemos una lista con los NIFs de los clientes para hacer la búsqueda más interactiva.
-        ArrayList<String> nifs = new ArrayList<>();
-        try {
-            nifs = clientesController.listClientesNif().orElseGet(() -> {
-                throwErrorPane("lista");
-                return new ArrayList<>();
-            });
-        } catch (Exception e) {
-            throwErrorPane("excepcion");
-            e.printStackTrace();
-        }
+        return PanelCarga.cargar("Cargando clientes...",
+                () -> clientesController.listClientesNif(),
+                res -> showPedidosByNif(res.orElseGet(() -> {
+                    throwErrorPane("lista");
+                    return new ArrayList<>();
+                })),
+                error -> {
+                    throwErrorPane("excepcion");
+                    error.printStackTrace();
+                });
+    }
 
+    // Construimos el buscador con la lista de NIFs ya cargada
+    private static Pane showPedidosByNif(ArrayList<String> nifs) {
         // Creamos los paneles
         VBox root = new VBox();
         root.setPadding(new Insets(0.5 * rem));
@@ -983,70 +991,73 @@ public class PedidosView {
             // Creamos la lógica del botón
             btnBuscar.setOnAction(event -> {
                 // Modificamos el título
-                title.setText("Pedidos del cliente con NIF: " + inputNif.getValue());
-                // Obtenemos los pedidos del cliente
-                ArrayList<Pedido> pedidosCliente = controller.listPedidosCliente(inputNif.getValue()).orElseGet(() -> {
-                    throwErrorPane("lista");
-                    return new ArrayList<>();
-                });
-
-                // Limpiamos los campos
-                content.getChildren().clear();
-
-                // Si hay pedidos, los mostramos
-                if (!pedidosCliente.isEmpty()) {
-                    // Creamos las variables finales
-                    final int[] ind = {0};
-                    final ArrayList<Pedido> finalPedidos = pedidosCliente;
-
-                    // Mostramos el primer pedido
-                    content.getChildren().add(mapPedido(finalPedidos.get(ind[0])));
-
-                    // Lógica anterior
-                    btnAnterior.setFont(FontsDictionary.getFont("button"));
-                    // Ocultamos el botón anterior si es el primer artículo
-                    btnAnterior.setVisible(false);
-                    btnAnterior.setOnAction(e -> {
-                        // Limpiamos los campos
-                        content.getChildren().remove(0, content.getChildren().size());
-                        if (ind[0] > 0) {
-                            ind[0]--;
-                            // Actualizamos el pedido
-                            content.getChildren().add(mapPedido(finalPedidos.get(ind[0])));
-                            // Mostramos el botón siguiente si no es el último artículo
-                            btnSiguiente.setVisible(ind[0] < finalPedidos.size() - 1);
-
-                            // Ocultamos el botón si es el primer artículo
-                            btnAnterior.setVisible(ind[0] > 0);
-                        }
+                String nifBuscado = inputNif.getValue();
+                title.setText("Pedidos del cliente con NIF: " + nifBuscado);
+                // Obtenemos los pedidos del cliente en el hilo de la BD
+                TareasBD.ejecutar(btnBuscar, () -> controller.listPedidosCliente(nifBuscado), res -> {
+                    ArrayList<Pedido> pedidosCliente = res.orElseGet(() -> {
+                        throwErrorPane("lista");
+                        return new ArrayList<>();
                     });
 
-                    // Lógica siguiente
-                    btnSiguiente.setFont(FontsDictionary.getFont("button"));
-                    // Si no es el último artículo, se muestra el botón
-                    btnSiguiente.setVisible(ind[0] < finalPedidos.size() - 1);
-                    btnSiguiente.setOnAction(e -> {
-                        // Limpiamos los campos
-                        content.getChildren().remove(0, content.getChildren().size());
-                        if (ind[0] < finalPedidos.size() - 1) {
-                            ind[0]++;
-                            // Actualizamos el pedido
-                            content.getChildren().add(mapPedido(finalPedidos.get(ind[0])));
-                            btnAnterior.setVisible(true);
-
-                            // Ocultamos el botón si es el último artículo
-                            btnSiguiente.setVisible(ind[0] < finalPedidos.size() - 1);
-                        }
-                    });
-                } else {
-                    // Si no hay pedidos, mostramos un mensaje
-                    // Añadimos el nif al título
-                    title.setText("Pedidos del cliente con NIF: " + inputNif.getValue());
-                    Text noPedidos = new Text("No existen pedidos que mostrar.");
-                    noPedidos.setFill(ColorsDictionary.getColor("text-light"));
-                    noPedidos.setFont(FontsDictionary.getFont("subtitle"));
-                    root.getChildren().addAll(noPedidos);
-                }
+                    // Limpiamos los campos
+                    content.getChildren().clear();
+
+                    // Si hay pedidos, los mostramos
+                    if (!pedidosCliente.isEmpty()) {
+                        // Creamos las variables finales
+                        final int[] ind = {0};
+                        final ArrayList<Pedido> finalPedidos = pedidosCliente;
+
+                        // Mostramos el primer pedido
+                        content.getChildren().add(mapPedido(finalPedidos.get(ind[0])));
+
+                        // Lógica anterior
+                        btnAnterior.setFont(FontsDictionary.getFont("button"));
+                        // Ocultamos el botón anterior si es el primer artículo
+                        btnAnterior.setVisible(false);
+                        btnAnterior.setOnAction(e -> {
+                            // Limpiamos los campos
+                            content.getChildren().remove(0, content.getChildren().size());
+                            if (ind[0] > 0) {
+                                ind[0]--;
+                                // Actualizamos el pedido
+                                content.getChildren().add(mapPedido(finalPedidos.get(ind[0])));
+                                // Mostramos el botón siguiente si no es el último artículo
+                                btnSiguiente.setVisible(ind[0] < finalPedidos.size() - 1);
+
+                                // Ocultamos el botón si es el primer artículo
+                                btnAnterior.setVisible(ind[0] > 0);
+                            }
+                        });
+
+                        // Lógica siguiente
+                        btnSiguiente.setFont(FontsDictionary.getFont("button"));
+                        // Si no es el último artículo, se muestra el botón
+                        btnSiguiente.setVisible(ind[0] < finalPedidos.size() - 1);
+                        btnSiguiente.setOnAction(e -> {
+                            // Limpiamos los campos
+                            content.getChildren().remove(0, content.getChildren().size());
+                            if (ind[0] < finalPedidos.size() - 1) {
+                                ind[0]++;
+                                // Actualizamos el pedido
+                                content.getChildren().add(mapPedido(finalPedidos.get(ind[0])));
+                                btnAnterior.setVisible(true);
+
+                                // Ocultamos el botón si es el último artículo
+                                btnSiguiente.setVisible(ind[0] < finalPedidos.size() - 1);
+                            }
+                        });
+                    } else {
+                        // Si no hay pedidos, mostramos un mensaje
+                        // Añadimos el nif al título
+                        title.setText("Pedidos del cliente con NIF: " + nifBuscado);
+                        Text noPedidos = new Text("No existen pedidos que mostrar.");
+                        noPedidos.setFill(ColorsDictionary.getColor("text-light"));
+                        noPedidos.setFont(FontsDictionary.getFont("subtitle"));
+                        root.getChildren().addAll(noPedidos);
+                    }
+                }, error -> throwErrorPane("excepcion"));
             });
             // Añadimos los elementos al formulario
             form.getChildren().addAll(lblNif, inputNif, btnBuscar);
@@ -1077,6 +1088,7 @@ public class PedidosView {
             case "buscar" -> errorAlert.setContentText("No se ha podido encontrar el pedido");
             case "actualizar" -> errorAlert.setContentText("No se ha podido actualizar el estado de los pedidos");
             case "eliminar" -> errorAlert.setContentText("No se ha podido eliminar el pedido");
+            case "exportar" -> errorAlert.setContentText("No se han podido exportar los pedidos");
             case "noArticulos" -> errorAlert.setContentText("No se ha podido obtener la lista de artículos");
             case "noClientes" -> errorAlert.setContentText("No se ha podido obtener la lista de clientes");
             case "excepcion" -> errorAlert.setContentText("Ha ocurrido un error no definido");
@@ -1122,7 +1134,10 @@ public class PedidosView {
         exitAlert.setHeaderText("Operación realizada con éxito");
 
         // Creamos el mensaje
-        exitAlert.setContentText("Se han actualizado " + count + " pedidos");
+        switch (type) {
+            case "exportar" -> exitAlert.setContentText("Se han exportado " + count + " pedidos");
+            default -> exitAlert.setContentText("Se han actualizado " + count + " pedidos");
+        }
 
         // Estilamos el diálogo
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
@@ -1133,8 +1148,30 @@ public class PedidosView {
         exitAlert.showAndWait();
     }
 
+    // Datos que necesita el formulario de pedidos, los cargamos juntos en una sola tarea
+    private record DatosFormulario(Optional<ArrayList<String>> nifs, Optional<ArrayList<Articulo>> articulos) { }
+
+    // Creamos un diccionario con los códigos y nombres de los artículos
+    private static void cargarArticulos(Optional<ArrayList<Articulo>> articulos, HashMap<String, String> articulosMap) {
+        articulos.ifPresentOrElse(data -> {
+            if (!data.isEmpty()) {
+                data.forEach(articulo -> articulosMap.put(articulo.getCodArticulo(), articulo.getDescripcion()));
+            } else {
+                // Si no hay artículos, mostramos un mensaje
+                throwErrorPane("noArticulos");
+            }
+        }, () -> {
+            throwErrorPane("execepcion");
+        });
+    }
+
     // Mapeador para los pedidos
     private static Pane mapPedido(Pedido pedido) {
+        return mapPedido(PedidoResumen.de(pedido));
+    }
+
+    // Mapeador para los resúmenes de pedido, es lo que usan los listados
+    private static Pane mapPedido(PedidoResumen pedido) {
         // Creamos el panel para mostrar la información
         GridPane content = new GridPane();
         content.setPadding(new Insets(0.5 * rem));
@@ -1149,26 +1186,26 @@ public class PedidosView {
         Label lblNumeroPedido = new Label("Número de pedido");
         lblNumeroPedido.setFont(FontsDictionary.getFont("label"));
         lblNumeroPedido.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtNumeroPedido = new Text(String.valueOf(pedido.getNumeroPedido()));
+        Text txtNumeroPedido = new Text(String.valueOf(pedido.numeroPedido()));
         lblNumeroPedido.setLabelFor(txtNumeroPedido);
         // Fecha de pedido
         Label lblFechaPedido = new Label("Fecha de pedido");
         lblFechaPedido.setFont(FontsDictionary.getFont("label"));
         lblFechaPedido.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtFechaPedido = new Text(pedido.getFechaPedido().toString());
+        Text txtFechaPedido = new Text(pedido.fechaPedido().toString());
         lblFechaPedido.setLabelFor(txtFechaPedido);
 
         // Datos del cliente
         Label lblClienteNif = new Label("NIF");
         lblClienteNif.setFont(FontsDictionary.getFont("label"));
         lblClienteNif.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtClienteNif = new Text(pedido.getCliente().getNif());
+        Text txtClienteNif = new Text(pedido.nif());
         lblClienteNif.setLabelFor(txtClienteNif);
         // Nombre del cliente
         Label lblClienteNombre = new Label("Nombre");
         lblClienteNombre.setFont(FontsDictionary.getFont("label"));
         lblClienteNombre.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtClienteNombre = new Text(pedido.getCliente().getNombre());
+        Text txtClienteNombre = new Text(pedido.nombreCliente());
         lblClienteNombre.setLabelFor(txtClienteNombre);
         // Si el cliente es premium, añadimos el número de socio
         Label lblCLienteNumeroSocio = new Label("Cod socio");
@@ -1176,33 +1213,33 @@ public class PedidosView {
         lblCLienteNumeroSocio.setTextFill(ColorsDictionary.getColor("text-dark"));
         Text txtClienteNumeroSocio = new Text();
         lblCLienteNumeroSocio.setLabelFor(txtClienteNumeroSocio);
-        if (pedido.getCliente().getClass().getSimpleName().equals("ClientePremium")) {
-            txtClienteNumeroSocio = new Text(String.valueOf(((ClientePremium) pedido.getCliente()).getCodSocio()));
+        if (pedido.esPremium()) {
+            txtClienteNumeroSocio = new Text(pedido.codSocio());
         }
 
         // Datos del artículo
         Label lblCodArticulo = new Label("Código");
         lblCodArticulo.setFont(FontsDictionary.getFont("label"));
         lblCodArticulo.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtCodArticulo = new Text(pedido.getArticulo().getCodArticulo());
+        Text txtCodArticulo = new Text(pedido.codArticulo());
         lblCodArticulo.setLabelFor(txtCodArticulo);
         // Unidades pedidas
         Label lblunidades = new Label("Unidades");
         lblunidades.setFont(FontsDictionary.getFont("label"));
         lblunidades.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtUnidades = new Text(String.valueOf(pedido.getUnidades()));
+        Text txtUnidades = new Text(String.valueOf(pedido.unidades()));
         lblunidades.setLabelFor(txtUnidades);
         // Precio de venta
         Label lblPrecioVenta = new Label("PVP");
         lblPrecioVenta.setFont(FontsDictionary.getFont("label"));
         lblPrecioVenta.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtPrecioVenta = new Text(String.valueOf(pedido.getArticulo().getPvp()));
+        Text txtPrecioVenta = new Text(String.valueOf(pedido.pvp()));
         lblPrecioVenta.setLabelFor(txtPrecioVenta);
         // Total línea
         Label lblTotalLinea = new Label("Subtotal");
         lblTotalLinea.setFont(FontsDictionary.getFont("label"));
         lblTotalLinea.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtTotalLinea = new Text(String.valueOf(pedido.getUnidades() * pedido.getArticulo().getPvp()));
+        Text txtTotalLinea = new Text(String.valueOf(pedido.subtotal()));
         lblTotalLinea.setLabelFor(txtTotalLinea);
 
         // Línea de totales
@@ -1210,19 +1247,19 @@ public class PedidosView {
         Label lblGastosEnvio = new Label("Gastos de envío");
         lblGastosEnvio.setFont(FontsDictionary.getFont("label"));
         lblGastosEnvio.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtGastosEnvio = new Text(pedido.precioEnvio() + "€");
+        Text txtGastosEnvio = new Text(pedido.gastosEnvio() + "€");
         lblGastosEnvio.setLabelFor(txtGastosEnvio);
         Label lblTotal = new Label("Total");
         lblTotal.setFont(FontsDictionary.getFont("label"));
         lblTotal.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtTotal = new Text(pedido.precioTotal() + "€");
+        Text txtTotal = new Text(pedido.total() + "€");
         lblTotal.setLabelFor(txtTotal);
 
         // Estado del pedido
         Label lblEstado = new Label("Estado");
         lblEstado.setFont(FontsDictionary.getFont("label"));
         lblEstado.setTextFill(ColorsDictionary.getColor("text-dark"));
-        Text txtEstado = new Text(pedido.getEsEnviado() ? "Enviado" : "Pendiente de envío");
+        Text txtEstado = new Text(pedido.enviado() ? "Enviado" : "Pendiente de envío");
         lblEstado.setLabelFor(txtEstado);
 
         // Pintamos los separadores
@@ -1238,7 +1275,7 @@ public class PedidosView {
 
         // Diseñamos el panel
         // Pane cliente Premium
-        if (pedido.getCliente().getClass().getSimpleName().equals("Cliente Premium")) {
+        if (pedido.esPremium()) {
             content.addRow(0, lblNumeroPedido, txtNumeroPedido, lblFechaPedido, txtFechaPedido);
             content.addRow(1, lblClienteNif, txtClienteNif, lblClienteNombre, txtClienteNombre);
             content.addRow(2, lblCLienteNumeroSocio, txtClienteNumeroSocio);
@@ -0,0 +1,84 @@
+package ciricefp.vista;
+
+import ciricefp.vista.dictionaries.ColorsDictionary;
+import ciricefp.vista.dictionaries.FontsDictionary;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+import java.util.Objects;
+
+/* Generamos la pantalla de inicio que se muestra mientras se conecta la BD y se construye el menú principal.
+* No depende de la BD ni de Hibernate, así que aparece en cuanto arranca JavaFX. */
+public class SplashView {
+    private static final Integer DEFAULT_WIDTH = 480;
+    private static final Integer DEFAULT_HEIGHT = 320;
+    // Obtenemos los rem para no trabajar con pixels
+    private static final double rem = new Text("").getBoundsInParent().getHeight();
+    private final Stage stage;
+    private final Text estado;
+
+    public SplashView() {
+        estado = new Text("Conectando con la base de datos...");
+        stage = generateStage(estado);
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    // Actualizamos el texto con la fase de arranque en curso.
+    public void setEstado(String texto) {
+        estado.setText(texto);
+    }
+
+    private static Stage generateStage(Text estado) {
+        // Usamos un VBox centrado como componente raíz
+        VBox root = new VBox(1 * rem);
+        root.setPadding(new Insets(1.5 * rem));
+        root.setAlignment(Pos.CENTER);
+        Background background = new Background(new BackgroundFill(ColorsDictionary.getColor("background-dark"), CornerRadii.EMPTY, Insets.EMPTY));
+        root.setBackground(background);
+
+        // Capturamos el logo
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Image logo = new Image(String.valueOf(Objects.requireNonNull(classLoader.getResource("logo-cirice.png"))));
+        ImageView banner = new ImageView(logo);
+        banner.setFitWidth(6 * rem);
+        banner.setPreserveRatio(true);
+
+        Text title = new Text("Online Store");
+        title.setFill(ColorsDictionary.getColor("text-light"));
+        title.setFont(FontsDictionary.getFont("title"));
+
+        // Indicador de progreso indeterminado, no sabemos cuánto tardará la conexión.
+        ProgressIndicator progreso = new ProgressIndicator();
+        progreso.setMaxSize(2 * rem, 2 * rem);
+
+        estado.setFill(ColorsDictionary.getColor("text-light"));
+        estado.setFont(FontsDictionary.getFont("subtitle"));
+
+        root.getChildren().addAll(banner, title, progreso, estado);
+
+        Scene scene = new Scene(root, DEFAULT_WIDTH, DEFAULT_HEIGHT);
+        scene.setFill(ColorsDictionary.getColor("background-dark"));
+
+        // Ventana sin bordes ni barra de título
+        Stage stage = new Stage(StageStyle.UNDECORATED);
+        stage.setTitle("Online Store");
+        stage.setScene(scene);
+        stage.centerOnScreen();
+
+        return stage;
+    }
+}
@@ -0,0 +1,177 @@
+package ciricefp.vista;
+
+import ciricefp.vista.controladores.TareasBD;
+import ciricefp.vista.dictionaries.ColorsDictionary;
+import ciricefp.vista.dictionaries.FontsDictionary;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.*;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Tabla para los listados de las vistas. La TableView solo crea las celdas de las filas visibles y las reutiliza al
+ * desplazarnos, así que el coste de pintar no depende del número de registros.
+ * Los registros se piden a la BD por páginas (keyset sobre el id) a medida que nos acercamos al final de la tabla, y
+ * se guardan en una lista observable envuelta en un FilteredList y un SortedList para filtrar y ordenar por columnas.
+ * El filtro y la ordenación se aplican sobre los registros ya cargados.
+ *
+ * @param <T> Tipo de la entidad que se muestra en la tabla.
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public class TablaPaginada<T> {
+    // Cuando quedan menos filas que este umbral por mostrar, pedimos la página siguiente.
+    private static final int UMBRAL = 10;
+
+    private final int tamanoPagina;
+    // Obtiene la página siguiente al id indicado (null para la primera página).
+    private final Function<Long, Optional<ArrayList<T>>> siguientePagina;
+    // Obtiene el id de un registro, lo usamos como clave de la paginación.
+    private final Function<T, Long> id;
+    // Texto del registro sobre el que buscamos el filtro.
+    private final Function<T, String> textoFiltro;
+
+    // Registros cargados en el orden de la BD.
+    private final ObservableList<T> datos = FXCollections.observableArrayList();
+    private final FilteredList<T> filtrados = new FilteredList<>(datos);
+    private final SortedList<T> ordenados = new SortedList<>(filtrados);
+
+    private final TableView<T> tabla = new TableView<>(ordenados);
+    private final TextField filtro = new TextField();
+    private final Text estado = new Text();
+    private final VBox root = new VBox();
+
+    // Control de la carga de páginas.
+    private boolean cargando = false;
+    private boolean completa = false;
+    // Invalidamos las páginas que lleguen de una carga anterior a recargar().
+    private int generacion = 0;
+
+    public TablaPaginada(int tamanoPagina, Function<Long, Optional<ArrayList<T>>> siguientePagina,
+                         Function<T, Long> id, Function<T, String> textoFiltro) {
+        this.tamanoPagina = tamanoPagina;
+        this.siguientePagina = siguientePagina;
+        this.id = id;
+        this.textoFiltro = textoFiltro;
+
+        // Ordenamos según las columnas que seleccione el usuario.
+        ordenados.comparatorProperty().bind(tabla.comparatorProperty());
+        tabla.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        tabla.setPlaceholder(new ProgressIndicator());
+        VBox.setVgrow(tabla, Priority.ALWAYS);
+
+        // Cuando se pinta una de las últimas filas, pedimos la página siguiente.
+        tabla.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            public void updateIndex(int i) {
+                super.updateIndex(i);
+                if (i >= 0 && i >= tabla.getItems().size() - UMBRAL) cargarSiguiente();
+            }
+        });
+
+        // Filtramos sin distinguir mayúsculas sobre el texto de cada registro.
+        filtro.setPromptText("Filtrar...");
+        filtro.setFont(FontsDictionary.getFont("text"));
+        filtro.textProperty().addListener((obs, anterior, texto) -> {
+            String buscado = texto.trim().toLowerCase();
+            filtrados.setPredicate(buscado.isEmpty() ? null :
+                    registro -> textoFiltro.apply(registro).toLowerCase().contains(buscado));
+            // Si el filtro deja pocas filas, seguimos cargando páginas para completar la tabla.
+            completarFiltro();
+        });
+
+        estado.setFill(ColorsDictionary.getColor("text-light"));
+        estado.setFont(FontsDictionary.getFont("text"));
+
+        root.setSpacing(5);
+        root.getChildren().addAll(filtro, tabla, estado);
+
+        cargarSiguiente();
+    }
+
+    // Añadimos una columna con el valor que devuelve la función para cada registro. Si el valor es Comparable,
+    // la columna se puede ordenar.
+    public <V> TableColumn<T, V> addColumna(String titulo, Function<T, V> valor) {
+        TableColumn<T, V> columna = new TableColumn<>(titulo);
+        columna.setCellValueFactory(celda -> new ReadOnlyObjectWrapper<>(valor.apply(celda.getValue())));
+        tabla.getColumns().add(columna);
+
+        return columna;
+    }
+
+    // Pedimos la página siguiente en segundo plano, si no hay ya una en camino.
+    private void cargarSiguiente() {
+        if (cargando || completa) return;
+        cargando = true;
+
+        int actual = generacion;
+        Long ultimoId = datos.isEmpty() ? null : id.apply(datos.get(datos.size() - 1));
+
+        TareasBD.ejecutar(() -> siguientePagina.apply(ultimoId).orElseGet(ArrayList::new),
+                pagina -> {
+                    // Descartamos la página si se ha recargado la tabla mientras llegaba.
+                    if (actual != generacion) return;
+                    cargando = false;
+                    completa = pagina.size() < tamanoPagina;
+                    datos.addAll(pagina);
+                    actualizarEstado();
+                    completarFiltro();
+                },
+                error -> {
+                    if (actual != generacion) return;
+                    cargando = false;
+                    completa = true;
+                    estado.setText("No se han podido cargar los registros");
+                    actualizarEstado();
+                });
+    }
+
+    // Con un filtro activo puede que las filas cargadas no lleguen a llenar la tabla, en ese caso seguimos pidiendo
+    // páginas hasta tener suficientes o llegar al final.
+    private void completarFiltro() {
+        if (filtrados.size() < UMBRAL) cargarSiguiente();
+    }
+
+    // Mostramos cuántos registros hay cargados.
+    private void actualizarEstado() {
+        if (completa && datos.isEmpty()) {
+            tabla.setPlaceholder(new Label("No hay registros que mostrar"));
+        }
+        estado.setText(datos.size() + (completa ? " registros" : " registros cargados, desplázate para cargar más"));
+    }
+
+    // Volvemos a cargar la tabla desde la primera página, por ejemplo después de borrar o añadir registros.
+    public void recargar() {
+        generacion++;
+        cargando = false;
+        completa = false;
+        datos.clear();
+        tabla.setPlaceholder(new ProgressIndicator());
+        cargarSiguiente();
+    }
+
+    // Eliminamos un registro de la tabla sin recargarla.
+    public void remove(T registro) {
+        datos.remove(registro);
+        actualizarEstado();
+    }
+
+    public TableView<T> getTabla() {
+        return tabla;
+    }
+
+    // Obtenemos el panel con el filtro, la tabla y el estado de la carga.
+    public VBox getPane() {
+        return root;
+    }
+}
@@ -53,7 +53,7 @@ public class ArticulosController implements IArticuloController {
         if (descripcion != null && precio > 0 && gastosEnvio > 0 && tiempoPreparacion > 0) {
             // Llamamos al controlador para añadir el artículo
             try{
-                return menu.createArticulo(descripcion, precio, gastosEnvio, tiempoPreparacion);
+                return TareasBD.esperar(() -> menu.createArticulo(descripcion, precio, gastosEnvio, tiempoPreparacion));
             } catch (Exception e) {
                 System.out.println("Error al crear el artículo: ");
                 e.printStackTrace();
@@ -68,7 +68,7 @@ public class ArticulosController implements IArticuloController {
     public Optional<ArrayList<Articulo>> listArticulos() {
         // Producto 5 -->
         try {
-            return menu.listArticulos();
+            return TareasBD.esperar(() -> menu.listArticulos());
         } catch (Exception e) {
             System.out.println("Error al listar los artículos: ");
             e.printStackTrace();
@@ -77,12 +77,26 @@ public class ArticulosController implements IArticuloController {
         return Optional.empty();
     }
 
+    // Obtenemos la página de artículos siguiente al último id mostrado
+    @Override
+    public Optional<ArrayList<Articulo>> listArticulosPageAfter(Long lastId, int limit) {
+        try {
+            return TareasBD.esperar(() -> menu.listArticulosPageAfter(lastId, limit));
+        } catch (Exception e) {
+            System.out.println("Error al listar la página de artículos");
+            e.printStackTrace();
+        }
+        // Si no es posible listar la página devolvemos un Optional vacío
+        return Optional.empty();
+    }
+
     // Borrar todos los artículos
     @Override
     public Optional<Integer> clearArticulos() {
         // Producto 5 --> Adaptamos el método para trabajar con un GUI
         try {
-            return Optional.of(menu.clearArticulos());
+            // Un resultado negativo indica que no se ha podido ejecutar la limpieza.
+            return Optional.of(TareasBD.esperar(() -> menu.clearArticulos())).filter(eliminados -> eliminados >= 0);
         } catch (Exception e) {
             System.out.println("Error al borrar los artículos: ");
             e.printStackTrace();
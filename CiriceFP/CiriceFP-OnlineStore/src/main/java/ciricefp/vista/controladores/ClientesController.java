@@ -53,7 +53,7 @@ public class ClientesController implements IClienteController {
                            String provincia, String cp, String pais, String tipo) {
         // Producto 5 --> Creamos el cliente mediante GUI
         try {
-            return menu.createCliente(nombre, domicilio, poblacion, provincia, cp, pais, nif, email, tipo);
+            return TareasBD.esperar(() -> menu.createCliente(nombre, domicilio, poblacion, provincia, cp, pais, nif, email, tipo));
         } catch (Exception e) {
             System.out.println("Error al crear el cliente");
             e.printStackTrace();
@@ -67,7 +67,7 @@ public class ClientesController implements IClienteController {
     public Optional<ArrayList<Cliente>> listClientes() {
         // Producto 5 --> Mostramos los clientes mediante GUI
         try {
-            return menu.listClientes();
+            return TareasBD.esperar(() -> menu.listClientes());
         } catch (Exception e) {
             System.out.println("Error al listar los clientes");
             e.printStackTrace();
@@ -76,12 +76,38 @@ public class ClientesController implements IClienteController {
         return Optional.empty();
     }
 
+    // Obtenemos una página de clientes mediante offset
+    @Override
+    public Optional<ArrayList<Cliente>> listClientesPage(int offset, int limit) {
+        try {
+            return TareasBD.esperar(() -> menu.listClientesPage(offset, limit));
+        } catch (Exception e) {
+            System.out.println("Error al listar la página de clientes");
+            e.printStackTrace();
+        }
+        // Si no es posible listar la página devolvemos un Optional vacío
+        return Optional.empty();
+    }
+
+    // Obtenemos la página de clientes siguiente al último id mostrado
+    @Override
+    public Optional<ArrayList<Cliente>> listClientesPageAfter(Long lastId, int limit) {
+        try {
+            return TareasBD.esperar(() -> menu.listClientesPageAfter(lastId, limit));
+        } catch (Exception e) {
+            System.out.println("Error al listar la página de clientes");
+            e.printStackTrace();
+        }
+        // Si no es posible listar la página devolvemos un Optional vacío
+        return Optional.empty();
+    }
+
     // Buscamos un cliente por su nif y lo presentramos por pantalla
     @Override
     public Optional<Cliente> buscarCliente(String nif) {
         // Producto 5 --> Adaptamos el método al GUI
         try {
-            return menu.searchCliente(nif);
+            return TareasBD.esperar(() -> menu.searchCliente(nif));
         } catch (Exception e) {
             System.out.println("Error al buscar el cliente");
             e.printStackTrace();
@@ -95,7 +121,7 @@ public class ClientesController implements IClienteController {
     public Optional<ArrayList<String>> listClientesNif() {
         // Producto 5 --> Mostramos los clientes mediante GUI
         try {
-            return menu.listClientesNif();
+            return TareasBD.esperar(() -> menu.listClientesNif());
         } catch (Exception e) {
             System.out.println("Error al listar los clientes");
             e.printStackTrace();
@@ -109,7 +135,7 @@ public class ClientesController implements IClienteController {
     public Optional<ArrayList<Cliente>> filtrarClientes(String tipo) {
         // Producto 5 --> Mostramos los clientes mediante GUI
         try {
-            return menu.filterClientesByType(tipo);
+            return TareasBD.esperar(() -> menu.filterClientesByType(tipo));
         } catch (Exception e) {
             System.out.println("Error al listar los clientes");
             e.printStackTrace();
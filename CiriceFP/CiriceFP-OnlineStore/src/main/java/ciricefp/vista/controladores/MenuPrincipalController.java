@@ -4,8 +4,11 @@ import ciricefp.controlador.Controlador;
 import ciricefp.modelo.Articulo;
 import ciricefp.modelo.Cliente;
 import ciricefp.modelo.Pedido;
+import ciricefp.modelo.PedidoResumen;
+import ciricefp.modelo.utils.FormatoExportacion;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Optional;
 import java.util.Scanner;
@@ -111,30 +114,30 @@ public class MenuPrincipalController {
         return Optional.of(controlador.listArticulos());
     }
 
+    // Obtenemos la página de artículos siguiente al último id mostrado
+    public Optional<ArrayList<Articulo>> listArticulosPageAfter(Long lastId, int limit) {
+        return Optional.of(controlador.listArticulosPageAfter(lastId, limit));
+    }
+
     // Buscamos un artículo por su código.
     public Articulo searchArticulo(@NotNull String codigo) {
-
-        // Primero comprobamos que la lista no esté vacía.
-        if (!controlador.listArticulos().isEmpty()) {
-            try{
-                // Devolvemos el artículo o null si no existe.
-                return controlador.searchArticulo(codigo);
-            } catch (Exception e) {
-                System.out.println(e.getMessage());
-            }
+        // Buscamos directamente, sin cargar antes la lista de artículos para comprobar que no esté vacía.
+        try {
+            // Devolvemos el artículo o null si no existe.
+            Articulo articulo = controlador.searchArticulo(codigo);
+            if (articulo != null) return articulo;
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
         }
 
         System.out.println("El artículo no existe o no hay artículos en la lista.");
         return null;
     }
 
-    // Limpiamos la lista de artículos.
+    // Limpiamos la lista de artículos. Devolvemos el número de artículos eliminados, 0 si no había ninguno
+    // que se pudiera eliminar o -1 si ha habido un error.
     public int clearArticulos() {
-        // Primero comprobamos que la lista no esté vacía.
-        if (!controlador.listArticulos().isEmpty()) {
-            return controlador.clearArticulos().size();
-        }
-        return 0;
+        return controlador.clearArticulos();
     }
 
     /* Clientes */
@@ -159,13 +162,20 @@ public class MenuPrincipalController {
         return Optional.of(controlador.listClientes());
     }
 
+    // Obtenemos una página de clientes mediante offset
+    public Optional<ArrayList<Cliente>> listClientesPage(int offset, int limit) {
+        return Optional.of(controlador.listClientesPage(offset, limit));
+    }
+
+    // Obtenemos la página de clientes siguiente al último id mostrado
+    public Optional<ArrayList<Cliente>> listClientesPageAfter(Long lastId, int limit) {
+        return Optional.of(controlador.listClientesPageAfter(lastId, limit));
+    }
+
     // Buscamos un cliente por su NIF
     public Optional<Cliente> searchCliente(@NotNull String nif) {
-        // Primero comprobamos que la lista no esté vacía.
-        if (!controlador.listClientes().isEmpty()) {
-            return Optional.of(controlador.searchCliente(nif));
-        }
-        return Optional.empty();
+        // Buscamos directamente, si no hay clientes o no existe obtenemos un Optional vacío.
+        return Optional.ofNullable(controlador.searchCliente(nif));
     }
 
     public Optional<ArrayList<String>> listClientesNif() {
@@ -237,61 +247,108 @@ public class MenuPrincipalController {
         return Optional.of(controlador.listPedidos());
     }
 
+    // Obtenemos una página de pedidos mediante offset
+    public Optional<ArrayList<Pedido>> listPedidosPage(int offset, int limit) {
+        return Optional.of(controlador.listPedidosPage(offset, limit));
+    }
+
+    // Obtenemos la página de pedidos siguiente al último id mostrado
+    public Optional<ArrayList<Pedido>> listPedidosPageAfter(Long lastId, int limit) {
+        return Optional.of(controlador.listPedidosPageAfter(lastId, limit));
+    }
+
+    // Obtenemos la página siguiente de resúmenes de pedido para el listado
+    public Optional<ArrayList<PedidoResumen>> listPedidosResumenPageAfter(Long lastId, int limit) {
+        return Optional.of(controlador.listPedidosResumenPageAfter(lastId, limit));
+    }
+
+    // Obtenemos los resúmenes de los pedidos pendientes de envío
+    public Optional<ArrayList<PedidoResumen>> listPedidosPendientes() {
+        return Optional.of(controlador.listPedidosPendientes());
+    }
+
     // Actualizamos el estado de los pedidos de la lista si cumplen con las condiciones de fecha de envío.
     public Optional<Integer> actualizarEstadoPedidos() {
         // Producto 5 --> Adaptamos el método a GUI
-        // Primero comprobamos que la lista no esté vacía.
-        if (controlador.listPedidos().isEmpty()) {
-            return Optional.of(0);
-        }
-        // Actualizamos el estado de los pedidos
-        return Optional.of(controlador.actualizarEstadoPedidos());
+        return controlador.enPeticion(() -> {
+            // Primero comprobamos que haya pedidos, sin cargar la lista.
+            if (!controlador.existenPedidos()) {
+                return Optional.of(0);
+            }
+            // Actualizamos el estado de los pedidos
+            return Optional.of(controlador.actualizarEstadoPedidos());
+        });
+    }
+
+    // Exportamos los pedidos a un archivo, devolvemos el número de pedidos exportados.
+    public Optional<Long> exportarPedidos(Path destino, FormatoExportacion formato) {
+        long exportados = controlador.exportarPedidos(destino, formato);
+
+        // Si la exportación ha fallado, devolvemos un Optional vacío.
+        return exportados < 0 ? Optional.empty() : Optional.of(exportados);
     }
 
    // Borramos un pedido de la lista, las comprobaciones se hacen en el front.
     public Optional<Boolean> deletePedido(Pedido actualPedido) {
         // Producto 5 --> Adaptamos el método a GUI
-        // Primero comprobamos que la lista no esté vacía.
-        if (!controlador.listPedidos().isEmpty()) {
-            // Actualizamos el estado de los pedidos para que no haya errores
-            actualizarEstadoPedidos();
-
-            // Borramos el pedido
-            return controlador.deletePedido(actualPedido) != null ? Optional.of(true) :
-                    Optional.of(false);
-        }
-        // Si ha habido cualquier problema, devolvemos un Optional vacío.
-        return Optional.empty();
+        // Toda la acción es una única petición: la tabla se comprueba y el estado se actualiza una sola vez.
+        return controlador.enPeticion(() -> {
+            // Primero comprobamos que haya pedidos, sin cargar la lista.
+            if (controlador.existenPedidos()) {
+                // Actualizamos el estado de los pedidos para que no haya errores
+                actualizarEstadoPedidos();
+
+                // Borramos el pedido
+                return controlador.deletePedido(actualPedido) != null ? Optional.of(true) :
+                        Optional.of(false);
+            }
+            // Si ha habido cualquier problema, devolvemos un Optional vacío.
+            return Optional.empty();
+        });
+    }
+
+    // Borramos un pedido a partir de su id, los listados solo tienen el resumen del pedido.
+    public Optional<Boolean> deletePedido(Long id) {
+        return controlador.enPeticion(() -> {
+            Pedido pedido = controlador.getPedidoById(id);
+
+            return pedido != null ? deletePedido(pedido) : Optional.empty();
+        });
     }
 
     // Obtenemos una lista de pedidos filtrados por el estado
     public Optional<ArrayList<Pedido>> filterPedidosByEstado(String opt) {
         // Producto 5 --> Adaptamos el método a GUI
-        // Primero comprobamos que la lista no esté vacía.
-        if (!controlador.listPedidos().isEmpty()) {
-            // Actualizamos el estado de los pedidos para evitar errores
-            controlador.actualizarEstadoPedidos();
-
-            // Obtenemos la lista de pedidos filtrados por el estado
-            return Optional.of(controlador.filterPedidosByEstado(opt));
-        }
-        // Si ha habido cualquier problema, devolvemos un Optional vacío.
-        return Optional.empty();
+        // El filtro vuelve a comprobar la tabla y a actualizar el estado, dentro de la petición no se repite.
+        return controlador.enPeticion(() -> {
+            // Primero comprobamos que haya pedidos, sin cargar la lista.
+            if (controlador.existenPedidos()) {
+                // Actualizamos el estado de los pedidos para evitar errores
+                controlador.actualizarEstadoPedidos();
+
+                // Obtenemos la lista de pedidos filtrados por el estado
+                return Optional.of(controlador.filterPedidosByEstado(opt));
+            }
+            // Si ha habido cualquier problema, devolvemos un Optional vacío.
+            return Optional.empty();
+        });
     }
 
     // Obtenemos una lista de los pedidos de un cliente filtrándolos por su nif.
     public Optional<ArrayList<Pedido>> filterPedidosByCliente(@NotNull String nif) {
         // Producto 5 --> Adaptamos el método a GUI
-        // Comprobamos que la lista contenga elementos
-        if (!controlador.listPedidos().isEmpty()) {
-            // Actualizamos el estado de los pedidos para evitar errores
-            controlador.actualizarEstadoPedidos();
-
-            // Obtenemos la lista de pedidos filtrados por el cliente
-            return Optional.of(controlador.filterPedidosByCliente(nif));
-        }
-        // Si ha habido cualquier problema, devolvemos un Optional vacío.
-        return Optional.empty();
+        return controlador.enPeticion(() -> {
+            // Comprobamos que haya pedidos, sin cargar la lista.
+            if (controlador.existenPedidos()) {
+                // Actualizamos el estado de los pedidos para evitar errores
+                controlador.actualizarEstadoPedidos();
+
+                // Obtenemos la lista de pedidos filtrados por el cliente
+                return Optional.of(controlador.filterPedidosByCliente(nif));
+            }
+            // Si ha habido cualquier problema, devolvemos un Optional vacío.
+            return Optional.empty();
+        });
     }
 
     // Preguntamos al usuario si desea cargar los datos de test de la BD y los intentanos cargar.
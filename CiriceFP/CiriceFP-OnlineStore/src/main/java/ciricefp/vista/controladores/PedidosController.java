@@ -1,8 +1,12 @@
 package ciricefp.vista.controladores;
 
+import ciricefp.modelo.Articulo;
 import ciricefp.modelo.Pedido;
+import ciricefp.modelo.PedidoResumen;
+import ciricefp.modelo.utils.FormatoExportacion;
 import ciricefp.vista.interfaces.IPedidoController;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Optional;
 
@@ -49,7 +53,7 @@ public class PedidosController implements IPedidoController {
     public Optional<Pedido> addPedido(String nif, String codArticulo, int cantidad) {
         // Producto 5 -> Adaptar el método para usar JavaFX
         try {
-            return menu.createPedido(nif, codArticulo, cantidad);
+            return TareasBD.esperar(() -> menu.createPedido(nif, codArticulo, cantidad));
         } catch (Exception e) {
             System.out.println("Error al crear el pedido");
             e.printStackTrace();
@@ -64,7 +68,7 @@ public class PedidosController implements IPedidoController {
     public Optional<Pedido> addPedidoExistente(String nif, String codArticulo, int cantidad) {
         // Producto 5 -> Adaptar el método para usar JavaFX
         try {
-            return menu.createPedido(nif, codArticulo, cantidad);
+            return TareasBD.esperar(() -> menu.createPedido(nif, codArticulo, cantidad));
         } catch (Exception e) {
             System.out.println("Error al crear el pedido");
             e.printStackTrace();
@@ -104,6 +108,7 @@ public class PedidosController implements IPedidoController {
         // Solicitamos los datos del artículo
         System.out.println("Introduce el código del artículo: ");
         String codArticulo;
+        Articulo articulo;
 
         // Comprobamos que el artículo existe, repetimos la operación mientras no exista o no se escoja salir.
         do {
@@ -113,10 +118,12 @@ public class PedidosController implements IPedidoController {
                 return;
             }
 
-            if (menu.searchArticulo(codArticulo) == null) {
+            // Buscamos el artículo una sola vez en cada intento.
+            articulo = menu.searchArticulo(codArticulo);
+            if (articulo == null) {
                 System.out.println("El artículo no existe. Introduce un código válido o pulsa 0 para salir.");
             }
-        } while (menu.searchArticulo(codArticulo) == null);
+        } while (articulo == null);
 
         // Introducimos el número de unidades.
         System.out.println("Introduce la cantidad de unidades: ");
@@ -135,7 +142,7 @@ public class PedidosController implements IPedidoController {
     public Optional<ArrayList<Pedido>> listPedidos() {
         // Producto 5 --> Adapta el método de la vista para usar JavaFX
         try {
-            return menu.listPedidos();
+            return TareasBD.esperar(() -> menu.listPedidos());
         } catch (Exception e) {
             System.out.println("Error al listar los pedidos");
             e.printStackTrace();
@@ -143,11 +150,47 @@ public class PedidosController implements IPedidoController {
         }
     }
 
+    // Obtenemos una página de pedidos mediante offset.
+    @Override
+    public Optional<ArrayList<Pedido>> listPedidosPage(int offset, int limit) {
+        try {
+            return TareasBD.esperar(() -> menu.listPedidosPage(offset, limit));
+        } catch (Exception e) {
+            System.out.println("Error al listar la página de pedidos");
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+
+    // Obtenemos la página de pedidos siguiente al último id mostrado.
+    @Override
+    public Optional<ArrayList<Pedido>> listPedidosPageAfter(Long lastId, int limit) {
+        try {
+            return TareasBD.esperar(() -> menu.listPedidosPageAfter(lastId, limit));
+        } catch (Exception e) {
+            System.out.println("Error al listar la página de pedidos");
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+
+    // Exportamos todos los pedidos a un archivo.
+    @Override
+    public Optional<Long> exportPedidos(Path destino, FormatoExportacion formato) {
+        try {
+            return TareasBD.esperar(() -> menu.exportarPedidos(destino, formato));
+        } catch (Exception e) {
+            System.out.println("Error al exportar los pedidos");
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+
     // Actualizamos el estado de los pedidos enviados.
     @Override
     public Optional<Integer> updatePedidos() {
         try {
-            return menu.actualizarEstadoPedidos();
+            return TareasBD.esperar(() -> menu.actualizarEstadoPedidos());
         } catch (Exception e) {
             System.out.println("Error al actualizar los pedidos");
             e.printStackTrace();
@@ -155,11 +198,23 @@ public class PedidosController implements IPedidoController {
         }
     }
 
+    // Obtenemos la página siguiente de resúmenes de pedido para el listado.
+    @Override
+    public Optional<ArrayList<PedidoResumen>> listPedidosResumenPageAfter(Long lastId, int limit) {
+        try {
+            return TareasBD.esperar(() -> menu.listPedidosResumenPageAfter(lastId, limit));
+        } catch (Exception e) {
+            System.out.println("Error al listar la página de pedidos");
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+
     // Mostramos los pedidos pendientes de envío.
     @Override
-    public Optional<ArrayList<Pedido>> listPedidosPendientes() {
+    public Optional<ArrayList<PedidoResumen>> listPedidosPendientes() {
         try {
-            return menu.filterPedidosByEstado("pendiente");
+            return TareasBD.esperar(() -> menu.listPedidosPendientes());
         } catch (Exception e) {
             System.out.println("Error al listar los pedidos pendientes");
             e.printStackTrace();
@@ -171,7 +226,19 @@ public class PedidosController implements IPedidoController {
     @Override
     public Optional<Boolean> deletePedido(Pedido actualPedido) {
         try {
-            return menu.deletePedido(actualPedido);
+            return TareasBD.esperar(() -> menu.deletePedido(actualPedido));
+        } catch (Exception e) {
+            System.out.println("Error al eliminar el pedido");
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+
+    // Eliminamos un pedido a partir de su id.
+    @Override
+    public Optional<Boolean> deletePedido(Long id) {
+        try {
+            return TareasBD.esperar(() -> menu.deletePedido(id));
         } catch (Exception e) {
             System.out.println("Error al eliminar el pedido");
             e.printStackTrace();
@@ -183,7 +250,7 @@ public class PedidosController implements IPedidoController {
     @Override
     public Optional<ArrayList<Pedido>> listPedidosCliente(String nif) {
         try {
-            return menu.filterPedidosByCliente(nif);
+            return TareasBD.esperar(() -> menu.filterPedidosByCliente(nif));
         } catch (Exception e) {
             System.out.println("Error al listar los pedidos por cliente");
             e.printStackTrace();
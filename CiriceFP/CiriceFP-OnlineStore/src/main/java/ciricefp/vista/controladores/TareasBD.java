@@ -0,0 +1,98 @@
+package ciricefp.vista.controladores;
+
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Esta clase ejecuta los accesos a la base de datos de las vistas fuera del hilo de JavaFX, así la interfaz no se
+ * congela mientras esperamos a la BD.
+ * Todas las operaciones pasan por un único hilo: el modelo trabaja con un solo EntityManager, que no se puede
+ * usar desde varios hilos a la vez. Las vistas lanzan todas las acciones con ejecutar() y reciben el resultado en
+ * los callbacks; el hilo de JavaFX nunca espera a la BD.
+ *
+ * @author Cirice
+ * @version 1.0
+ * @since 10-2026
+ */
+public final class TareasBD {
+    // Nombre del hilo de acceso a la BD, nos sirve para detectar si ya estamos dentro de él.
+    private static final String NOMBRE_HILO = "onlinestore-bd";
+
+    // Ejecutor de un solo hilo. Es un hilo demonio para que no impida cerrar la aplicación.
+    private static final ExecutorService EJECUTOR = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, NOMBRE_HILO);
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private TareasBD() {}
+
+    /* Lanzamos la operación en segundo plano y devolvemos la tarea para poder seguir su estado desde la vista.
+    * JavaFX ejecuta los callbacks de la tarea en su propio hilo (Platform.runLater), así que pueden modificar
+    * la escena directamente. */
+    public static <T> Task<T> ejecutar(Callable<T> operacion, Consumer<T> alTerminar, Consumer<Throwable> alFallar) {
+        Task<T> tarea = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return operacion.call();
+            }
+        };
+
+        tarea.setOnSucceeded(event -> alTerminar.accept(tarea.getValue()));
+        tarea.setOnFailed(event -> {
+            tarea.getException().printStackTrace();
+            alFallar.accept(tarea.getException());
+        });
+
+        EJECUTOR.execute(tarea);
+
+        return tarea;
+    }
+
+    /* Igual que el anterior, pero desactivamos el control que ha lanzado la acción (normalmente un botón) hasta que
+    * termina, así el usuario no puede repetirla mientras está en marcha. */
+    public static <T> Task<T> ejecutar(Node disparador, Callable<T> operacion, Consumer<T> alTerminar, Consumer<Throwable> alFallar) {
+        disparador.setDisable(true);
+
+        return ejecutar(operacion,
+                resultado -> {
+                    disparador.setDisable(false);
+                    alTerminar.accept(resultado);
+                },
+                error -> {
+                    disparador.setDisable(false);
+                    alFallar.accept(error);
+                });
+    }
+
+    // Ejecutamos la operación en el hilo de la BD y esperamos el resultado. Los controladores lo usan para que sus
+    // métodos se puedan llamar desde las tareas de ejecutar(): dentro del hilo de la BD la operación se ejecuta
+    // directamente. Desde el hilo de JavaFX no lo permitimos, porque congelaría la interfaz mientras la operación
+    // espera su turno y se ejecuta.
+    public static <T> T esperar(Callable<T> operacion) throws Exception {
+        if (Thread.currentThread().getName().equals(NOMBRE_HILO)) return operacion.call();
+        if (Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("Las operaciones de la BD se lanzan desde la vista con TareasBD.ejecutar");
+        }
+
+        try {
+            return EJECUTOR.submit(operacion).get();
+        } catch (ExecutionException e) {
+            // Devolvemos la excepción original para que los controladores la manejen igual que antes.
+            if (e.getCause() instanceof Exception causa) throw causa;
+            throw e;
+        }
+    }
+
+    // Dejamos de aceptar tareas al cerrar la aplicación.
+    public static void cerrar() {
+        EJECUTOR.shutdownNow();
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Optional;
 public interface IArticuloController {
     boolean addArticulo(String descripcion, double precio, double gastosEnvio, int tiempoPreparacion);
     public Optional<ArrayList<Articulo>> listArticulos();
+    public Optional<ArrayList<Articulo>> listArticulosPageAfter(Long lastId, int limit);
     public Optional<Integer> clearArticulos();
 
 }
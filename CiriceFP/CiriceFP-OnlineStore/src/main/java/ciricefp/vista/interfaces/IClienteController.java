@@ -9,6 +9,8 @@ public interface IClienteController {
     public Optional<Cliente> addCliente(String nombre, String nif, String email, String domicilio, String poblacion,
                                         String provincia, String cp, String pais, String tipo);
     public Optional<ArrayList<Cliente>> listClientes();
+    public Optional<ArrayList<Cliente>> listClientesPage(int offset, int limit);
+    public Optional<ArrayList<Cliente>> listClientesPageAfter(Long lastId, int limit);
     public Optional<ArrayList<String>> listClientesNif();
     public Optional<Cliente> buscarCliente(String nif);
     public Optional<ArrayList<Cliente>> filtrarClientes(String tipo);
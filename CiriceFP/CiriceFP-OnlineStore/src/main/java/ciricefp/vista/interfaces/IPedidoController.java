@@ -1,16 +1,24 @@
 package ciricefp.vista.interfaces;
 
 import ciricefp.modelo.Pedido;
+import ciricefp.modelo.PedidoResumen;
+import ciricefp.modelo.utils.FormatoExportacion;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Optional;
 
 public interface IPedidoController {
     public Optional<Pedido> addPedido(String nif, String codArticulo, int cantidad);
     public Optional<ArrayList<Pedido>> listPedidos();
-    public Optional<ArrayList<Pedido>> listPedidosPendientes();
+    public Optional<ArrayList<Pedido>> listPedidosPage(int offset, int limit);
+    public Optional<ArrayList<Pedido>> listPedidosPageAfter(Long lastId, int limit);
+    public Optional<ArrayList<PedidoResumen>> listPedidosResumenPageAfter(Long lastId, int limit);
+    public Optional<ArrayList<PedidoResumen>> listPedidosPendientes();
     public Optional<ArrayList<Pedido>> listPedidosCliente(String nif);
     public Optional<Integer> updatePedidos();
+    public Optional<Long> exportPedidos(Path destino, FormatoExportacion formato);
     public Optional<Boolean> deletePedido(Pedido actualPedido);
+    public Optional<Boolean> deletePedido(Long id);
 
 }
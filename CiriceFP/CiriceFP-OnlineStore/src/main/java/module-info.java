@@ -10,6 +10,9 @@ module ciricefp {
     requires spring.context;
     requires org.jetbrains.annotations;
     requires org.hibernate.orm.core;
+//    Necesario para acceder a la SessionFactory de Hibernate (estadísticas de la caché)
+    requires java.naming;
+    requires com.zaxxer.hikari;
     requires jakarta.persistence;
     requires java.dotenv;
     requires commons.validator;
@@ -0,0 +1,18 @@
+-- V001: numeración de pedidos por bloques
+-- Las bases de datos creadas antes de la reserva de números por bloques no tienen la tabla de secuencias
+-- ni la restricción única del número de pedido.
+
+-- El número de pedido identifica al pedido de cara al cliente, no puede repetirse
+alter table pedidos
+	add constraint unique_numero_pedido unique (numero_pedido);
+
+-- Creamos la tabla de secuencias, la aplicación reserva bloques de números de pedido para no tener
+-- que consultar el último pedido cada vez que crea uno
+create table if not exists secuencias(
+  nombre varchar(50) not null,
+  -- Último número reservado
+  siguiente int unsigned not null default 0,
+  primary key (nombre)
+);
+
+insert ignore into secuencias (nombre, siguiente) values ('pedidos', 0);
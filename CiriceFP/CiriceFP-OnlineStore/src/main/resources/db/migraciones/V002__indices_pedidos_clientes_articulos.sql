@@ -0,0 +1,16 @@
+-- V002: índices de las consultas habituales
+-- El número de pedido ya tiene índice por su restricción única (V001) y las claves ajenas tienen el suyo.
+
+-- Actualización del estado de envío y listados de pendientes: filtran por estado y fecha de pedido.
+-- Con el estado en primer lugar, los pedidos pendientes quedan juntos y la fecha acota el rango.
+create index idx_pedidos_envio on pedidos (es_enviado, fecha_pedido);
+
+-- Informes de ventas y filtros por fecha de pedido sin tener en cuenta el estado.
+create index idx_pedidos_fecha on pedidos (fecha_pedido);
+
+-- Búsqueda de artículos por código. No lo declaramos único porque las BD existentes pueden tener
+-- códigos repetidos generados por la aplicación.
+create index idx_articulos_cod_articulo on articulos (cod_articulo);
+
+-- Búsqueda de clientes premium por código de socio.
+create index idx_clientes_premium_cod_socio on clientes_premium (cod_socio);
@@ -0,0 +1,4 @@
+-- V003: índice para comprobar si existe un artículo
+-- Al crear un artículo comprobamos que no haya otro con la misma descripción. El NIF de los clientes ya tiene
+-- índice por su restricción única.
+create index idx_articulos_descripcion on articulos (descripcion);
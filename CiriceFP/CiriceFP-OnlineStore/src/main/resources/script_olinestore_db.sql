@@ -113,6 +113,9 @@ alter table pedidos
 	add constraint fk_clientes foreign key (cliente_id) references clientes(_id) on delete set null on update cascade,
 	add constraint fk_articulos foreign key (articulo_id) references articulos(_id) on delete set null on update cascade;
 
+-- Los cambios posteriores del esquema (secuencias, índices...) están en db/migraciones, numerados por versión.
+-- Se aplican en orden después de este script.
+
 -- FUNCIONES CRUD
 
 -- CREATE